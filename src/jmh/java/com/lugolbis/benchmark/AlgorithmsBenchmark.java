@@ -0,0 +1,72 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.algorithms.CAH;
+import com.lugolbis.algorithms.Dijkstra;
+import com.lugolbis.algorithms.KNN;
+import com.lugolbis.algorithms.KNNPoint;
+import com.lugolbis.dsa.Graph;
+import com.lugolbis.dsa.GraphType;
+import com.lugolbis.mathematics.Point;
+
+/**
+ * KNN, CAH and Dijkstra, 'size' is the number of points or of nodes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmsBenchmark {
+    @Param({"50", "100"})
+    public int size;
+
+    @Param({"4"})
+    public int dimensions;
+
+    private ArrayList<KNNPoint> knnPoints;
+    private Point query;
+    private List<Point> points;
+    private Graph<DataGenerator.Node, DataGenerator.Weight> graph;
+    private Graph<DataGenerator.Node, DataGenerator.Weight>.Node source;
+
+    @Setup
+    public void setup() {
+        knnPoints = DataGenerator.knnPoints(size * 10, dimensions, 3, DataGenerator.SEED);
+        query = DataGenerator.points(1, dimensions, DataGenerator.SEED + 1).get(0);
+        points = DataGenerator.points(size, dimensions, DataGenerator.SEED);
+        graph = DataGenerator.graph(size, 4, GraphType.OrientedGraph, DataGenerator.SEED);
+        source = graph.getNode(new DataGenerator.Node(0)).get();
+    }
+
+    @Benchmark
+    public Object knn() {
+        return KNN.run(knnPoints, 5, query);
+    }
+
+    @Benchmark
+    public Object cahAverageLinkage() {
+        return CAH.run(points, CAH.Strategy.AverageLinkage);
+    }
+
+    @Benchmark
+    public Object dijkstra() {
+        return Dijkstra.run(graph, source);
+    }
+}
@@ -0,0 +1,72 @@
+package com.lugolbis.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.CosineCorpus;
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.Similarity;
+
+/**
+ * Cosine similarities of queries of 128 dimensions against a corpus of 'size' points : pair by pair,
+ * one query against the normalized corpus, and 64 queries at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CosineBenchmark {
+    private static final int DIMENSIONS = 128;
+
+    @Param({"10000"})
+    public int size;
+
+    private List<Point> points;
+    private Point query;
+    private CosineCorpus corpus;
+    private double[] scores;
+    private DenseMatrix queries;
+
+    @Setup
+    public void setup() {
+        points = DataGenerator.points(size, DIMENSIONS, DataGenerator.SEED);
+        query = DataGenerator.points(1, DIMENSIONS, DataGenerator.SEED + 1).get(0);
+        corpus = CosineCorpus.fromPoints(points).get();
+        scores = new double[size];
+        queries = DataGenerator.denseMatrix(64, DIMENSIONS, DataGenerator.SEED + 2);
+    }
+
+    @Benchmark
+    public double pairs() {
+        double sum = 0.0;
+        for (Point point : points) {
+            sum += Similarity.Cosine(query, point).get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object corpus() {
+        return corpus.similarities(query.toArray(), scores);
+    }
+
+    @Benchmark
+    public Object corpusBatch() {
+        return corpus.similarities(queries);
+    }
+}
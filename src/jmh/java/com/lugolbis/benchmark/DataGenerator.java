@@ -0,0 +1,194 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import com.lugolbis.algorithms.DijkstraData;
+import com.lugolbis.algorithms.KNNPoint;
+import com.lugolbis.dsa.Graph;
+import com.lugolbis.dsa.GraphData;
+import com.lugolbis.dsa.GraphType;
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.Vector;
+
+/**
+ * Reproducible inputs for the benchmarks : every generator is seeded, so a run on another release
+ * measures exactly the same data.
+ */
+public final class DataGenerator {
+    public static final long SEED = 42L;
+
+    private DataGenerator() {}
+
+    public static class Node implements GraphData {
+        private final int id;
+
+        public Node(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Node && ((Node)(other)).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(id);
+        }
+    }
+
+    public static class Weight implements GraphData, DijkstraData {
+        private final double value;
+
+        public Weight(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double getDouble() {
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Weight && ((Weight)(other)).value == value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    public static double[] doubles(int size, long seed) {
+        Random random = new Random(seed);
+        double[] array = new double[size];
+        for (int index=0; index < size; index++) {
+            array[index] = random.nextDouble();
+        }
+        return array;
+    }
+
+    public static ArrayList<Double> boxedDoubles(int size, long seed) {
+        ArrayList<Double> array = new ArrayList<>(size);
+        for (double value : doubles(size, seed)) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    public static Matrix matrix(int rows, int columns, long seed) {
+        return Matrix.newMatrix(boxedDoubles(rows * columns, seed), columns).get();
+    }
+
+    public static DenseMatrix denseMatrix(int rows, int columns, long seed) {
+        return DenseMatrix.newDenseMatrix(doubles(rows * columns, seed), columns).get();
+    }
+
+    public static Vector vector(int size, Vector.Type type, long seed) {
+        return Vector.newVector(boxedDoubles(size, seed), type).get();
+    }
+
+    public static Point point(int dimensions, Random random) {
+        double[] coordinates = new double[dimensions];
+        for (int index=0; index < dimensions; index++) {
+            coordinates[index] = random.nextDouble() * 100.0;
+        }
+        return new Point(coordinates);
+    }
+
+    public static List<Point> points(int count, int dimensions, long seed) {
+        Random random = new Random(seed);
+        List<Point> points = new ArrayList<>(count);
+        for (int index=0; index < count; index++) {
+            points.add(point(dimensions, random));
+        }
+        return points;
+    }
+
+    public static ArrayList<KNNPoint> knnPoints(int count, int dimensions, int classes, long seed) {
+        Random random = new Random(seed);
+        ArrayList<KNNPoint> points = new ArrayList<>(count);
+        for (int index=0; index < count; index++) {
+            points.add(KNNPoint.newKNNPoint("class" + random.nextInt(classes), point(dimensions, random)).get());
+        }
+        return points;
+    }
+
+    public static HashSet<Double> set(int size, int universe, long seed) {
+        Random random = new Random(seed);
+        HashSet<Double> set = new HashSet<>();
+        while (set.size() < size) {
+            set.add((double)(random.nextInt(universe)));
+        }
+        return set;
+    }
+
+    /**
+     * Same elements as set(size, universe, seed), as a strictly increasing array.
+     */
+    public static int[] sortedSet(int size, int universe, long seed) {
+        int[] array = new int[size];
+        int index = 0;
+        for (double value : set(size, universe, seed)) {
+            array[index++] = (int)(value);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    public static String string(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int index=0; index < length; index++) {
+            builder.append((char)('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    public static int[] ints(int size, long seed) {
+        Random random = new Random(seed);
+        int[] array = new int[size];
+        for (int index=0; index < size; index++) {
+            array[index] = random.nextInt();
+        }
+        return array;
+    }
+
+    /**
+     * Random weighted graph where every node has 'degree' outgoing edges, the first one links it to the
+     * next node so every node is reachable from any other.
+     */
+    public static Graph<Node, Weight> graph(int nodes, int degree, GraphType type, long seed) {
+        Random random = new Random(seed);
+        Graph<Node, Weight> graph = Graph.<Node, Weight>newGraph(type).get();
+        List<Graph<Node, Weight>.Node> list = new ArrayList<>(nodes);
+
+        for (int index=0; index < nodes; index++) {
+            list.add(graph.addNode(new Node(index)).get());
+        }
+        for (int index=0; index < nodes; index++) {
+            graph.addEdge(list.get(index), list.get((index + 1) % nodes), new Weight(1.0 + random.nextInt(100)));
+            for (int edge=1; edge < degree; edge++) {
+                graph.addEdge(list.get(index), list.get(random.nextInt(nodes)), new Weight(1.0 + random.nextInt(100)));
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,76 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.LSHIndex;
+import com.lugolbis.mathematics.MinHash;
+import com.lugolbis.mathematics.Similarity;
+
+/**
+ * Near-duplicate pairs among 'size' sets of 128 elements, made of groups of 4 copies of a base set with
+ * 5 elements replaced : exact Jaccard over all the pairs against MinHash signatures with banded LSH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DedupBenchmark {
+    @Param({"4000"})
+    public int size;
+
+    private List<int[]> sets;
+    private MinHash minHash;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(DataGenerator.SEED);
+        sets = new ArrayList<>(size);
+        for (int group=0; sets.size() < size; group++) {
+            int[] base = DataGenerator.sortedSet(128, 1 << 24, DataGenerator.SEED + group);
+            for (int copy=0; copy < 4 && sets.size() < size; copy++) {
+                int[] set = base.clone();
+                for (int change=0; change < 5; change++) {
+                    set[random.nextInt(set.length)] = random.nextInt(1 << 24);
+                }
+                sets.add(Arrays.stream(set).sorted().distinct().toArray());
+            }
+        }
+        minHash = MinHash.newMinHash(100, DataGenerator.SEED).get();
+    }
+
+    @Benchmark
+    public int allPairs() {
+        int found = 0;
+        for (int index=0; index < sets.size(); index++) {
+            double[] scores = Similarity.Jackard(sets.get(index), sets.subList(index + 1, sets.size())).get();
+            for (double score : scores) {
+                found += score >= 0.5 ? 1 : 0;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lsh() {
+        LSHIndex index = LSHIndex.build(minHash.signatures(sets).get(), 20, 5).get();
+        return index.candidates(sets, 0.5).get().size();
+    }
+}
@@ -0,0 +1,112 @@
+package com.lugolbis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.dsa.BST;
+import com.lugolbis.dsa.Graph;
+import com.lugolbis.dsa.GraphType;
+import com.lugolbis.dsa.LinkedList;
+import com.lugolbis.dsa.Stack;
+import com.lugolbis.dsa.Tail;
+
+/**
+ * Data structures, 'size' is the number of values inserted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DsaBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    private int[] values;
+    private BST tree;
+    private LinkedList<Integer> list;
+    private Graph<DataGenerator.Node, DataGenerator.Weight> graph;
+
+    @Setup
+    public void setup() {
+        values = DataGenerator.ints(size, DataGenerator.SEED);
+        tree = new BST();
+        list = LinkedList.newLinkedList(values[0]).get();
+        for (int index=0; index < size; index++) {
+            tree.insert(values[index]);
+            if (index > 0) {
+                list.insert(values[index]);
+            }
+        }
+        graph = DataGenerator.graph(size, 4, GraphType.UnorientedGraph, DataGenerator.SEED);
+    }
+
+    @Benchmark
+    public Object bstInsert() {
+        BST bst = new BST();
+        for (int value : values) {
+            bst.insert(value);
+        }
+        return bst;
+    }
+
+    @Benchmark
+    public boolean bstSearch() {
+        boolean found = true;
+        for (int value : values) {
+            found &= tree.search(value);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public boolean linkedListSearch() {
+        return list.search(values[size - 1]);
+    }
+
+    @Benchmark
+    public Object stackPushPop() {
+        Stack<Integer> stack = new Stack<>();
+        for (int value : values) {
+            stack.add(value);
+        }
+        while (stack.size() > 0) {
+            stack.getValue();
+        }
+        return stack;
+    }
+
+    @Benchmark
+    public Object tailAddPoll() {
+        Tail<Integer> tail = new Tail<>();
+        for (int value : values) {
+            tail.add(value);
+        }
+        while (tail.size() > 0) {
+            tail.getValue();
+        }
+        return tail;
+    }
+
+    @Benchmark
+    public Object graphMatrice() {
+        return graph.getMatrice();
+    }
+
+    @Benchmark
+    public int graphDegree() {
+        return graph.degree();
+    }
+}
@@ -0,0 +1,95 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.BKTree;
+import com.lugolbis.mathematics.Distance;
+
+/**
+ * Words of a dictionary of 'size' entries close to a query : BK-tree against a scan of the dictionary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzySearchBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private List<String> dictionary;
+    private BKTree tree;
+    private String query;
+
+    @Setup
+    public void setup() {
+        // Variants of a few thousand stems, like the spellings of the names of a dictionary
+        Random random = new Random(DataGenerator.SEED);
+        List<String> stems = new ArrayList<>();
+        for (int index=0; index < size / 50; index++) {
+            stems.add(DataGenerator.string(6 + random.nextInt(6), DataGenerator.SEED + index));
+        }
+        dictionary = new ArrayList<>(size);
+        for (int index=0; index < size; index++) {
+            dictionary.add(mutate(stems.get(random.nextInt(stems.size())), 1 + random.nextInt(3), random));
+        }
+        tree = BKTree.build(dictionary).get();
+        query = mutate(stems.get(0), 1, random);
+    }
+
+    private static String mutate(String word, int edits, Random random) {
+        StringBuilder builder = new StringBuilder(word);
+        for (int edit=0; edit < edits; edit++) {
+            int position = random.nextInt(builder.length());
+            char value = (char)('a' + random.nextInt(26));
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                builder.setCharAt(position, value);
+            }
+            else if (operation == 1) {
+                builder.insert(position, value);
+            }
+            else if (builder.length() > 1) {
+                builder.deleteCharAt(position);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public Object treeSearch() {
+        return tree.search(query, 2);
+    }
+
+    @Benchmark
+    public Object treeNearest() {
+        return tree.nearest(query, 5);
+    }
+
+    @Benchmark
+    public Object scanSearch() {
+        List<String> matches = new ArrayList<>();
+        for (String word : dictionary) {
+            if (Distance.Levenshtein(query, word, 2).isPresent()) {
+                matches.add(word);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.algorithms.KNN;
+import com.lugolbis.algorithms.KNNModel;
+import com.lugolbis.algorithms.KNNPoint;
+import com.lugolbis.mathematics.Point;
+
+/**
+ * 5 nearest neighbors classification of a query among 'size' uniform training points : KNN.run against
+ * a KNNModel fitted once (KDTree up to 10 dimensions, BallTree above).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KNNBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"3", "16"})
+    public int dimensions;
+
+    private ArrayList<KNNPoint> points;
+    private KNNModel model;
+    private Point query;
+
+    @Setup
+    public void setup() {
+        points = DataGenerator.knnPoints(size, dimensions, 3, DataGenerator.SEED);
+        model = KNN.fit(points).get();
+        query = DataGenerator.points(1, dimensions, DataGenerator.SEED + 1).get(0);
+    }
+
+    @Benchmark
+    public Object run() {
+        return KNN.run(points, 5, query);
+    }
+
+    @Benchmark
+    public Object predict() {
+        return model.predict(query, 5);
+    }
+
+    @Benchmark
+    public Object fit() {
+        return KNN.fit(points);
+    }
+}
@@ -0,0 +1,132 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.Distance;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.Similarity;
+import com.lugolbis.mathematics.Vector;
+
+/**
+ * Distances, similarities and vector products, 'size' is the number of dimensions or of elements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathematicsBenchmark {
+    @Param({"16", "256"})
+    public int size;
+
+    private Point pointA;
+    private Point pointB;
+    private double[] coordinatesA;
+    private double[] coordinatesB;
+    private Vector vectorA;
+    private Vector vectorB;
+    private HashSet<Double> setA;
+    private HashSet<Double> setB;
+    private ArrayList<Double> valuesA;
+    private ArrayList<Double> valuesB;
+    private String stringA;
+    private String stringB;
+
+    @Setup
+    public void setup() {
+        List<Point> points = DataGenerator.points(2, size, DataGenerator.SEED);
+        pointA = points.get(0);
+        pointB = points.get(1);
+        coordinatesA = pointA.toArray();
+        coordinatesB = pointB.toArray();
+        vectorA = DataGenerator.vector(size, Vector.Type.Row, DataGenerator.SEED);
+        vectorB = DataGenerator.vector(size, Vector.Type.Column, DataGenerator.SEED + 1);
+        setA = DataGenerator.set(size, size * 2, DataGenerator.SEED);
+        setB = DataGenerator.set(size, size * 2, DataGenerator.SEED + 1);
+        valuesA = DataGenerator.boxedDoubles(size, DataGenerator.SEED);
+        valuesB = DataGenerator.boxedDoubles(size, DataGenerator.SEED + 1);
+        stringA = DataGenerator.string(size, DataGenerator.SEED);
+        stringB = DataGenerator.string(size, DataGenerator.SEED + 1);
+    }
+
+    @Benchmark
+    public Object euclidian() {
+        return Distance.Euclidian(pointA, pointB);
+    }
+
+    @Benchmark
+    public double euclidianArray() {
+        return Distance.Euclidian(coordinatesA, coordinatesB);
+    }
+
+    @Benchmark
+    public double squaredEuclidianArray() {
+        return Distance.SquaredEuclidian(coordinatesA, coordinatesB);
+    }
+
+    @Benchmark
+    public Object chebyshev() {
+        return Distance.Chebyshev(pointA, pointB);
+    }
+
+    @Benchmark
+    public Object manhattan() {
+        return Distance.Manhattan(pointA, pointB);
+    }
+
+    @Benchmark
+    public Object minkowski() {
+        return Distance.Minkowski(pointA, pointB, 3);
+    }
+
+    @Benchmark
+    public Object levenshtein() {
+        return Distance.Levenshtein(stringA, stringB);
+    }
+
+    @Benchmark
+    public Object levenshteinBounded() {
+        return Distance.Levenshtein(stringA, stringB, 4);
+    }
+
+    @Benchmark
+    public Object jackard() {
+        return Similarity.Jackard(setA, setB);
+    }
+
+    @Benchmark
+    public Object minMax() {
+        return Similarity.minMax(valuesA, valuesB);
+    }
+
+    @Benchmark
+    public Object minMaxArray() {
+        return Similarity.minMax(coordinatesA, coordinatesB);
+    }
+
+    @Benchmark
+    public Object multScalar() {
+        return vectorA.multScalar(vectorB);
+    }
+
+    @Benchmark
+    public Object multRowColumn() {
+        return vectorA.multRowColumn(vectorB);
+    }
+}
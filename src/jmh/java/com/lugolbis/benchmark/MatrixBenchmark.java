@@ -0,0 +1,131 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.MatrixVectorBatch;
+import com.lugolbis.mathematics.Vector;
+
+/**
+ * Compare the boxed Matrix with the primitive DenseMatrix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+    @Param({"64", "256"})
+    public int size;
+
+    private Matrix matrixA;
+    private Matrix matrixB;
+    private DenseMatrix denseA;
+    private DenseMatrix denseB;
+    private Vector vector;
+    private MatrixVectorBatch batch;
+    private double[][] vectors;
+    private double[][] results;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ArrayList<Double> valuesA = new ArrayList<>();
+        ArrayList<Double> valuesB = new ArrayList<>();
+        ArrayList<Double> values = new ArrayList<>();
+
+        for (int index=0; index < size * size; index++) {
+            valuesA.add(random.nextDouble());
+            valuesB.add(random.nextDouble());
+        }
+        for (int index=0; index < size; index++) {
+            values.add(random.nextDouble());
+        }
+
+        matrixA = Matrix.newMatrix(valuesA, size).get();
+        matrixB = Matrix.newMatrix(valuesB, size).get();
+        denseA = DenseMatrix.fromMatrix(matrixA).get();
+        denseB = DenseMatrix.fromMatrix(matrixB).get();
+        vector = Vector.newVector(values, Vector.Type.Column).get();
+
+        batch = MatrixVectorBatch.of(denseA).get();
+        vectors = new double[64][size];
+        results = new double[64][size];
+        for (double[] array : vectors) {
+            for (int index=0; index < size; index++) {
+                array[index] = random.nextDouble();
+            }
+        }
+    }
+
+    @Benchmark
+    public Object matrixSum() {
+        return Matrix.sum(matrixA, matrixB);
+    }
+
+    @Benchmark
+    public Object denseSum() {
+        return DenseMatrix.sum(denseA, denseB);
+    }
+
+    @Benchmark
+    public Object matrixMult() {
+        return Matrix.mult(matrixA, matrixB);
+    }
+
+    @Benchmark
+    public Object denseMult() {
+        return DenseMatrix.mult(denseA, denseB);
+    }
+
+    @Benchmark
+    public Object matrixMultVector() {
+        return matrixA.multVector(vector);
+    }
+
+    @Benchmark
+    public Object denseMultVector() {
+        return denseA.multVector(vector);
+    }
+
+    @Benchmark
+    public Object denseMultVectorLoop() {
+        for (int index=0; index < vectors.length; index++) {
+            results[index] = denseA.multVector(vectors[index]).get();
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Object batchMultVectors() {
+        return batch.multVectors(vectors, results);
+    }
+
+    @Benchmark
+    public Object matrixTransposate() {
+        matrixA.transposate();
+        return matrixA;
+    }
+
+    @Benchmark
+    public Object denseTransposate() {
+        denseA.transposate();
+        return denseA;
+    }
+}
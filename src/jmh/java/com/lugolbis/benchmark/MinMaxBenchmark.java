@@ -0,0 +1,85 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Similarity;
+
+/**
+ * Min-max similarities of 'queries' weighted vectors against 'size' candidates of 64 dimensions :
+ * boxed pair by pair, one query against all the candidates, and all the queries in a preallocated matrix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinMaxBenchmark {
+    private static final int DIMENSIONS = 64;
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"64"})
+    public int queries;
+
+    private ArrayList<Double> boxedQuery;
+    private List<ArrayList<Double>> boxedCandidates;
+    private double[] query;
+    private DenseMatrix queryMatrix;
+    private DenseMatrix candidates;
+    private double[] scores;
+    private DenseMatrix scoreMatrix;
+
+    @Setup
+    public void setup() {
+        query = DataGenerator.doubles(DIMENSIONS, DataGenerator.SEED);
+        boxedQuery = DataGenerator.boxedDoubles(DIMENSIONS, DataGenerator.SEED);
+        queryMatrix = DataGenerator.denseMatrix(queries, DIMENSIONS, DataGenerator.SEED);
+        candidates = DataGenerator.denseMatrix(size, DIMENSIONS, DataGenerator.SEED + 1);
+        boxedCandidates = new ArrayList<>(size);
+        for (int index=0; index < size; index++) {
+            ArrayList<Double> candidate = new ArrayList<>(DIMENSIONS);
+            for (double value : candidates.getRow(index).get()) {
+                candidate.add(value);
+            }
+            boxedCandidates.add(candidate);
+        }
+        scores = new double[size];
+        scoreMatrix = DenseMatrix.zeros(queries, size).get();
+    }
+
+    @Benchmark
+    public double boxed() {
+        double sum = 0.0;
+        for (ArrayList<Double> candidate : boxedCandidates) {
+            sum += Similarity.minMax(boxedQuery, candidate).get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object oneVsMany() {
+        return Similarity.minMax(query, candidates, scores);
+    }
+
+    @Benchmark
+    public Object manyVsMany() {
+        return Similarity.minMax(queryMatrix, candidates, scoreMatrix);
+    }
+}
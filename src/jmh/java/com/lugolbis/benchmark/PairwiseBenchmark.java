@@ -0,0 +1,53 @@
+package com.lugolbis.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.Distance;
+import com.lugolbis.mathematics.Point;
+
+/**
+ * Condensed matrix of the distances between all the pairs of 'size' points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairwiseBenchmark {
+    @Param({"1000", "4000"})
+    public int size;
+
+    @Param({"8", "64"})
+    public int dimensions;
+
+    private List<Point> points;
+
+    @Setup
+    public void setup() {
+        points = DataGenerator.points(size, dimensions, DataGenerator.SEED);
+    }
+
+    @Benchmark
+    public Object euclidian() {
+        return Distance.pairwiseCondensed(points, Distance.Metric.Euclidian);
+    }
+
+    @Benchmark
+    public Object manhattan() {
+        return Distance.pairwiseCondensed(points, Distance.Metric.Manhattan);
+    }
+}
@@ -0,0 +1,92 @@
+package com.lugolbis.benchmark;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lugolbis.mathematics.Similarity;
+
+/**
+ * Jaccard index of a query set with 'candidates' sets of 'size' elements taken in a universe of 8 × size,
+ * as boxed hash sets, sorted arrays and bitmaps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetSimilarityBenchmark {
+    @Param({"64", "1024"})
+    public int size;
+
+    @Param({"1000"})
+    public int candidates;
+
+    private HashSet<Double> querySet;
+    private List<HashSet<Double>> candidateSets;
+    private int[] querySorted;
+    private List<int[]> candidateSorted;
+    private long[] queryBitmap;
+    private List<long[]> candidateBitmaps;
+
+    @Setup
+    public void setup() {
+        int universe = size * 8;
+        querySet = DataGenerator.set(size, universe, DataGenerator.SEED);
+        querySorted = DataGenerator.sortedSet(size, universe, DataGenerator.SEED);
+        queryBitmap = bitmap(querySorted);
+
+        candidateSets = new ArrayList<>(candidates);
+        candidateSorted = new ArrayList<>(candidates);
+        candidateBitmaps = new ArrayList<>(candidates);
+        for (int index=0; index < candidates; index++) {
+            long seed = DataGenerator.SEED + 1 + index;
+            int[] sorted = DataGenerator.sortedSet(size, universe, seed);
+            candidateSets.add(DataGenerator.set(size, universe, seed));
+            candidateSorted.add(sorted);
+            candidateBitmaps.add(bitmap(sorted));
+        }
+    }
+
+    private static long[] bitmap(int[] values) {
+        BitSet set = new BitSet();
+        for (int value : values) {
+            set.set(value);
+        }
+        return set.toLongArray();
+    }
+
+    @Benchmark
+    public double hashSets() {
+        double sum = 0.0;
+        for (HashSet<Double> candidate : candidateSets) {
+            sum += Similarity.Jackard(querySet, candidate).get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object sortedBatch() {
+        return Similarity.Jackard(querySorted, candidateSorted);
+    }
+
+    @Benchmark
+    public Object bitmapBatch() {
+        return Similarity.JackardBitmap(queryBitmap, candidateBitmaps);
+    }
+}
@@ -1,7 +1,6 @@
 package com.lugolbis.algorithms;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -94,50 +93,12 @@ public class CAH {
         AverageLinkage
     }
 
-    private static class Dissimilarity {
-        private double distance;
-        private int indexA;
-        private int indexB;
-
-        private Dissimilarity(double distance, int indexA, int indexB) {
-            this.distance = distance;
-            this.indexA = indexA;
-            this.indexB = indexB;
-        }
-
-        private static Optional<Dissimilarity> compute(Group grpA, Group grpB, Strategy strategy, int indexA, int indexB) {
-            if (grpA == null || grpB == null || strategy == null) {
-                return Optional.empty();
-            }
-
-            List<Double> distances = new ArrayList<>();
-            List<Point> pointsA = grpA.getPoints();
-            List<Point> pointsB = grpB.getPoints();
-
-            for (Point pointA : pointsA) {
-                for (Point pointB : pointsB) {
-                    distances.add(Distance.Euclidian(pointA, pointB).orElse(Double.POSITIVE_INFINITY));
-                }
-            }
-
-            double value;
-            if (strategy == Strategy.CompleteLinkage) {
-                value = Collections.max(distances);
-            }
-            else if (strategy == Strategy.SingleLinkage) {
-                value = Collections.min(distances);
-            }
-            else {
-                double sum = 0.0;
-                for (double distance : distances) {
-                    sum += distance;
-                }
-                value = sum / (double)(distances.size());
-            }
-            return Optional.of(new Dissimilarity(value, indexA, indexB));
-        }
-    }
-
+    /**
+     * The exact distances between the points are computed once with Distance.pairwiseCondensed, then after each
+     * merge the dissimilarity between the new group and the others is derived from the two merged groups
+     * (Lance-Williams) : the minimum for single linkage, the maximum for complete linkage and the mean
+     * weighted by the sizes for average linkage, instead of going back to every pair of points.
+     */
     public static Optional<Group> run(List<Point> points, Strategy strategy) {
         ArrayList<Group> groups = new ArrayList<>();
 
@@ -155,40 +116,66 @@ public class CAH {
             }
         }
 
-        while (groups.size() > 1) {
-            Optional<Dissimilarity> dissimilarity = dissimilarity(groups, strategy);
-
-            if (dissimilarity.isEmpty()) {
-                return Optional.empty();
+        int n = points.size();
+        Optional<double[]> condensed = Distance.pairwiseCondensed(points, Distance.Metric.Euclidian, true);
+        if (condensed.isEmpty()) {
+            return Optional.empty();
+        }
+        double[] distances = condensed.get();
+
+        // slots[i] is the index of the point whose row of distances now holds the group groups[i]
+        int[] slots = new int[n];
+        int[] sizes = new int[n];
+        for (int index=0; index < n; index++) {
+            slots[index] = index;
+            sizes[index] = 1;
+        }
+
+        for (int count=n; count > 1; count--) {
+            double minimum = Double.POSITIVE_INFINITY;
+            int indexRow = 0;
+            int indexColumn = 1;
+
+            for (int row=0; row < count; row++) {
+                for (int column=row+1; column < count; column++) {
+                    double distance = distances[Distance.condensedIndex(n, slots[row], slots[column])];
+                    if (minimum > distance) {
+                        minimum = distance;
+                        indexRow = row;
+                        indexColumn = column;
+                    }
+                }
             }
 
-            Group groupA = groups.remove(dissimilarity.get().indexA);
-            Group groupB = groups.remove(dissimilarity.get().indexB);
+            int slotA = slots[indexColumn];
+            int slotB = slots[indexRow];
+            Group groupA = groups.remove(indexColumn);
+            Group groupB = groups.remove(indexRow);
+            System.arraycopy(slots, indexColumn + 1, slots, indexColumn, count - indexColumn - 1);
+            System.arraycopy(slots, indexRow + 1, slots, indexRow, count - indexRow - 2);
+
+            for (int index=0; index < count - 2; index++) {
+                int indexA = Distance.condensedIndex(n, slotA, slots[index]);
+                int indexB = Distance.condensedIndex(n, slotB, slots[index]);
+                distances[indexB] = linkage(strategy, distances[indexA], sizes[slotA], distances[indexB], sizes[slotB]);
+            }
+            sizes[slotB] += sizes[slotA];
 
+            slots[count - 2] = slotB;
             groups.add(new Group(groupA, groupB));
         }
         return Optional.of(groups.get(0));
     }
 
-    private static Optional<Dissimilarity> dissimilarity(List<Group> groups, Strategy strategy) {
-        Dissimilarity dissimilarity = new Dissimilarity(Double.POSITIVE_INFINITY, 0, 1);
-
-        for (int indexRow=0; indexRow < groups.size(); indexRow++) {
-            Group groupA = groups.get(indexRow);
-
-            for (int indexColumn=indexRow+1; indexColumn < groups.size(); indexColumn++) {
-                Group groupB = groups.get(indexColumn);
-
-                Optional<Dissimilarity> new_dissimilarity = Dissimilarity.compute(groupA, groupB, strategy, indexColumn, indexRow);
-
-                if (new_dissimilarity.isEmpty()) {
-                    return Optional.empty();
-                }
-                else if (dissimilarity.distance > new_dissimilarity.get().distance) {
-                    dissimilarity = new_dissimilarity.get();
-                }
-            }
+    private static double linkage(Strategy strategy, double distanceA, int sizeA, double distanceB, int sizeB) {
+        if (strategy == Strategy.CompleteLinkage) {
+            return Math.max(distanceA, distanceB);
+        }
+        else if (strategy == Strategy.SingleLinkage) {
+            return Math.min(distanceA, distanceB);
+        }
+        else {
+            return (sizeA * distanceA + sizeB * distanceB) / (double)(sizeA + sizeB);
         }
-        return Optional.of(dissimilarity);
     }
 }
@@ -38,7 +38,8 @@ public class KNN {
         ArrayList<KNNDistance> distances = new ArrayList<>();
 
         for (KNNPoint knnPoint : points) {
-            Optional<Double> distance = Distance.Euclidian(knnPoint.getPoint(), point);
+            // The square root doesn't change the order of the distances
+            Optional<Double> distance = Distance.SquaredEuclidian(knnPoint.getPoint(), point);
             if (distance.isPresent()) {
                 distances.add(knn.new KNNDistance(knnPoint.getClasse(), distance.get()));
             }
@@ -57,13 +58,30 @@ public class KNN {
         }
     }
 
+    /**
+     * Train a reusable model : the points are indexed once, and each prediction only visits a few of them.
+     */
+    public static Optional<KNNModel> fit(ArrayList<KNNPoint> points) {
+        return KNNModel.fit(points);
+    }
+
     private static String majorityClasse(ArrayList<KNNDistance> distances, int k) {
+        List<String> classes = new ArrayList<>();
+        for (int index=0; index < distances.size() && index < k; index++) {
+            classes.add(distances.get(index).classe);
+        }
+        return majorityClasse(classes);
+    }
+
+    /**
+     * @param classes are the classes of the neighbors, from the nearest
+     */
+    static String majorityClasse(List<String> classes) {
         HashMap<String, Double> map = new HashMap<>();
 
-        for (int index=0; index < distances.size() && index < k; index++) {
-            KNNDistance distance = distances.get(index);
-            double counter = map.getOrDefault(distance.classe, 0.0) + 1.0;
-            map.put(distance.classe, counter);
+        for (String classe : classes) {
+            double counter = map.getOrDefault(classe, 0.0) + 1.0;
+            map.put(classe, counter);
         }
 
         List<Map.Entry<String, Double>> entries = new ArrayList<>(map.entrySet());
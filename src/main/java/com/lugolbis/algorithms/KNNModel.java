@@ -0,0 +1,115 @@
+package com.lugolbis.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.lugolbis.mathematics.BallTree;
+import com.lugolbis.mathematics.KDTree;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.SpatialIndex;
+
+/**
+ * KNN classifier whose training points are indexed once by a spatial index, so a prediction visits
+ * about log(n) leaves instead of computing and sorting the distances to all the points.
+ * It gives the same neighbors as KNN.run, the equal distances being ordered by the position of the points.
+ */
+public class KNNModel {
+    public enum Index {
+        KDTree,
+        BallTree
+    }
+
+    /** Up to this number of dimensions fit chooses a KDTree, a BallTree above. */
+    static final int KD_TREE_MAX_DIMENSIONS = 10;
+
+    private final SpatialIndex index;
+    private final Index type;
+    private final ArrayList<KNNPoint> points;
+
+    private KNNModel(SpatialIndex index, Index type, ArrayList<KNNPoint> points) {
+        this.index = index;
+        this.type = type;
+        this.points = points;
+    }
+
+    /**
+     * @return a model on a KDTree for up to KD_TREE_MAX_DIMENSIONS dimensions, on a BallTree above
+     */
+    public static Optional<KNNModel> fit(ArrayList<KNNPoint> points) {
+        if (points == null || points.isEmpty() || points.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = points.get(0).getPoint().getDimensions();
+        return fit(points, dimensions <= KD_TREE_MAX_DIMENSIONS ? Index.KDTree : Index.BallTree);
+    }
+
+    /**
+     * @return an empty Optional if the list is null or empty, if a point is null or if the dimensions differ
+     */
+    public static Optional<KNNModel> fit(ArrayList<KNNPoint> points, Index type) {
+        if (points == null || type == null) {
+            return Optional.empty();
+        }
+        List<Point> coordinates = new ArrayList<>(points.size());
+        for (KNNPoint point : points) {
+            if (point == null) {
+                return Optional.empty();
+            }
+            coordinates.add(point.getPoint());
+        }
+
+        Optional<? extends SpatialIndex> index = type == Index.KDTree ? KDTree.build(coordinates) : BallTree.build(coordinates);
+        if (index.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new KNNModel(index.get(), type, new ArrayList<>(points)));
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public int getDimensions() {
+        return index.getDimensions();
+    }
+
+    public Index getIndex() {
+        return type;
+    }
+
+    /**
+     * @return the k training points closest to the point, from the nearest,
+     * or an empty Optional if the point is null, has other dimensions or if k isn't positive
+     */
+    public Optional<List<KNNPoint>> nearest(Point point, int k) {
+        Optional<int[]> neighbors = index.nearest(point, k);
+        if (neighbors.isEmpty()) {
+            return Optional.empty();
+        }
+        List<KNNPoint> result = new ArrayList<>(neighbors.get().length);
+        for (int neighbor : neighbors.get()) {
+            result.add(points.get(neighbor));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * @return the point with the majority class among its k nearest neighbors, like KNN.run
+     */
+    public Optional<KNNPoint> predict(Point point, int k) {
+        Optional<List<KNNPoint>> neighbors = nearest(point, k);
+        if (neighbors.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> classes = new ArrayList<>(neighbors.get().size());
+        for (KNNPoint neighbor : neighbors.get()) {
+            classes.add(neighbor.getClasse());
+        }
+        return KNNPoint.newKNNPoint(KNN.majorityClasse(classes), point);
+    }
+
+    public String toString() {
+        return String.format("KNNModel[%d points, %s]", points.size(), type);
+    }
+}
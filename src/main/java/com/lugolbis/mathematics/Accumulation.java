@@ -0,0 +1,11 @@
+package com.lugolbis.mathematics;
+
+/**
+ * Precision of the sums computed by the single precision operations.
+ * FLOAT keeps everything in float, DOUBLE widens the products and adds them in double :
+ * it costs a little throughput but the error no longer grows with the length of the sums.
+ */
+public enum Accumulation {
+    FLOAT,
+    DOUBLE
+}
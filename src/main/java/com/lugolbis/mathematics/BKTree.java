@@ -0,0 +1,355 @@
+package com.lugolbis.mathematics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Burkhard-Keller tree over the Levenshtein distance, to find the words of a dictionary close to a query
+ * without comparing it to every word. The children of a node are keyed by their distance to it, and by the
+ * triangle inequality only the children whose key is within maxDistance of d(query, node) can match.
+ *
+ * The tree is immutable and stored in flat arrays : the nodes are numbered in breadth-first order and the
+ * edges of each node are contiguous and sorted by distance, so the edge e always leads to the node e + 1.
+ * The chars of the words follow the same order in a single array, the siblings visited one after the other
+ * by a query are next to each other in memory instead of being Strings scattered in the heap.
+ */
+public class BKTree {
+    public static final int MAGIC = 0x424B5444;
+    public static final int VERSION = 1;
+
+    /** From this number of words under a node their distances to it are computed in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private final char[] chars;
+    private final CharBuffer text;
+    private final int[] wordStart;
+    private final int[] edgeStart;
+    private final int[] edgeDistance;
+
+    /**
+     * Word found by a query, with its distance to the query.
+     */
+    public static class Match implements Comparable<Match> {
+        private final String word;
+        private final int distance;
+
+        private Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+
+        public String getWord() {
+            return word;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            int result = Integer.compare(distance, other.distance);
+            return result != 0 ? result : word.compareTo(other.word);
+        }
+
+        public String toString() {
+            return String.format("Match[%s - %d]", word, distance);
+        }
+    }
+
+    private BKTree(char[] chars, int[] wordStart, int[] edgeStart, int[] edgeDistance) {
+        this.chars = chars;
+        this.text = CharBuffer.wrap(chars);
+        this.wordStart = wordStart;
+        this.edgeStart = edgeStart;
+        this.edgeDistance = edgeDistance;
+    }
+
+    private static BKTree pack(String[] words, int[] edgeStart, int[] edgeDistance) {
+        int[] wordStart = new int[words.length + 1];
+        for (int index=0; index < words.length; index++) {
+            wordStart[index + 1] = Math.addExact(wordStart[index], words[index].length());
+        }
+        char[] chars = new char[wordStart[words.length]];
+        for (int index=0; index < words.length; index++) {
+            words[index].getChars(0, words[index].length(), chars, wordStart[index]);
+        }
+        return new BKTree(chars, wordStart, edgeStart, edgeDistance);
+    }
+
+    /**
+     * Build the tree level by level, the duplicated words are kept once.
+     * @return an empty Optional if the collection or one of its words is null
+     */
+    public static Optional<BKTree> build(Collection<String> dictionary) {
+        if (dictionary == null) {
+            return Optional.empty();
+        }
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String word : dictionary) {
+            if (word == null) {
+                return Optional.empty();
+            }
+            unique.add(word);
+        }
+
+        int count = unique.size();
+        String[] words = new String[count];
+        int[] edgeStart = new int[count + 1];
+        int[] edgeDistance = new int[Math.max(0, count - 1)];
+        if (count == 0) {
+            return Optional.of(pack(words, edgeStart, edgeDistance));
+        }
+
+        ArrayDeque<List<String>> queue = new ArrayDeque<>();
+        queue.add(new ArrayList<>(unique));
+        int edges = 0;
+
+        for (int node=0; node < count; node++) {
+            List<String> subtree = queue.poll();
+            String root = subtree.get(0);
+            words[node] = root;
+            edgeStart[node] = edges;
+
+            int[] distances = new int[subtree.size() - 1];
+            if (distances.length >= PARALLEL_THRESHOLD) {
+                Arrays.parallelSetAll(distances, index -> EditDistance.distance(root, subtree.get(index + 1)));
+            }
+            else {
+                for (int index=0; index < distances.length; index++) {
+                    distances[index] = EditDistance.distance(root, subtree.get(index + 1));
+                }
+            }
+
+            TreeMap<Integer, List<String>> children = new TreeMap<>();
+            for (int index=0; index < distances.length; index++) {
+                children.computeIfAbsent(distances[index], key -> new ArrayList<>()).add(subtree.get(index + 1));
+            }
+            for (Integer distance : children.keySet()) {
+                edgeDistance[edges++] = distance;
+                queue.add(children.get(distance));
+            }
+        }
+        edgeStart[count] = edges;
+        return Optional.of(pack(words, edgeStart, edgeDistance));
+    }
+
+    public int size() {
+        return wordStart.length - 1;
+    }
+
+    private String word(int node) {
+        return new String(chars, wordStart[node], wordStart[node + 1] - wordStart[node]);
+    }
+
+    /**
+     * Distance between the query and the word of the node when it is at most 'bound', bound + 1 otherwise.
+     */
+    private int distance(EditDistance.Pattern query, int node, int bound) {
+        return query.bounded(text, wordStart[node], wordStart[node + 1], bound);
+    }
+
+    /**
+     * Largest key of the edges of the node, -1 for a leaf.
+     */
+    private int maxEdge(int node) {
+        return edgeStart[node + 1] > edgeStart[node] ? edgeDistance[edgeStart[node + 1] - 1] : -1;
+    }
+
+    /**
+     * All the words at most maxDistance away from the query.
+     * @return the matches sorted by distance then by word, or an empty Optional if the query is null or maxDistance negative
+     */
+    public Optional<List<Match>> search(String query, int maxDistance) {
+        if (query == null || maxDistance < 0) {
+            return Optional.empty();
+        }
+        List<Match> matches = new ArrayList<>();
+        if (size() == 0) {
+            return Optional.of(matches);
+        }
+        EditDistance.Pattern pattern = new EditDistance.Pattern(query);
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int node = stack[--top];
+            // A distance beyond maxEdge + maxDistance excludes every child, it doesn't need to be exact
+            int bound = (int)(Math.min(Integer.MAX_VALUE - 1, (long)(Math.max(maxEdge(node), 0)) + maxDistance));
+            int distance = distance(pattern, node, bound);
+            if (distance <= maxDistance) {
+                matches.add(new Match(word(node), distance));
+            }
+
+            for (int edge=edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                if (edgeDistance[edge] > (long)(distance) + maxDistance) {
+                    break;
+                }
+                if (edgeDistance[edge] >= (long)(distance) - maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = edge + 1;
+                }
+            }
+        }
+        Collections.sort(matches);
+        return Optional.of(matches);
+    }
+
+    /**
+     * The k words closest to the query. The nodes are visited by increasing lower bound of their distance
+     * to the query, and the search radius shrinks to the k-th best distance found so far.
+     * @return the matches sorted by distance then by word, or an empty Optional if the query is null or k isn't positive
+     */
+    public Optional<List<Match>> nearest(String query, int k) {
+        if (query == null || k < 1) {
+            return Optional.empty();
+        }
+        EditDistance.Pattern pattern = new EditDistance.Pattern(query);
+        // Max-heap of the k best matches, the worst one on top
+        PriorityQueue<Match> best = new PriorityQueue<>(Collections.reverseOrder());
+        // Pairs (lower bound, node) packed in a long, the smallest lower bound first
+        PriorityQueue<Long> pending = new PriorityQueue<>();
+        if (size() > 0) {
+            pending.add(0L);
+        }
+
+        while (!pending.isEmpty()) {
+            long entry = pending.poll();
+            int lowerBound = (int)(entry >>> 32);
+            int node = (int)(entry);
+            int radius = best.size() < k ? Integer.MAX_VALUE - 1 : best.peek().distance;
+            if (lowerBound > radius) {
+                break;
+            }
+
+            int bound = (int)(Math.min(Integer.MAX_VALUE - 1, (long)(Math.max(maxEdge(node), 0)) + radius));
+            int distance = distance(pattern, node, bound);
+            if (distance <= radius) {
+                Match match = new Match(word(node), distance);
+                if (best.size() < k) {
+                    best.add(match);
+                }
+                else if (match.compareTo(best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+                radius = best.size() < k ? Integer.MAX_VALUE - 1 : best.peek().distance;
+            }
+
+            for (int edge=edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                int childBound = Math.abs(edgeDistance[edge] - distance);
+                if (childBound <= radius) {
+                    pending.add(((long)(childBound) << 32) | (edge + 1));
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        Collections.sort(matches);
+        return Optional.of(matches);
+    }
+
+    /**
+     * Write the tree in a binary file (big-endian) :
+     *   int magic 'BKTD', int version, int words, int chars, then the (words + 1) offsets of the words
+     *   in the chars, the chars, the (words + 1) offsets of the edges and the (words - 1) edge distances.
+     */
+    public void save(String filePath) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(filePath))))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(size());
+            output.writeInt(chars.length);
+            for (int value : wordStart) {
+                output.writeInt(value);
+            }
+            for (char value : chars) {
+                output.writeChar(value);
+            }
+            for (int value : edgeStart) {
+                output.writeInt(value);
+            }
+            for (int value : edgeDistance) {
+                output.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Read a tree written by save, without computing any distance.
+     */
+    public static BKTree load(String filePath) throws IOException {
+        long fileSize = Files.size(Paths.get(filePath));
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Invalid BK-tree file : " + filePath);
+            }
+            int count = input.readInt();
+            int length = input.readInt();
+            // The counts are checked against the size of the file before any array is allocated
+            if (count < 0 || length < 0 || fileSize != fileSize(count, length)) {
+                throw new IOException("Invalid BK-tree file : " + filePath);
+            }
+
+            int[] wordStart = readOffsets(input, count + 1, length, filePath);
+            char[] chars = new char[length];
+            for (int index=0; index < length; index++) {
+                chars[index] = input.readChar();
+            }
+            int[] edgeStart = readOffsets(input, count + 1, Math.max(0, count - 1), filePath);
+            int[] edgeDistance = new int[Math.max(0, count - 1)];
+            for (int index=0; index < edgeDistance.length; index++) {
+                edgeDistance[index] = input.readInt();
+            }
+            return new BKTree(chars, wordStart, edgeStart, edgeDistance);
+        }
+    }
+
+    /**
+     * Number of bytes written by save for 'count' words of 'length' chars in total.
+     */
+    private static long fileSize(int count, int length) {
+        return 4L * 4 + 4L * (count + 1L) + 2L * length + 4L * (count + 1L) + 4L * Math.max(0, count - 1);
+    }
+
+    /**
+     * @return 'count' increasing offsets from 0 to 'total'
+     */
+    private static int[] readOffsets(DataInputStream input, int count, int total, String filePath) throws IOException {
+        int[] offsets = new int[count];
+        for (int index=0; index < count; index++) {
+            offsets[index] = input.readInt();
+            if (index == 0 ? offsets[0] != 0 : offsets[index] < offsets[index - 1]) {
+                throw new IOException("Invalid BK-tree file : " + filePath);
+            }
+        }
+        if (offsets[count - 1] != total) {
+            throw new IOException("Invalid BK-tree file : " + filePath);
+        }
+        return offsets;
+    }
+
+    public String toString() {
+        return String.format("BKTree[%d words]", size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.lugolbis.mathematics;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ball tree : the points are split like in a KDTree, but each node keeps the centroid of its points and
+ * the radius of the ball around it holding them all. A query skips a node when the distance to its ball,
+ * ‖query − centroid‖ − radius, exceeds its k-th best distance so far, and visits the closer child first.
+ * The balls follow the data instead of the axes, so it keeps pruning in more dimensions than a KDTree.
+ * The points are copied in the order of the leaves and the left child of a node is the next node.
+ */
+public class BallTree implements SpatialIndex {
+    /** The radiuses are enlarged by this relative margin, the rounding of the distances can't exclude a point of its ball. */
+    private static final double MARGIN = 1e-9;
+
+    private final int count;
+    private final int dimensions;
+    /** The coordinates of the points in the order of the leaves. */
+    private final double[] points;
+    /** For each position in the leaves, the index of the point in the list the tree was built from. */
+    private final int[] ids;
+
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    /** The right child, -1 for a leaf. */
+    private final int[] right;
+    /** The centroids of the nodes one after the other. */
+    private final double[] centers;
+    private final double[] radiuses;
+    private int nodes;
+
+    private BallTree(double[] values, int count, int dimensions) {
+        this.count = count;
+        this.dimensions = dimensions;
+        int capacity = Partition.maxNodes(count);
+        this.nodeStart = new int[capacity];
+        this.nodeEnd = new int[capacity];
+        this.right = new int[capacity];
+        this.centers = new double[capacity * dimensions];
+        this.radiuses = new double[capacity];
+
+        int[] order = new int[count];
+        for (int index=0; index < count; index++) {
+            order[index] = index;
+        }
+        build(values, order, 0, count);
+        this.points = Partition.reorder(values, dimensions, order);
+        this.ids = order;
+    }
+
+    private int build(double[] values, int[] order, int start, int end) {
+        int node = nodes++;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+
+        int center = node * dimensions;
+        for (int index=start; index < end; index++) {
+            Kernels.axpy(1.0, values, order[index] * dimensions, centers, center, dimensions);
+        }
+        for (int indexD=0; indexD < dimensions; indexD++) {
+            centers[center + indexD] /= (end - start);
+        }
+        double radius = 0.0;
+        for (int index=start; index < end; index++) {
+            radius = Math.max(radius, Kernels.squaredDistance(values, order[index] * dimensions, centers, center, dimensions));
+        }
+        radiuses[node] = Math.sqrt(radius) * (1.0 + MARGIN);
+
+        if (end - start <= Partition.LEAF_SIZE) {
+            right[node] = -1;
+            return node;
+        }
+        int middle = (start + end) >>> 1;
+        int axis = Partition.widestAxis(values, dimensions, order, start, end);
+        Partition.select(values, dimensions, axis, order, start, end, middle);
+        build(values, order, start, middle);
+        right[node] = build(values, order, middle, end);
+        return node;
+    }
+
+    /**
+     * @return an empty Optional if the list is null or empty, if a point is null or if the dimensions differ
+     */
+    public static Optional<BallTree> build(List<Point> points) {
+        if (points == null || points.isEmpty() || points.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = points.get(0).getDimensions();
+        double[] values = Partition.pack(points, dimensions);
+        return values == null ? Optional.empty() : Optional.of(new BallTree(values, points.size(), dimensions));
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public Optional<int[]> nearest(Point query, int k) {
+        if (query == null || query.getDimensions() != dimensions || k < 1) {
+            return Optional.empty();
+        }
+        NeighborHeap heap = new NeighborHeap(Math.min(k, count));
+        double[] values = query.values();
+        search(0, values, bound(0, values), heap);
+        return Optional.of(heap.sorted());
+    }
+
+    /**
+     * @return the distance from the query to the ball of the node, 0 inside it
+     */
+    private double bound(int node, double[] query) {
+        double distance = Math.sqrt(Kernels.squaredDistance(centers, node * dimensions, query, 0, dimensions));
+        return Math.max(0.0, distance - radiuses[node]);
+    }
+
+    private void search(int node, double[] query, double bound, NeighborHeap heap) {
+        if (bound * bound > heap.worst()) {
+            return;
+        }
+        if (right[node] < 0) {
+            for (int index=nodeStart[node]; index < nodeEnd[node]; index++) {
+                heap.offer(Kernels.squaredDistance(points, index * dimensions, query, 0, dimensions), ids[index]);
+            }
+            return;
+        }
+
+        double boundL = bound(node + 1, query);
+        double boundR = bound(right[node], query);
+        if (boundL <= boundR) {
+            search(node + 1, query, boundL, heap);
+            search(right[node], query, boundR, heap);
+        }
+        else {
+            search(right[node], query, boundR, heap);
+            search(node + 1, query, boundL, heap);
+        }
+    }
+
+    public String toString() {
+        return String.format("BallTree[%d points of %d dimensions]", count, dimensions);
+    }
+}
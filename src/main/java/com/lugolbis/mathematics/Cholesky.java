@@ -0,0 +1,176 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cholesky decomposition of a symmetric positive definite matrix : A = L × Lᵀ.
+ * Only the lower triangle of A is read. The factorization is blocked like LU : the diagonal block is
+ * factorized, the rows below it are solved in parallel, then the trailing matrix is updated with one
+ * Gemm (A22 -= L21 × L21ᵀ) that reads L21ᵀ as a transposed view, without copy.
+ */
+public final class Cholesky {
+    static final int BLOCK = 64;
+    private static final int ROWS_PER_TASK = 64;
+
+    private final double[] l;
+    private final int size;
+
+    private Cholesky(double[] l, int size) {
+        this.l = l;
+        this.size = size;
+    }
+
+    /**
+     * @return the decomposition, or an empty Optional if the matrix isn't square or positive definite
+     */
+    public static Optional<Cholesky> decompose(DenseMatrix matrix) {
+        if (matrix == null || matrix.getRowCount() != matrix.getColumns()) {
+            return Optional.empty();
+        }
+        int n = matrix.getRowCount();
+        double[] a = matrix.toArray();
+
+        for (int k0=0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(k0 + BLOCK, n);
+
+            // L11 from the diagonal block
+            for (int j=k0; j < k1; j++) {
+                solveRow(a, n, k0, k1, j, j + 1);
+                double diagonal = a[j*n + j] - Kernels.dot(a, j*n + k0, a, j*n + k0, j - k0);
+                if (!(diagonal > 0.0)) {
+                    return Optional.empty();
+                }
+                a[j*n + j] = Math.sqrt(diagonal);
+            }
+            if (k1 == n) {
+                break;
+            }
+
+            // L21 = A21 × L11⁻ᵀ, every row is independent
+            Rows task = new Rows(a, n, k0, k1, k1, n);
+            if ((long)(n - k1) * (k1 - k0) * (k1 - k0) < Gemm.PARALLEL_THRESHOLD) {
+                task.compute();
+            }
+            else {
+                ForkJoinPool.commonPool().invoke(task);
+            }
+
+            // A22 -= L21 × L21ᵀ
+            DenseMatrix lower = new DenseMatrix(a, n - k1, k1 - k0, k1*n + k0, n, 1);
+            Gemm.multiply(-1.0, lower, lower.transposed(), a, k1*n + k1, n);
+        }
+
+        // The update wrote the upper triangle too, it isn't part of L
+        for (int indexR=0; indexR < n; indexR++) {
+            for (int indexC=indexR + 1; indexC < n; indexC++) {
+                a[indexR*n + indexC] = 0.0;
+            }
+        }
+        return Optional.of(new Cholesky(a, n));
+    }
+
+    public static Optional<Cholesky> decompose(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? decompose(dense.get()) : Optional.empty();
+    }
+
+    /**
+     * Compute L[row][k0..k1[ for the rows in [start, end[ from the columns k0..k1[ of the diagonal block.
+     */
+    private static void solveRow(double[] a, int n, int k0, int k1, int start, int end) {
+        for (int row=start; row < end; row++) {
+            for (int j=k0; j < k1 && j < row; j++) {
+                double value = a[row*n + j] - Kernels.dot(a, row*n + k0, a, j*n + k0, j - k0);
+                a[row*n + j] = value / a[j*n + j];
+            }
+        }
+    }
+
+    private static class Rows extends RecursiveAction {
+        private final double[] a;
+        private final int n;
+        private final int k0;
+        private final int k1;
+        private final int start;
+        private final int end;
+
+        private Rows(double[] a, int n, int k0, int k1, int start, int end) {
+            this.a = a;
+            this.n = n;
+            this.k0 = k0;
+            this.k1 = k1;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > ROWS_PER_TASK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Rows(a, n, k0, k1, start, middle), new Rows(a, n, k0, k1, middle, end));
+            }
+            else {
+                solveRow(a, n, k0, k1, start, end);
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public DenseMatrix getL() {
+        return new DenseMatrix(l.clone(), size, size);
+    }
+
+    public double determinant() {
+        double determinant = 1.0;
+        for (int index=0; index < size; index++) {
+            double diagonal = l[index*size + index];
+            determinant *= diagonal * diagonal;
+        }
+        return determinant;
+    }
+
+    /**
+     * Solve A × x = b.
+     */
+    public Optional<double[]> solve(double[] b) {
+        if (b == null || b.length != size) {
+            return Optional.empty();
+        }
+        double[] x = b.clone();
+        Triangular.solveLower(l, size, size, false, x, 1);
+        Triangular.solveLowerTransposed(l, size, size, x, 1);
+        return Optional.of(x);
+    }
+
+    /**
+     * Solve A × X = B for all the columns of B at once.
+     */
+    public Optional<DenseMatrix> solve(DenseMatrix b) {
+        if (b == null || b.getRowCount() != size) {
+            return Optional.empty();
+        }
+        double[] x = b.toArray();
+        Triangular.solveLower(l, size, size, false, x, b.getColumns());
+        Triangular.solveLowerTransposed(l, size, size, x, b.getColumns());
+        return Optional.of(new DenseMatrix(x, size, b.getColumns()));
+    }
+
+    public DenseMatrix inverse() {
+        double[] x = new double[size * size];
+        for (int index=0; index < size; index++) {
+            x[index*size + index] = 1.0;
+        }
+        Triangular.solveLower(l, size, size, false, x, size);
+        Triangular.solveLowerTransposed(l, size, size, x, size);
+        return new DenseMatrix(x, size, size);
+    }
+
+    public String toString() {
+        return String.format("Cholesky[%d x %d]", size, size);
+    }
+}
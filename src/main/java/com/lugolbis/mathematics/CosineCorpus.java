@@ -0,0 +1,177 @@
+package com.lugolbis.mathematics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed corpus of vectors scored by cosine similarity against many queries.
+ * The vectors are divided by their L2 norm once, when the corpus is created, and packed row after row :
+ * a query is normalized in turn and then costs one dot product per vector of the corpus, on Kernels.dot.
+ * The vectors of norm 0 stay null vectors, their similarity with any query is 0.
+ */
+public class CosineCorpus {
+    private final int size;
+    private final int dimensions;
+    private final double[] normalized;
+    private final double[] norms;
+
+    private CosineCorpus(double[] values, int size, int dimensions) {
+        this.size = size;
+        this.dimensions = dimensions;
+        this.normalized = values;
+        this.norms = new double[size];
+        for (int index=0; index < size; index++) {
+            norms[index] = normalize(values, index * dimensions, dimensions);
+        }
+    }
+
+    /**
+     * Divide values[offset : offset + length] by its L2 norm, unless it is 0.
+     * @return the norm
+     */
+    static double normalize(double[] values, int offset, int length) {
+        double norm = Math.sqrt(Kernels.dot(values, offset, values, offset, length));
+        if (norm > 0.0) {
+            double inverse = 1.0 / norm;
+            for (int index=0; index < length; index++) {
+                values[offset + index] *= inverse;
+            }
+        }
+        return norm;
+    }
+
+    /**
+     * @param matrix has one vector of the corpus per row, it is copied
+     */
+    public static Optional<CosineCorpus> of(DenseMatrix matrix) {
+        if (matrix == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CosineCorpus(matrix.toArray(), matrix.getRowCount(), matrix.getColumns()));
+    }
+
+    /**
+     * @return an empty Optional if the list is empty, if a point is null or if the dimensions differ
+     */
+    public static Optional<CosineCorpus> fromPoints(List<Point> points) {
+        if (points == null || points.isEmpty() || points.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = points.get(0).getDimensions();
+        double[] values = new double[points.size() * dimensions];
+        for (int index=0; index < points.size(); index++) {
+            Point point = points.get(index);
+            if (point == null || point.getDimensions() != dimensions) {
+                return Optional.empty();
+            }
+            System.arraycopy(point.values(), 0, values, index * dimensions, dimensions);
+        }
+        return Optional.of(new CosineCorpus(values, points.size(), dimensions));
+    }
+
+    /**
+     * @return an empty Optional if the list is empty, if a vector is null or if the sizes differ
+     */
+    public static Optional<CosineCorpus> fromVectors(List<Vector> vectors) {
+        if (vectors == null || vectors.isEmpty() || vectors.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = vectors.get(0).getSize();
+        double[] values = new double[vectors.size() * dimensions];
+        for (int index=0; index < vectors.size(); index++) {
+            Vector vector = vectors.get(index);
+            if (vector == null || vector.getSize() != dimensions) {
+                return Optional.empty();
+            }
+            System.arraycopy(vector.toArray(), 0, values, index * dimensions, dimensions);
+        }
+        return Optional.of(new CosineCorpus(values, vectors.size(), dimensions));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return the L2 norm of the vector 'index' before its normalization
+     */
+    public Optional<Double> getNorm(int index) {
+        if (index < 0 || index >= size) {
+            return Optional.empty();
+        }
+        return Optional.of(norms[index]);
+    }
+
+    /**
+     * Write in destination[i] the cosine similarity of the query with the vector i of the corpus.
+     * @return the destination, or an empty Optional if a length doesn't match
+     */
+    public Optional<double[]> similarities(double[] query, double[] destination) {
+        if (query == null || destination == null || query.length != dimensions || destination.length != size) {
+            return Optional.empty();
+        }
+        double[] unit = query.clone();
+        normalize(unit, 0, dimensions);
+
+        if ((long)(size) * dimensions >= Gemm.PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(destination, index -> Kernels.dot(normalized, index * dimensions, unit, 0, dimensions));
+        }
+        else {
+            for (int index=0; index < size; index++) {
+                destination[index] = Kernels.dot(normalized, index * dimensions, unit, 0, dimensions);
+            }
+        }
+        return Optional.of(destination);
+    }
+
+    public Optional<double[]> similarities(double[] query) {
+        return similarities(query, new double[size]);
+    }
+
+    public Optional<double[]> similarities(Point query) {
+        if (query == null) {
+            return Optional.empty();
+        }
+        return similarities(query.values(), new double[size]);
+    }
+
+    public Optional<double[]> similarities(Vector query) {
+        if (query == null) {
+            return Optional.empty();
+        }
+        return similarities(query.toArray(), new double[size]);
+    }
+
+    /**
+     * Cosine similarities of each row of the queries with each vector of the corpus, as a (queries × size) matrix :
+     * the normalized queries are multiplied by the transposed corpus with Gemm.
+     * @return an empty Optional if the queries don't have the dimensions of the corpus
+     */
+    public Optional<DenseMatrix> similarities(DenseMatrix queries) {
+        if (queries == null || queries.getColumns() != dimensions) {
+            return Optional.empty();
+        }
+        int rows = queries.getRowCount();
+        double[] units = queries.toArray();
+        for (int index=0; index < rows; index++) {
+            normalize(units, index * dimensions, dimensions);
+        }
+
+        double[] result = new double[rows * size];
+        Gemm.multiply(
+            new DenseMatrix(units, rows, dimensions),
+            new DenseMatrix(normalized, dimensions, size, 0, 1, dimensions),
+            result
+        );
+        return Optional.of(new DenseMatrix(result, rows, size));
+    }
+
+    public String toString() {
+        return String.format("CosineCorpus[%d vectors of %d dimensions]", size, dimensions);
+    }
+}
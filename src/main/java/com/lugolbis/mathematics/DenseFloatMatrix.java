@@ -0,0 +1,232 @@
+package com.lugolbis.mathematics;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Single precision matrix backed by a contiguous row-major primitive array.
+ * It takes half the memory of a DenseMatrix and the products read half the bytes; the sums of the
+ * products are accumulated in float unless Accumulation.DOUBLE is given.
+ */
+public class DenseFloatMatrix {
+    private float[] data;
+    private int rows;
+    private int columns;
+
+    DenseFloatMatrix(float[] data, int rows, int columns) {
+        this.data = data;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * @param data is the row-major values of the matrix, it isn't copied
+     * @param columns is the number of columns
+     */
+    public static Optional<DenseFloatMatrix> newDenseFloatMatrix(float[] data, int columns) {
+        if (data != null && columns > 0 && data.length % columns == 0) {
+            return Optional.of(new DenseFloatMatrix(data, data.length / columns, columns));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<DenseFloatMatrix> zeros(int rows, int columns) {
+        if (rows >= 0 && columns > 0) {
+            return Optional.of(new DenseFloatMatrix(new float[rows * columns], rows, columns));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Round every value of the matrix to the nearest float.
+     */
+    public static Optional<DenseFloatMatrix> fromDense(DenseMatrix matrix) {
+        if (matrix == null) {
+            return Optional.empty();
+        }
+        float[] array = new float[matrix.getRowCount() * matrix.getColumns()];
+        int position = 0;
+        for (int indexR=0; indexR < matrix.getRowCount(); indexR++) {
+            for (int indexC=0; indexC < matrix.getColumns(); indexC++) {
+                array[position++] = (float)(matrix.get(indexR, indexC));
+            }
+        }
+        return Optional.of(new DenseFloatMatrix(array, matrix.getRowCount(), matrix.getColumns()));
+    }
+
+    public static Optional<DenseFloatMatrix> fromMatrix(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? fromDense(dense.get()) : Optional.empty();
+    }
+
+    public DenseMatrix toDense() {
+        double[] array = new double[data.length];
+        for (int index=0; index < array.length; index++) {
+            array[index] = data[index];
+        }
+        return new DenseMatrix(array, rows, columns);
+    }
+
+    public Matrix toMatrix() {
+        return toDense().toMatrix();
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    float[] data() {
+        return data;
+    }
+
+    public float get(int row, int column) {
+        return data[row*columns + column];
+    }
+
+    public void set(int row, int column, float value) {
+        data[row*columns + column] = value;
+    }
+
+    public Optional<Float> getValue(int row, int column) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            return Optional.of(get(row, column));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<float[]> getRow(int index) {
+        if (index < 0 || index >= rows) {
+            return Optional.empty();
+        }
+        float[] array = new float[columns];
+        System.arraycopy(data, index*columns, array, 0, columns);
+        return Optional.of(array);
+    }
+
+    /**
+     * @return a row-major copy of the values
+     */
+    public float[] toArray() {
+        return data.clone();
+    }
+
+    public DenseFloatMatrix copy() {
+        return new DenseFloatMatrix(data.clone(), rows, columns);
+    }
+
+    public static Optional<DenseFloatMatrix> sum(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB) {
+        if (!sameShape(matrixA, matrixB)) {
+            return Optional.empty();
+        }
+        float[] array = matrixA.data.clone();
+        Kernels.axpy(1.0f, matrixB.data, 0, array, 0, array.length);
+        return Optional.of(new DenseFloatMatrix(array, matrixA.rows, matrixA.columns));
+    }
+
+    public static Optional<DenseFloatMatrix> sub(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB) {
+        if (!sameShape(matrixA, matrixB)) {
+            return Optional.empty();
+        }
+        float[] array = matrixA.data.clone();
+        Kernels.axpy(-1.0f, matrixB.data, 0, array, 0, array.length);
+        return Optional.of(new DenseFloatMatrix(array, matrixA.rows, matrixA.columns));
+    }
+
+    private static boolean sameShape(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB) {
+        return matrixA != null && matrixB != null
+            && matrixA.rows == matrixB.rows
+            && matrixA.columns == matrixB.columns;
+    }
+
+    /**
+     * Multiply all the values by the input value 'k'
+     */
+    public void mult(float k) {
+        for (int index=0; index < data.length; index++) {
+            data[index] *= k;
+        }
+    }
+
+    public static Optional<DenseFloatMatrix> mult(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB) {
+        return mult(matrixA, matrixB, Accumulation.FLOAT);
+    }
+
+    public static Optional<DenseFloatMatrix> mult(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB, Accumulation accumulation) {
+        if (matrixA == null || matrixB == null || accumulation == null || matrixA.columns != matrixB.rows) {
+            return Optional.empty();
+        }
+        float[] result = new float[matrixA.rows * matrixB.columns];
+        FloatGemm.multiply(matrixA, matrixB, result, accumulation);
+        return Optional.of(new DenseFloatMatrix(result, matrixA.rows, matrixB.columns));
+    }
+
+    public Optional<float[]> multVector(float[] vector) {
+        return multVector(vector, Accumulation.FLOAT);
+    }
+
+    public Optional<float[]> multVector(float[] vector, Accumulation accumulation) {
+        if (vector == null || accumulation == null || vector.length != columns) {
+            return Optional.empty();
+        }
+        float[] result = new float[rows];
+        for (int indexR=0; indexR < rows; indexR++) {
+            result[indexR] = accumulation == Accumulation.DOUBLE
+                ? (float)(Kernels.dotDouble(data, indexR*columns, vector, 0, columns))
+                : Kernels.dot(data, indexR*columns, vector, 0, columns);
+        }
+        return Optional.of(result);
+    }
+
+    public Optional<DenseFloatVector> multVector(DenseFloatVector vector, Accumulation accumulation) {
+        if (vector == null || vector.getType() != Vector.Type.Column) {
+            return Optional.empty();
+        }
+        Optional<float[]> result = multVector(vector.data(), accumulation);
+        return result.isPresent()
+            ? Optional.of(new DenseFloatVector(result.get(), Vector.Type.Column))
+            : Optional.empty();
+    }
+
+    /**
+     * Transposate the matrix through a tiled copy.
+     */
+    public void transposate() {
+        float[] array = new float[data.length];
+        for (int blockR=0; blockR < rows; blockR += Transpose.BLOCK) {
+            int endR = Math.min(blockR + Transpose.BLOCK, rows);
+            for (int blockC=0; blockC < columns; blockC += Transpose.BLOCK) {
+                int endC = Math.min(blockC + Transpose.BLOCK, columns);
+                for (int indexR=blockR; indexR < endR; indexR++) {
+                    for (int indexC=blockC; indexC < endC; indexC++) {
+                        array[indexC*rows + indexR] = data[indexR*columns + indexC];
+                    }
+                }
+            }
+        }
+
+        int swap = rows;
+        rows = columns;
+        columns = swap;
+        data = array;
+    }
+
+    public String toString() {
+        String result = new String();
+
+        for (int index=0; index < rows; index++) {
+            result += Arrays.toString(getRow(index).get());
+            result += "\n";
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.lugolbis.mathematics;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Single precision vector backed by a primitive array, half the memory of a double one.
+ * The sums of the products are accumulated in float unless Accumulation.DOUBLE is given.
+ */
+public class DenseFloatVector {
+    private float[] values;
+    private Vector.Type type;
+
+    DenseFloatVector(float[] values, Vector.Type type) {
+        this.values = values;
+        this.type = type;
+    }
+
+    /**
+     * @param values is not copied
+     */
+    public static Optional<DenseFloatVector> newDenseFloatVector(float[] values, Vector.Type type) {
+        if (values != null && type != null) {
+            return Optional.of(new DenseFloatVector(values, type));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<DenseFloatVector> fromVector(Vector vector) {
+        if (vector == null) {
+            return Optional.empty();
+        }
+        ArrayList<Double> source = vector.getValues();
+        float[] array = new float[source.size()];
+        for (int index=0; index < array.length; index++) {
+            array[index] = source.get(index).floatValue();
+        }
+        return Optional.of(new DenseFloatVector(array, vector.getType()));
+    }
+
+    public Vector toVector() {
+        ArrayList<Double> array = new ArrayList<>(values.length);
+        for (float value : values) {
+            array.add((double)(value));
+        }
+        return Vector.newVector(array, type).get();
+    }
+
+    float[] data() {
+        return values;
+    }
+
+    public int getSize() {
+        return values.length;
+    }
+
+    public Vector.Type getType() {
+        return type;
+    }
+
+    public float get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, float value) {
+        values[index] = value;
+    }
+
+    public Optional<Float> getValue(int index) {
+        if (index >= 0 && index < values.length) {
+            return Optional.of(values[index]);
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Apply the transposate operation to the vector
+     */
+    public void transposate() {
+        type = type == Vector.Type.Column ? Vector.Type.Row : Vector.Type.Column;
+    }
+
+    public Optional<Double> multScalar(DenseFloatVector vector) {
+        return multScalar(vector, Accumulation.FLOAT);
+    }
+
+    public Optional<Double> multScalar(DenseFloatVector vector, Accumulation accumulation) {
+        if (vector == null || accumulation == null || values.length != vector.values.length) {
+            return Optional.empty();
+        }
+        return Optional.of(accumulation == Accumulation.DOUBLE
+            ? Kernels.dotDouble(values, 0, vector.values, 0, values.length)
+            : (double)(Kernels.dot(values, 0, vector.values, 0, values.length))
+        );
+    }
+
+    public Optional<Double> norm(Accumulation accumulation) {
+        Optional<Double> square = multScalar(this, accumulation);
+        return square.isPresent() ? Optional.of(Math.sqrt(square.get())) : Optional.empty();
+    }
+
+    /**
+     * Multiply all the values by the input value 'k'
+     */
+    public void mult(float k) {
+        for (int index=0; index < values.length; index++) {
+            values[index] *= k;
+        }
+    }
+
+    public static Optional<DenseFloatVector> sum(DenseFloatVector vectorA, DenseFloatVector vectorB) {
+        if (vectorA == null || vectorB == null || vectorA.values.length != vectorB.values.length) {
+            return Optional.empty();
+        }
+        float[] array = vectorA.values.clone();
+        Kernels.axpy(1.0f, vectorB.values, 0, array, 0, array.length);
+        return Optional.of(new DenseFloatVector(array, vectorA.type));
+    }
+
+    public static Optional<DenseFloatVector> sub(DenseFloatVector vectorA, DenseFloatVector vectorB) {
+        if (vectorA == null || vectorB == null || vectorA.values.length != vectorB.values.length) {
+            return Optional.empty();
+        }
+        float[] array = vectorA.values.clone();
+        Kernels.axpy(-1.0f, vectorB.values, 0, array, 0, array.length);
+        return Optional.of(new DenseFloatVector(array, vectorA.type));
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        String separator = type == Vector.Type.Column ? "\n" : ", ";
+        for (int index=0; index < values.length; index++) {
+            if (index > 0) {
+                builder.append(separator);
+            }
+            builder.append(values[index]);
+        }
+        return builder.append("]").toString();
+    }
+}
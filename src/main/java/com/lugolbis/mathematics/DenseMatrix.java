@@ -0,0 +1,434 @@
+package com.lugolbis.mathematics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Matrix backed by a contiguous primitive array.
+ * The element (row, column) is stored at data[offset + row*rowStride + column*columnStride].
+ */
+public class DenseMatrix {
+    private double[] data;
+    private int rows;
+    private int columns;
+    private int offset;
+    private int rowStride;
+    private int columnStride;
+
+    DenseMatrix(double[] data, int rows, int columns, int offset, int rowStride, int columnStride) {
+        this.data = data;
+        this.rows = rows;
+        this.columns = columns;
+        this.offset = offset;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    DenseMatrix(double[] data, int rows, int columns) {
+        this(data, rows, columns, 0, columns, 1);
+    }
+
+    /**
+     * @param data is the row-major values of the matrix, it isn't copied
+     * @param columns is the number of columns
+     */
+    public static Optional<DenseMatrix> newDenseMatrix(double[] data, int columns) {
+        if (data != null && columns > 0 && data.length % columns == 0) {
+            return Optional.of(new DenseMatrix(data, data.length / columns, columns));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<DenseMatrix> zeros(int rows, int columns) {
+        if (rows >= 0 && columns > 0) {
+            return Optional.of(new DenseMatrix(new double[rows * columns], rows, columns));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<DenseMatrix> fromMatrix(Matrix matrix) {
+        if (matrix == null) {
+            return Optional.empty();
+        }
+        ArrayList<Double> values = matrix.getRows();
+        double[] data = new double[values.size()];
+
+        for (int index=0; index < data.length; index++) {
+            data[index] = values.get(index);
+        }
+        return newDenseMatrix(data, matrix.getColumns());
+    }
+
+    public Matrix toMatrix() {
+        ArrayList<Double> values = new ArrayList<>(rows * columns);
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int indexC=0; indexC < columns; indexC++) {
+                values.add(get(indexR, indexC));
+            }
+        }
+        return Matrix.newMatrix(values, columns).get();
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    double[] data() {
+        return data;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int rowStride() {
+        return rowStride;
+    }
+
+    int columnStride() {
+        return columnStride;
+    }
+
+    /**
+     * @return true if the values are stored row after row without any gap
+     */
+    public boolean isContiguous() {
+        return offset == 0 && rowStride == columns && columnStride == 1 && data.length == rows * columns;
+    }
+
+    public double get(int row, int column) {
+        return data[offset + row*rowStride + column*columnStride];
+    }
+
+    public void set(int row, int column, double value) {
+        data[offset + row*rowStride + column*columnStride] = value;
+    }
+
+    public Optional<Double> getValue(int row, int column) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            return Optional.of(get(row, column));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<double[]> getRow(int index) {
+        if (index < 0 || index >= rows) {
+            return Optional.empty();
+        }
+
+        double[] array = new double[columns];
+        int position = offset + index*rowStride;
+        for (int indexC=0; indexC < columns; indexC++) {
+            array[indexC] = data[position];
+            position += columnStride;
+        }
+        return Optional.of(array);
+    }
+
+    public Optional<double[]> getColumn(int index) {
+        if (index < 0 || index >= columns) {
+            return Optional.empty();
+        }
+
+        double[] array = new double[rows];
+        int position = offset + index*columnStride;
+        for (int indexR=0; indexR < rows; indexR++) {
+            array[indexR] = data[position];
+            position += rowStride;
+        }
+        return Optional.of(array);
+    }
+
+    /**
+     * @return a view of the row sharing the values of this matrix, nothing is copied
+     */
+    public Optional<VectorView> rowView(int index) {
+        if (index < 0 || index >= rows) {
+            return Optional.empty();
+        }
+        return Optional.of(new VectorView(data, offset + index*rowStride, columnStride, columns));
+    }
+
+    /**
+     * @return a view of the column sharing the values of this matrix, nothing is copied
+     */
+    public Optional<VectorView> columnView(int index) {
+        if (index < 0 || index >= columns) {
+            return Optional.empty();
+        }
+        return Optional.of(new VectorView(data, offset + index*columnStride, rowStride, rows));
+    }
+
+    /**
+     * @return a view of the values (i, i), on min(rows, columns) values
+     */
+    public VectorView diagonalView() {
+        return new VectorView(data, offset, rowStride + columnStride, Math.min(rows, columns));
+    }
+
+    /**
+     * @return a view of the (rowCount × columnCount) block whose top-left value is (row, column),
+     * it shares the values of this matrix and can be used in every operation
+     */
+    public Optional<DenseMatrix> blockView(int row, int column, int rowCount, int columnCount) {
+        if (
+            row < 0 || column < 0 || rowCount <= 0 || columnCount <= 0
+            || row + rowCount > rows || column + columnCount > columns
+        ) {
+            return Optional.empty();
+        }
+        return Optional.of(new DenseMatrix(
+            data, rowCount, columnCount, offset + row*rowStride + column*columnStride, rowStride, columnStride
+        ));
+    }
+
+    /**
+     * @return a row-major copy of the values
+     */
+    public double[] toArray() {
+        if (isContiguous()) {
+            return data.clone();
+        }
+
+        double[] array = new double[rows * columns];
+        int index = 0;
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int indexC=0; indexC < columns; indexC++) {
+                array[index++] = get(indexR, indexC);
+            }
+        }
+        return array;
+    }
+
+    public DenseMatrix copy() {
+        return new DenseMatrix(toArray(), rows, columns);
+    }
+
+    public static Optional<DenseMatrix> sum(DenseMatrix matrixA, DenseMatrix matrixB) {
+        if (!sameShape(matrixA, matrixB)) {
+            return Optional.empty();
+        }
+        return sum(matrixA, matrixB, new DenseMatrix(new double[matrixA.rows * matrixA.columns], matrixA.rows, matrixA.columns));
+    }
+
+    /**
+     * Write A + B in the destination, which can be A or B to compute in place.
+     */
+    public static Optional<DenseMatrix> sum(DenseMatrix matrixA, DenseMatrix matrixB, DenseMatrix destination) {
+        if (!sameShape(matrixA, matrixB) || !sameShape(matrixA, destination) || !destination.isContiguous()) {
+            return Optional.empty();
+        }
+        ElementWise.add(matrixA.contiguousData(), matrixB.contiguousData(), destination.data);
+        return Optional.of(destination);
+    }
+
+    public static Optional<DenseMatrix> sub(DenseMatrix matrixA, DenseMatrix matrixB) {
+        if (!sameShape(matrixA, matrixB)) {
+            return Optional.empty();
+        }
+        return sub(matrixA, matrixB, new DenseMatrix(new double[matrixA.rows * matrixA.columns], matrixA.rows, matrixA.columns));
+    }
+
+    /**
+     * Write A - B in the destination, which can be A or B to compute in place.
+     */
+    public static Optional<DenseMatrix> sub(DenseMatrix matrixA, DenseMatrix matrixB, DenseMatrix destination) {
+        if (!sameShape(matrixA, matrixB) || !sameShape(matrixA, destination) || !destination.isContiguous()) {
+            return Optional.empty();
+        }
+        ElementWise.sub(matrixA.contiguousData(), matrixB.contiguousData(), destination.data);
+        return Optional.of(destination);
+    }
+
+    /**
+     * @return the values in row-major order, without copy when the matrix is contiguous
+     */
+    double[] contiguousData() {
+        return isContiguous() ? data : toArray();
+    }
+
+    static boolean sameShape(DenseMatrix matrixA, DenseMatrix matrixB) {
+        return matrixA != null && matrixB != null
+            && matrixA.rows == matrixB.rows
+            && matrixA.columns == matrixB.columns;
+    }
+
+    /**
+     * Multiply all the values by the input value 'k'
+     */
+    public void mult(double k) {
+        if (isContiguous()) {
+            ElementWise.scale(data, k, data);
+            return;
+        }
+        for (int indexR=0; indexR < rows; indexR++) {
+            int position = offset + indexR*rowStride;
+            for (int indexC=0; indexC < columns; indexC++) {
+                data[position] *= k;
+                position += columnStride;
+            }
+        }
+    }
+
+    /**
+     * Replace every value by op(value), in place.
+     */
+    public void map(DoubleUnaryOperator op) {
+        if (isContiguous()) {
+            ElementWise.map(data, data, op);
+            return;
+        }
+        for (int indexR=0; indexR < rows; indexR++) {
+            int position = offset + indexR*rowStride;
+            for (int indexC=0; indexC < columns; indexC++) {
+                data[position] = op.applyAsDouble(data[position]);
+                position += columnStride;
+            }
+        }
+    }
+
+    public static Optional<DenseMatrix> mult(DenseMatrix matrixA, DenseMatrix matrixB) {
+        if (matrixA == null || matrixB == null || matrixA.columns != matrixB.rows) {
+            return Optional.empty();
+        }
+        double[] result = new double[matrixA.rows * matrixB.columns];
+        Gemm.multiply(matrixA, matrixB, result);
+        return Optional.of(new DenseMatrix(result, matrixA.rows, matrixB.columns));
+    }
+
+    public Optional<double[]> multVector(double[] vector) {
+        if (vector == null || vector.length != columns) {
+            return Optional.empty();
+        }
+
+        double[] result = new double[rows];
+        if (rowStride == 1 && columnStride != 1) {
+            // Transposed view : the columns are contiguous in memory
+            for (int indexC=0; indexC < columns; indexC++) {
+                Kernels.axpy(vector[indexC], data, offset + indexC*columnStride, result, 0, rows);
+            }
+            return Optional.of(result);
+        }
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            int position = offset + indexR*rowStride;
+            if (columnStride == 1) {
+                result[indexR] = Kernels.dot(data, position, vector, 0, columns);
+                continue;
+            }
+            double value = 0;
+
+            for (int index=0; index < columns; index++) {
+                value += data[position] * vector[index];
+                position += columnStride;
+            }
+            result[indexR] = value;
+        }
+        return Optional.of(result);
+    }
+
+    public Optional<Vector> multVector(Vector vector) {
+        if (vector == null || vector.getType() != Vector.Type.Column) {
+            return Optional.empty();
+        }
+        Optional<double[]> result = multVector(vector.toArray());
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ArrayList<Double> resultValues = new ArrayList<>(rows);
+        for (double value : result.get()) {
+            resultValues.add(value);
+        }
+        return Vector.newVector(resultValues, Vector.Type.Column);
+    }
+
+    /**
+     * Transposate the matrix, in place when it's square and contiguous, else in a new contiguous array.
+     */
+    public void transposate() {
+        if (rows == columns && isContiguous()) {
+            Transpose.inPlace(data, rows);
+            return;
+        }
+
+        double[] array = new double[rows * columns];
+        Transpose.copy(this, array);
+
+        int swap = rows;
+        rows = columns;
+        columns = swap;
+        data = array;
+        offset = 0;
+        rowStride = columns;
+        columnStride = 1;
+    }
+
+    /**
+     * @return a view of the transposate sharing the values of this matrix, nothing is copied.
+     * The view is flagged by its strides (row stride of 1), mult and multVector read it without materializing it.
+     */
+    public DenseMatrix transposed() {
+        return new DenseMatrix(data, columns, rows, offset, columnStride, rowStride);
+    }
+
+    /**
+     * Solve A × x = b with an LU decomposition, empty if the matrix isn't square or is singular.
+     */
+    public Optional<double[]> solve(double[] b) {
+        Optional<LU> lu = LU.decompose(this);
+        return lu.isPresent() ? lu.get().solve(b) : Optional.empty();
+    }
+
+    public Optional<DenseMatrix> inverse() {
+        Optional<LU> lu = LU.decompose(this);
+        return lu.isPresent() ? lu.get().inverse() : Optional.empty();
+    }
+
+    public Optional<Double> determinant() {
+        Optional<LU> lu = LU.decompose(this);
+        return lu.isPresent() ? Optional.of(lu.get().determinant()) : Optional.empty();
+    }
+
+    /**
+     * Stream the file in a single pass, the layout is the one of Matrix.loadFromJson.
+     */
+    public static DenseMatrix loadFromJson(String filePath) throws IOException {
+        return MatrixJson.read(filePath, 0);
+    }
+
+    /**
+     * @param sizeHint is the expected number of values, it avoids the growth of the buffer when it's right
+     */
+    public static DenseMatrix loadFromJson(String filePath, int sizeHint) throws IOException {
+        return MatrixJson.read(filePath, sizeHint);
+    }
+
+    public void writeToJson(String filePath) throws IOException {
+        MatrixJson.write(this, filePath);
+    }
+
+    public String toString() {
+        String result = new String();
+
+        for (int index=0; index < rows; index++) {
+            result += Arrays.toString(getRow(index).get());
+            result += "\n";
+        }
+        return result;
+    }
+}
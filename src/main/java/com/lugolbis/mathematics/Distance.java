@@ -1,65 +1,233 @@
 package com.lugolbis.mathematics;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class Distance {
     public static Optional<Double> Minkowski(Point p1, Point p2, int k) {
+        return Minkowski(p1, p2, (double)(k));
+    }
+
+    /**
+     * @param p is the order of the distance, Double.POSITIVE_INFINITY gives the Chebyshev distance
+     * @return an empty Optional if the dimensions don't match or p isn't strictly positive
+     */
+    public static Optional<Double> Minkowski(Point p1, Point p2, double p) {
+        if (p1.getDimensions() == p2.getDimensions() && p > 0) {
+            return Optional.of(Minkowski(p1.values(), p2.values(), p));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<Double> Euclidian(Point p1, Point p2) {
         if (p1.getDimensions() == p2.getDimensions()) {
-            double result = 0;
+            return Optional.of(Euclidian(p1.values(), p2.values()));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
 
-            ArrayList<Double> coordinates1 = p1.getCoordinates();
-            ArrayList<Double> coordinates2 = p2.getCoordinates();
+    /**
+     * Square of the Euclidian distance, it ranks the points in the same order without the square root.
+     */
+    public static Optional<Double> SquaredEuclidian(Point p1, Point p2) {
+        if (p1.getDimensions() == p2.getDimensions()) {
+            return Optional.of(SquaredEuclidian(p1.values(), p2.values()));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
 
-            for (int index=0; index < coordinates1.size(); index++) {
-                result += Math.pow(coordinates1.get(index) - coordinates2.get(index), k);
-            }
+    public static Optional<Double> Manhattan(Point p1, Point p2) {
+        if (p1.getDimensions() == p2.getDimensions()) {
+            return Optional.of(Manhattan(p1.values(), p2.values()));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
 
-            double exposant = 1/(double)(k);
-            return Optional.of(Math.abs(Math.pow(result, exposant)));
+    public static Optional<Double> Chebyshev(Point p1, Point p2) {
+        if (p1.getDimensions() == p2.getDimensions()) {
+            return Optional.of(Chebyshev(p1.values(), p2.values()));
         }
         else {
             return Optional.empty();
         }
     }
 
-    public static Optional<Double> Euclidian(Point p1, Point p2) {
-        return Minkowski(p1, p2, 2);
+    /**
+     * Minkowski distance of order k between two coordinate arrays, nothing is allocated.
+     * Like the other distances between arrays, a NaN result only comes from a NaN coordinate.
+     * @throws IllegalArgumentException if an array is null or the lengths don't match
+     */
+    public static double Minkowski(double[] p1, double[] p2, int k) {
+        return Minkowski(p1, p2, (double)(k));
     }
 
-    public static Optional<Double> Manhattan(Point p1, Point p2) {
-        return Minkowski(p1, p2, 1);
+    /**
+     * The orders 1, 2 and infinity run on the Manhattan, Euclidian and Chebyshev kernels,
+     * the others raise each difference to the power p.
+     * @throws IllegalArgumentException if an array is null, the lengths don't match or p isn't strictly positive
+     */
+    public static double Minkowski(double[] p1, double[] p2, double p) {
+        checkLengths(p1, p2);
+        if (!(p > 0)) {
+            throw new IllegalArgumentException("The order of the Minkowski distance must be strictly positive : " + p);
+        }
+        if (p == 1.0) {
+            return Manhattan(p1, p2);
+        }
+        else if (p == 2.0) {
+            return Euclidian(p1, p2);
+        }
+        else if (p == Double.POSITIVE_INFINITY) {
+            return Chebyshev(p1, p2);
+        }
+
+        double result = 0;
+        for (int index=0; index < p1.length; index++) {
+            result += Math.pow(Math.abs(p1[index] - p2[index]), p);
+        }
+        return Math.pow(result, 1/p);
     }
 
-    public static Optional<Double> Levenshtein(String a, String b) {
-        if (a == null || b == null) {
+    /**
+     * @throws IllegalArgumentException if an array is null or the lengths don't match
+     */
+    private static void checkLengths(double[] p1, double[] p2) {
+        if (p1 == null || p2 == null) {
+            throw new IllegalArgumentException("The coordinates can't be null");
+        }
+        if (p1.length != p2.length) {
+            throw new IllegalArgumentException("The coordinates have " + p1.length + " and " + p2.length + " dimensions");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if an array is null or the lengths don't match, as the other distances between arrays
+     */
+    public static double Euclidian(double[] p1, double[] p2) {
+        return Math.sqrt(SquaredEuclidian(p1, p2));
+    }
+
+    public static double SquaredEuclidian(double[] p1, double[] p2) {
+        checkLengths(p1, p2);
+        return Kernels.squaredDistance(p1, 0, p2, 0, p1.length);
+    }
+
+    public static double Manhattan(double[] p1, double[] p2) {
+        checkLengths(p1, p2);
+        return Kernels.manhattan(p1, 0, p2, 0, p1.length);
+    }
+
+    public static double Chebyshev(double[] p1, double[] p2) {
+        checkLengths(p1, p2);
+        return Kernels.chebyshev(p1, 0, p2, 0, p1.length);
+    }
+
+    public static enum Metric {
+        Euclidian,
+        SquaredEuclidian,
+        Manhattan,
+        Chebyshev
+    }
+
+    /**
+     * Distances between all the pairs of points, computed by tiles in parallel.
+     * @return the symmetric (n × n) matrix of the distances, or an empty Optional if the list is empty,
+     * the dimensions don't match or the matrix doesn't fit in an array
+     */
+    public static Optional<DenseMatrix> pairwise(List<Point> points, Metric metric) {
+        Optional<double[]> packed = pack(points, metric);
+        int n = packed.isPresent() ? points.size() : 0;
+        if (packed.isEmpty() || (long)(n) * n > Integer.MAX_VALUE - 8) {
+            return Optional.empty();
+        }
+        double[] result = new double[n * n];
+        PairwiseDistance.compute(packed.get(), n, points.get(0).getDimensions(), metric, result, true, false);
+        return Optional.of(new DenseMatrix(result, n, n));
+    }
+
+    /**
+     * Distances between all the pairs of points, only the upper triangle is stored : the distance between
+     * the points i < j is at the index condensedIndex(n, i, j). It takes half the memory of pairwise.
+     * @param exact is true to compute every pair like Distance.Euclidian, false to let the many dimensional
+     * Euclidian distances go through Gemm, faster but with the rounding of ‖a‖² + ‖b‖² − 2 a·b
+     */
+    public static Optional<double[]> pairwiseCondensed(List<Point> points, Metric metric, boolean exact) {
+        Optional<double[]> packed = pack(points, metric);
+        int n = packed.isPresent() ? points.size() : 0;
+        if (packed.isEmpty() || (long)(n) * (n - 1) / 2 > Integer.MAX_VALUE - 8) {
             return Optional.empty();
         }
+        double[] result = new double[n * (n - 1) / 2];
+        PairwiseDistance.compute(packed.get(), n, points.get(0).getDimensions(), metric, result, false, exact);
+        return Optional.of(result);
+    }
 
-        int cardA = a.length();
-        int cardB = b.length();
+    public static Optional<double[]> pairwiseCondensed(List<Point> points, Metric metric) {
+        return pairwiseCondensed(points, metric, false);
+    }
 
-        if (Math.min(cardA, cardB) == 0) {
-            return Optional.of((double)(Math.max(cardA, cardB)));
+    /**
+     * @return the index of the distance between the points i and j in a condensed matrix of n points, -1 if i == j
+     */
+    public static int condensedIndex(int n, int i, int j) {
+        if (i == j) {
+            return -1;
         }
-        else if (a.charAt(0) == b.charAt(0)) {
-            return Levenshtein(safeSubString(a, 1), safeSubString(b, 1));
+        return (int)(i < j ? PairwiseDistance.condensedIndex(n, i, j) : PairwiseDistance.condensedIndex(n, j, i));
+    }
+
+    /**
+     * @return the coordinates of the points packed row after row
+     */
+    private static Optional<double[]> pack(List<Point> points, Metric metric) {
+        if (points == null || points.isEmpty() || metric == null || points.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = points.get(0).getDimensions();
+        if ((long)(points.size()) * dimensions > Integer.MAX_VALUE - 8) {
+            return Optional.empty();
         }
-        else {
-            double x = Levenshtein(safeSubString(a, 1), b).orElse(Double.POSITIVE_INFINITY);
-            double y = Levenshtein(a, safeSubString(b, 1)).orElse(Double.POSITIVE_INFINITY);
-            double z = Levenshtein(safeSubString(a, 1), safeSubString(b, 1)).orElse(Double.POSITIVE_INFINITY);
 
-            return Optional.of(1.0 + Math.min(x, Math.min(y, z)));
+        double[] packed = new double[points.size() * dimensions];
+        for (int index=0; index < points.size(); index++) {
+            Point point = points.get(index);
+            if (point == null || point.getDimensions() != dimensions) {
+                return Optional.empty();
+            }
+            System.arraycopy(point.values(), 0, packed, index * dimensions, dimensions);
         }
+        return Optional.of(packed);
     }
 
-    private static String safeSubString(String value, int index) {
-        if (value.length() > index) {
-            return value.substring(index);
+    /**
+     * Number of insertions, deletions and substitutions of chars turning a into b,
+     * in O(min(|a|, |b|)) memory (see EditDistance).
+     */
+    public static Optional<Double> Levenshtein(String a, String b) {
+        if (a == null || b == null) {
+            return Optional.empty();
         }
-        else {
-            return "";
+        return Optional.of((double)(EditDistance.distance(a, b)));
+    }
+
+    /**
+     * Levenshtein distance when it is at most maxDistance : only a band of the table is computed
+     * and the computation stops as soon as the distance is known to exceed maxDistance.
+     * @return an empty Optional if a string is null, maxDistance is negative or the distance exceeds it
+     */
+    public static Optional<Double> Levenshtein(String a, String b, int maxDistance) {
+        if (a == null || b == null || maxDistance < 0) {
+            return Optional.empty();
         }
+        int distance = EditDistance.bounded(a, b, Math.min(maxDistance, Integer.MAX_VALUE - 1));
+        return distance <= maxDistance ? Optional.of((double)(distance)) : Optional.empty();
     }
 }
@@ -0,0 +1,344 @@
+package com.lugolbis.mathematics;
+
+import java.util.Arrays;
+
+/**
+ * Levenshtein distance between two strings, compared char by char.
+ * The common prefix and suffix are skipped first, then the shorter string is the pattern of the bit-parallel
+ * algorithm of Myers : the vertical differences of a column of the dynamic programming table are kept in
+ * 64-bit words, so a char of the text updates 64 cells with a few logical operations.
+ * Up to 64 chars a single word is used, longer patterns are split in blocks of 64 rows (Hyyrö).
+ * The bounded variant stops as soon as the distance is known to exceed maxDistance, and when the band of
+ * width 2 × maxDistance + 1 around the diagonal is narrow it runs on the dynamic programming kept on two
+ * rows, computing only the cells of the band.
+ */
+final class EditDistance {
+    /** Longest pattern handled by the bit-parallel algorithm, the number of bits of a long. */
+    static final int WORD = 64;
+
+    /** The banded dynamic programming is used when the band has less cells than this number per block of 64 rows. */
+    static final int BAND_CELLS_PER_BLOCK = 16;
+
+    private static final int TABLE = 256;
+    private static final ThreadLocal<long[]> PEQ = ThreadLocal.withInitial(() -> new long[TABLE]);
+
+    private EditDistance() {}
+
+    static int distance(CharSequence a, CharSequence b) {
+        return bounded(a, b, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * @return the distance if it is at most maxDistance, maxDistance + 1 otherwise
+     */
+    static int bounded(CharSequence a, CharSequence b, int maxDistance) {
+        CharSequence shorter = a.length() <= b.length() ? a : b;
+        CharSequence longer = a.length() <= b.length() ? b : a;
+        if (longer.length() - shorter.length() > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int start = 0;
+        int endS = shorter.length();
+        int endL = longer.length();
+        while (start < endS && shorter.charAt(start) == longer.charAt(start)) {
+            start++;
+        }
+        while (endS > start && shorter.charAt(endS - 1) == longer.charAt(endL - 1)) {
+            endS--;
+            endL--;
+        }
+
+        int n = endS - start;
+        int blocks = (n + WORD - 1) / WORD;
+        int result;
+        if (n == 0) {
+            result = endL - start;
+        }
+        else if (blocks == 1) {
+            result = myers(shorter, start, endS, longer, start, endL, maxDistance);
+        }
+        else if ((long)(maxDistance) * 2 + 1 < (long)(blocks) * BAND_CELLS_PER_BLOCK) {
+            result = banded(shorter, start, endS, longer, start, endL, maxDistance);
+        }
+        else {
+            result = myersBlocks(shorter, start, endS, longer, start, endL, maxDistance);
+        }
+        return Math.min(result, maxDistance + 1);
+    }
+
+    /**
+     * Bit-parallel distance (Myers 1999, as formulated by Hyyrö) : the vertical differences of a column
+     * of the table are kept as two bit vectors, Pv for the +1 and Mv for the -1.
+     */
+    static int myers(
+        CharSequence pattern, int patternStart, int patternEnd,
+        CharSequence text, int textStart, int textEnd, int maxDistance
+    ) {
+        int m = patternEnd - patternStart;
+        long[] peq = PEQ.get();
+        boolean wide = fill(peq, pattern, patternStart, m);
+        int score = myers(peq, wide, pattern, patternStart, m, text, textStart, textEnd, maxDistance);
+
+        for (int index=0; index < m; index++) {
+            char value = pattern.charAt(patternStart + index);
+            if (value < TABLE) {
+                peq[value] = 0L;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Set in peq[c] the bits of the positions of c in the pattern, for the chars c under TABLE.
+     * @return true if the pattern has chars from TABLE up, their masks are computed when they are met
+     */
+    private static boolean fill(long[] peq, CharSequence pattern, int patternStart, int m) {
+        boolean wide = false;
+        for (int index=0; index < m; index++) {
+            char value = pattern.charAt(patternStart + index);
+            if (value < TABLE) {
+                peq[value] |= 1L << index;
+            }
+            else {
+                wide = true;
+            }
+        }
+        return wide;
+    }
+
+    /**
+     * It stops when the score minus the chars left of the text exceeds maxDistance, the distance can't get back under it.
+     */
+    private static int myers(
+        long[] peq, boolean wide, CharSequence pattern, int patternStart, int m,
+        CharSequence text, int textStart, int textEnd, int maxDistance
+    ) {
+        long last = 1L << (m - 1);
+        long pv = -1L;
+        long mv = 0L;
+        int score = m;
+
+        for (int position=textStart; position < textEnd; position++) {
+            char value = text.charAt(position);
+            long eq = value < TABLE ? peq[value] : (wide ? match(pattern, patternStart, m, value) : 0L);
+
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) {
+                score++;
+            }
+            else if ((mh & last) != 0) {
+                score--;
+            }
+            ph = (ph << 1) | 1L;
+            mh = mh << 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+
+            if (score - (textEnd - position - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * String compared to many others, like the query of a search : the masks of its chars are computed once.
+     */
+    static final class Pattern {
+        private final String pattern;
+        private final long[] peq;
+        private final boolean wide;
+
+        Pattern(String pattern) {
+            this.pattern = pattern;
+            if (pattern.length() > 0 && pattern.length() <= WORD) {
+                this.peq = new long[TABLE];
+                this.wide = fill(peq, pattern, 0, pattern.length());
+            }
+            else {
+                this.peq = null;
+                this.wide = false;
+            }
+        }
+
+        /**
+         * @return the distance to the text if it is at most maxDistance, maxDistance + 1 otherwise
+         */
+        int bounded(CharSequence text, int maxDistance) {
+            return bounded(text, 0, text.length(), maxDistance);
+        }
+
+        /**
+         * Same as bounded on the chars [start, end[ of the text.
+         */
+        int bounded(CharSequence text, int start, int end, int maxDistance) {
+            if (peq == null) {
+                return EditDistance.bounded(pattern, text.subSequence(start, end), maxDistance);
+            }
+            if (Math.abs(end - start - pattern.length()) > maxDistance) {
+                return maxDistance + 1;
+            }
+            int score = myers(peq, wide, pattern, 0, pattern.length(), text, start, end, maxDistance);
+            return Math.min(score, maxDistance + 1);
+        }
+    }
+
+    /**
+     * Myers for patterns longer than a word : the column is split in blocks of 64 rows, processed from
+     * the top, each block passing the horizontal difference of its last row to the next one.
+     * The last block reads the row of the last char of the pattern, the bits above it are ignored.
+     */
+    static int myersBlocks(
+        CharSequence pattern, int patternStart, int patternEnd,
+        CharSequence text, int textStart, int textEnd, int maxDistance
+    ) {
+        int m = patternEnd - patternStart;
+        int blocks = (m + WORD - 1) / WORD;
+        long[] peq = new long[blocks * TABLE];
+        boolean wide = false;
+        for (int index=0; index < m; index++) {
+            char value = pattern.charAt(patternStart + index);
+            if (value < TABLE) {
+                peq[value * blocks + index / WORD] |= 1L << (index % WORD);
+            }
+            else {
+                wide = true;
+            }
+        }
+
+        long[] pvs = new long[blocks];
+        long[] mvs = new long[blocks];
+        Arrays.fill(pvs, -1L);
+        long high = 1L << (WORD - 1);
+        long last = 1L << ((m - 1) % WORD);
+        int score = m;
+
+        for (int position=textStart; position < textEnd; position++) {
+            char value = text.charAt(position);
+            int hin = 1;
+
+            for (int block=0; block < blocks; block++) {
+                long eq;
+                if (value < TABLE) {
+                    eq = peq[value * blocks + block];
+                }
+                else if (wide) {
+                    int first = patternStart + block * WORD;
+                    eq = match(pattern, first, Math.min(WORD, patternEnd - first), value);
+                }
+                else {
+                    eq = 0L;
+                }
+                long pv = pvs[block];
+                long mv = mvs[block];
+                long bit = block == blocks - 1 ? last : high;
+
+                long xv = eq | mv;
+                if (hin < 0) {
+                    eq |= 1L;
+                }
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+
+                int hout = (ph & bit) != 0 ? 1 : ((mh & bit) != 0 ? -1 : 0);
+                ph <<= 1;
+                mh <<= 1;
+                if (hin < 0) {
+                    mh |= 1L;
+                }
+                else if (hin > 0) {
+                    ph |= 1L;
+                }
+                pvs[block] = mh | ~(xv | ph);
+                mvs[block] = ph & xv;
+                hin = hout;
+            }
+            score += hin;
+
+            if (score - (textEnd - position - 1) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        return score;
+    }
+
+    private static long match(CharSequence pattern, int patternStart, int m, char value) {
+        long mask = 0L;
+        for (int index=0; index < m; index++) {
+            if (pattern.charAt(patternStart + index) == value) {
+                mask |= 1L << index;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Dynamic programming on two rows of the length of the shorter string, restricted to the cells
+     * at most maxDistance away from the diagonal. It stops when every cell of a row exceeds maxDistance.
+     */
+    static int banded(
+        CharSequence shorter, int shorterStart, int shorterEnd,
+        CharSequence longer, int longerStart, int longerEnd, int maxDistance
+    ) {
+        int n = shorterEnd - shorterStart;
+        int m = longerEnd - longerStart;
+        int band = Math.min(maxDistance, m);
+        int outside = band + 1;
+
+        char[] columns = new char[n];
+        for (int j=0; j < n; j++) {
+            columns[j] = shorter.charAt(shorterStart + j);
+        }
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j=0; j <= n; j++) {
+            previous[j] = j <= band ? j : outside;
+        }
+
+        for (int i=1; i <= m; i++) {
+            int low = Math.max(1, i - band);
+            int high = (long)(i) + band < n ? i + band : n;
+            char value = longer.charAt(longerStart + i - 1);
+
+            int left = low == 1 && i <= band ? i : outside;
+            current[low - 1] = left;
+            int minimum = left;
+            int diagonal = previous[low - 1];
+            for (int j=low; j <= high; j++) {
+                int above = previous[j];
+                int cell = diagonal + (columns[j - 1] == value ? 0 : 1);
+                if (above + 1 < cell) {
+                    cell = above + 1;
+                }
+                if (left + 1 < cell) {
+                    cell = left + 1;
+                }
+                if (cell > outside) {
+                    cell = outside;
+                }
+                current[j] = cell;
+                if (cell < minimum) {
+                    minimum = cell;
+                }
+                diagonal = above;
+                left = cell;
+            }
+            if (high < n) {
+                current[high + 1] = outside;
+            }
+            if (minimum > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+}
@@ -0,0 +1,170 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Element-wise operations on primitive arrays, written into a preallocated destination.
+ * The destination can be one of the inputs to compute in place.
+ * Above PARALLEL_THRESHOLD values the arrays are split in ranges computed on the common ForkJoinPool.
+ * Every operation returns the destination, or an empty Optional if the lengths don't match.
+ */
+public final class ElementWise {
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK = 1 << 14;
+
+    private ElementWise() {}
+
+    private interface RangeOperation {
+        void run(int start, int end);
+    }
+
+    private static class Range extends RecursiveAction {
+        private final RangeOperation operation;
+        private final int start;
+        private final int end;
+
+        private Range(RangeOperation operation, int start, int end) {
+            this.operation = operation;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > CHUNK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Range(operation, start, middle), new Range(operation, middle, end));
+            }
+            else {
+                operation.run(start, end);
+            }
+        }
+    }
+
+    private static void forRange(int length, RangeOperation operation) {
+        if (length < PARALLEL_THRESHOLD) {
+            operation.run(0, length);
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(new Range(operation, 0, length));
+        }
+    }
+
+    private static boolean sameLength(double[]... arrays) {
+        for (double[] array : arrays) {
+            if (array == null || array.length != arrays[0].length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * destination[i] = a[i] + b[i]
+     */
+    public static Optional<double[]> add(double[] a, double[] b, double[] destination) {
+        if (!sameLength(a, b, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = a[index] + b[index];
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * destination[i] = a[i] - b[i]
+     */
+    public static Optional<double[]> sub(double[] a, double[] b, double[] destination) {
+        if (!sameLength(a, b, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = a[index] - b[index];
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * destination[i] = a[i] * k
+     */
+    public static Optional<double[]> scale(double[] a, double k, double[] destination) {
+        if (!sameLength(a, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = a[index] * k;
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * Fused multiply-add : destination[i] = a[i] * b[i] + c[i]
+     */
+    public static Optional<double[]> fma(double[] a, double[] b, double[] c, double[] destination) {
+        if (!sameLength(a, b, c, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = Math.fma(a[index], b[index], c[index]);
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * destination[i] = op(a[i], b[i])
+     */
+    public static Optional<double[]> apply(double[] a, double[] b, double[] destination, DoubleBinaryOperator op) {
+        if (op == null || !sameLength(a, b, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = op.applyAsDouble(a[index], b[index]);
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * Scalar broadcast : destination[i] = op(a[i], k)
+     */
+    public static Optional<double[]> apply(double[] a, double k, double[] destination, DoubleBinaryOperator op) {
+        if (op == null || !sameLength(a, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = op.applyAsDouble(a[index], k);
+            }
+        });
+        return Optional.of(destination);
+    }
+
+    /**
+     * destination[i] = op(a[i])
+     */
+    public static Optional<double[]> map(double[] a, double[] destination, DoubleUnaryOperator op) {
+        if (op == null || !sameLength(a, destination)) {
+            return Optional.empty();
+        }
+        forRange(destination.length, (start, end) -> {
+            for (int index=start; index < end; index++) {
+                destination[index] = op.applyAsDouble(a[index]);
+            }
+        });
+        return Optional.of(destination);
+    }
+}
@@ -0,0 +1,343 @@
+package com.lugolbis.mathematics;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Lazy element-wise expression over matrices and vectors, for example (A + B) * k - C :
+ *   Expression.of(A).plus(Expression.of(B)).times(k).minus(Expression.of(C)).evaluate()
+ * Nothing is computed until evaluate, then all the stages run in a single pass over blocks of BLOCK values
+ * that stay in the L1 cache, so no intermediate matrix is ever allocated.
+ * An expression built from operands of different shapes is invalid and evaluates to an empty Optional.
+ */
+public abstract class Expression {
+    static final int BLOCK = 1024;
+
+    final int rows;
+    final int columns;
+
+    private Expression(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Write the values [start, start + length[ of the expression, in row-major order, in out[0 .. length[.
+     */
+    abstract void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch);
+
+    public static Expression of(DenseMatrix matrix) {
+        return matrix != null ? new Leaf(matrix) : Invalid.INSTANCE;
+    }
+
+    public static Expression of(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? new Leaf(dense.get()) : Invalid.INSTANCE;
+    }
+
+    /**
+     * A Row vector is a (1 × n) operand and a Column vector a (n × 1) operand.
+     */
+    public static Expression of(Vector vector) {
+        if (vector == null) {
+            return Invalid.INSTANCE;
+        }
+        double[] values = vector.toArray();
+        return vector.getType() == Vector.Type.Row
+            ? new Leaf(new DenseMatrix(values, 1, values.length))
+            : new Leaf(new DenseMatrix(values, values.length, 1));
+    }
+
+    public boolean isValid() {
+        return true;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public Expression plus(Expression other) {
+        return Binary.of(this, other, Operation.ADD, null);
+    }
+
+    public Expression minus(Expression other) {
+        return Binary.of(this, other, Operation.SUB, null);
+    }
+
+    /**
+     * Hadamard (element-wise) product.
+     */
+    public Expression times(Expression other) {
+        return Binary.of(this, other, Operation.MULT, null);
+    }
+
+    public Expression combine(Expression other, DoubleBinaryOperator op) {
+        return op != null ? Binary.of(this, other, Operation.CUSTOM, op) : Invalid.INSTANCE;
+    }
+
+    public Expression plus(double k) {
+        return new Scalar(this, k, Operation.ADD);
+    }
+
+    public Expression times(double k) {
+        return new Scalar(this, k, Operation.MULT);
+    }
+
+    public Expression map(DoubleUnaryOperator op) {
+        return op != null ? new Unary(this, op) : Invalid.INSTANCE;
+    }
+
+    /**
+     * Compute the expression in one fused pass, in parallel above ElementWise.PARALLEL_THRESHOLD values.
+     */
+    public Optional<DenseMatrix> evaluate() {
+        if (!isValid()) {
+            return Optional.empty();
+        }
+        int size = rows * columns;
+        double[] result = new double[size];
+        Evaluation task = new Evaluation(this, result, 0, (size + BLOCK - 1) / BLOCK);
+
+        if (size < ElementWise.PARALLEL_THRESHOLD) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return Optional.of(new DenseMatrix(result, rows, columns));
+    }
+
+    public Optional<Matrix> evaluateMatrix() {
+        Optional<DenseMatrix> result = evaluate();
+        return result.isPresent() ? Optional.of(result.get().toMatrix()) : Optional.empty();
+    }
+
+    /**
+     * @return a Column vector for a (n × 1) expression, a Row vector for a (1 × n) one, else an empty Optional
+     */
+    public Optional<Vector> evaluateVector() {
+        if (!isValid() || (rows != 1 && columns != 1)) {
+            return Optional.empty();
+        }
+        Vector.Type type = columns == 1 ? Vector.Type.Column : Vector.Type.Row;
+        return Vector.newVector(Matrix.box(evaluate().get().data()), type);
+    }
+
+    private static class Evaluation extends RecursiveAction {
+        private final Expression expression;
+        private final double[] result;
+        private final int startBlock;
+        private final int endBlock;
+
+        private Evaluation(Expression expression, double[] result, int startBlock, int endBlock) {
+            this.expression = expression;
+            this.result = result;
+            this.startBlock = startBlock;
+            this.endBlock = endBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (endBlock - startBlock > 16) {
+                int middle = (startBlock + endBlock) >>> 1;
+                invokeAll(
+                    new Evaluation(expression, result, startBlock, middle),
+                    new Evaluation(expression, result, middle, endBlock)
+                );
+                return;
+            }
+
+            ArrayDeque<double[]> scratch = new ArrayDeque<>();
+            double[] buffer = new double[BLOCK];
+            for (int block=startBlock; block < endBlock; block++) {
+                int start = block * BLOCK;
+                int length = Math.min(BLOCK, result.length - start);
+
+                expression.fill(start, length, buffer, scratch);
+                System.arraycopy(buffer, 0, result, start, length);
+            }
+        }
+    }
+
+    private enum Operation {
+        ADD,
+        SUB,
+        MULT,
+        CUSTOM
+    }
+
+    private static class Invalid extends Expression {
+        private static final Invalid INSTANCE = new Invalid();
+
+        private Invalid() {
+            super(0, 0);
+        }
+
+        @Override
+        public boolean isValid() {
+            return false;
+        }
+
+        @Override
+        void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch) {}
+    }
+
+    private static class Leaf extends Expression {
+        private final DenseMatrix matrix;
+
+        private Leaf(DenseMatrix matrix) {
+            super(matrix.getRowCount(), matrix.getColumns());
+            this.matrix = matrix;
+        }
+
+        @Override
+        void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch) {
+            if (matrix.isContiguous()) {
+                System.arraycopy(matrix.data(), start, out, 0, length);
+                return;
+            }
+            for (int index=0; index < length; index++) {
+                int position = start + index;
+                out[index] = matrix.get(position / columns, position % columns);
+            }
+        }
+    }
+
+    private static class Binary extends Expression {
+        private final Expression left;
+        private final Expression right;
+        private final Operation operation;
+        private final DoubleBinaryOperator op;
+
+        private Binary(Expression left, Expression right, Operation operation, DoubleBinaryOperator op) {
+            super(left.rows, left.columns);
+            this.left = left;
+            this.right = right;
+            this.operation = operation;
+            this.op = op;
+        }
+
+        private static Expression of(Expression left, Expression right, Operation operation, DoubleBinaryOperator op) {
+            if (
+                left == null || right == null || !left.isValid() || !right.isValid()
+                || left.rows != right.rows || left.columns != right.columns
+            ) {
+                return Invalid.INSTANCE;
+            }
+            return new Binary(left, right, operation, op);
+        }
+
+        @Override
+        void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch) {
+            left.fill(start, length, out, scratch);
+
+            double[] values;
+            int offset;
+            double[] borrowed = null;
+            if (right instanceof Leaf && ((Leaf)(right)).matrix.isContiguous()) {
+                // Read the operand in place instead of copying it in a scratch block
+                values = ((Leaf)(right)).matrix.data();
+                offset = start;
+            }
+            else {
+                borrowed = scratch.isEmpty() ? new double[BLOCK] : scratch.pop();
+                right.fill(start, length, borrowed, scratch);
+                values = borrowed;
+                offset = 0;
+            }
+
+            switch (operation) {
+                case ADD :
+                    for (int index=0; index < length; index++) {
+                        out[index] += values[offset + index];
+                    }
+                    break;
+                case SUB :
+                    for (int index=0; index < length; index++) {
+                        out[index] -= values[offset + index];
+                    }
+                    break;
+                case MULT :
+                    for (int index=0; index < length; index++) {
+                        out[index] *= values[offset + index];
+                    }
+                    break;
+                default :
+                    for (int index=0; index < length; index++) {
+                        out[index] = op.applyAsDouble(out[index], values[offset + index]);
+                    }
+            }
+
+            if (borrowed != null) {
+                scratch.push(borrowed);
+            }
+        }
+    }
+
+    private static class Scalar extends Expression {
+        private final Expression operand;
+        private final double k;
+        private final Operation operation;
+
+        private Scalar(Expression operand, double k, Operation operation) {
+            super(operand.rows, operand.columns);
+            this.operand = operand;
+            this.k = k;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean isValid() {
+            return operand.isValid();
+        }
+
+        @Override
+        void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch) {
+            operand.fill(start, length, out, scratch);
+
+            if (operation == Operation.ADD) {
+                for (int index=0; index < length; index++) {
+                    out[index] += k;
+                }
+            }
+            else {
+                for (int index=0; index < length; index++) {
+                    out[index] *= k;
+                }
+            }
+        }
+    }
+
+    private static class Unary extends Expression {
+        private final Expression operand;
+        private final DoubleUnaryOperator op;
+
+        private Unary(Expression operand, DoubleUnaryOperator op) {
+            super(operand.rows, operand.columns);
+            this.operand = operand;
+            this.op = op;
+        }
+
+        @Override
+        public boolean isValid() {
+            return operand.isValid();
+        }
+
+        @Override
+        void fill(int start, int length, double[] out, ArrayDeque<double[]> scratch) {
+            operand.fill(start, length, out, scratch);
+
+            for (int index=0; index < length; index++) {
+                out[index] = op.applyAsDouble(out[index]);
+            }
+        }
+    }
+}
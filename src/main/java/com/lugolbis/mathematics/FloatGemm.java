@@ -0,0 +1,106 @@
+package com.lugolbis.mathematics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Single precision matrix multiplication : C = A × B.
+ * B is packed once transposed so every value of C is a dot product between two contiguous rows.
+ * The rows of C are split in tiles computed in parallel, inside a tile the dot products run over
+ * (BLOCK_K)-long slices so a tile of A and a block of Bᵀ stay in cache, and the partial sums of the
+ * slices are added in double. With Accumulation.DOUBLE the slices are accumulated in double too.
+ */
+final class FloatGemm {
+    static final int BLOCK_K = 256;
+    static final int BLOCK_N = 64;
+    static final int TILE_ROWS = 32;
+
+    private FloatGemm() {}
+
+    /**
+     * @param c is a row-major array of size (A rows × B columns) where the product is written
+     */
+    static void multiply(DenseFloatMatrix matrixA, DenseFloatMatrix matrixB, float[] c, Accumulation accumulation) {
+        int m = matrixA.getRowCount();
+        int n = matrixB.getColumns();
+        int k = matrixA.getColumns();
+
+        float[] b = matrixB.data();
+        float[] transposed = new float[n * k];
+        for (int indexK=0; indexK < k; indexK++) {
+            for (int indexN=0; indexN < n; indexN++) {
+                transposed[indexN*k + indexK] = b[indexK*n + indexN];
+            }
+        }
+
+        Tile task = new Tile(matrixA.data(), transposed, c, n, k, accumulation == Accumulation.DOUBLE, 0, m);
+        if ((long)(m) * n * k < Gemm.PARALLEL_THRESHOLD || m <= TILE_ROWS) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private static class Tile extends RecursiveAction {
+        private final float[] a;
+        private final float[] transposedB;
+        private final float[] c;
+        private final int n;
+        private final int k;
+        private final boolean doubleAccumulation;
+        private final int start;
+        private final int end;
+
+        private Tile(float[] a, float[] transposedB, float[] c, int n, int k, boolean doubleAccumulation, int start, int end) {
+            this.a = a;
+            this.transposedB = transposedB;
+            this.c = c;
+            this.n = n;
+            this.k = k;
+            this.doubleAccumulation = doubleAccumulation;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > TILE_ROWS) {
+                int middle = start + ((end - start) / TILE_ROWS / 2) * TILE_ROWS;
+                if (middle == start) {
+                    middle = start + TILE_ROWS;
+                }
+                invokeAll(
+                    new Tile(a, transposedB, c, n, k, doubleAccumulation, start, middle),
+                    new Tile(a, transposedB, c, n, k, doubleAccumulation, middle, end)
+                );
+                return;
+            }
+
+            double[] sums = new double[(end - start) * n];
+            for (int blockK=0; blockK < k; blockK += BLOCK_K) {
+                int length = Math.min(blockK + BLOCK_K, k) - blockK;
+
+                for (int blockN=0; blockN < n; blockN += BLOCK_N) {
+                    int endN = Math.min(blockN + BLOCK_N, n);
+
+                    for (int row=start; row < end; row++) {
+                        int positionA = row*k + blockK;
+                        int positionSums = (row - start) * n;
+
+                        for (int indexN=blockN; indexN < endN; indexN++) {
+                            int positionB = indexN*k + blockK;
+                            sums[positionSums + indexN] += doubleAccumulation
+                                ? Kernels.dotDouble(a, positionA, transposedB, positionB, length)
+                                : Kernels.dot(a, positionA, transposedB, positionB, length);
+                        }
+                    }
+                }
+            }
+
+            for (int index=0; index < sums.length; index++) {
+                c[start*n + index] = (float)(sums[index]);
+            }
+        }
+    }
+}
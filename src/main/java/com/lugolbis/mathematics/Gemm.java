@@ -0,0 +1,185 @@
+package com.lugolbis.mathematics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked matrix multiplication kernel : C += A × B.
+ * B is packed once in a row-major buffer, then the rows of C are split in tiles computed in parallel.
+ * Inside a tile the loops follow the i-k-j order over (BLOCK_K × BLOCK_N) panels of B that stay in L2,
+ * and four rows of A are processed together so each value of B loaded is used four times.
+ * The innermost loop is Kernels.axpy4, vectorized when the Vector API is available.
+ * When B is a transposed view (its columns are contiguous) and the rows of A are contiguous,
+ * B isn't packed : each value of C is a dot product between a row of A and a stored row of B.
+ */
+final class Gemm {
+    static final int BLOCK_K = 128;
+    static final int BLOCK_N = 256;
+    static final int TILE_ROWS = 32;
+
+    /** Under this number of multiply-add the product is computed by the calling thread only. */
+    static final long PARALLEL_THRESHOLD = 1L << 18;
+
+    private Gemm() {}
+
+    /**
+     * @param c is a row-major array of size (A rows × B columns) where the product is accumulated
+     */
+    static void multiply(DenseMatrix matrixA, DenseMatrix matrixB, double[] c) {
+        multiply(1.0, matrixA, matrixB, c, 0, matrixB.getColumns());
+    }
+
+    /**
+     * C += alpha × A × B, where C is the block of 'c' starting at cOffset with rows cRowStride apart.
+     * C can be a block of the array backing A or B as long as they don't overlap.
+     */
+    static void multiply(double alpha, DenseMatrix matrixA, DenseMatrix matrixB, double[] c, int cOffset, int cRowStride) {
+        int m = matrixA.getRowCount();
+        int n = matrixB.getColumns();
+        int k = matrixA.getColumns();
+
+        Tile task;
+        if (matrixB.rowStride() == 1 && matrixB.columnStride() != 1 && matrixA.columnStride() == 1) {
+            task = new Tile(alpha, matrixA, matrixB, null, c, cOffset, cRowStride, n, k, 0, m);
+        }
+        else {
+            double[] b = matrixB.isContiguous() ? matrixB.data() : matrixB.toArray();
+            task = new Tile(alpha, matrixA, null, b, c, cOffset, cRowStride, n, k, 0, m);
+        }
+
+        if ((long)(m) * n * k < PARALLEL_THRESHOLD || m <= TILE_ROWS) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private static class Tile extends RecursiveAction {
+        private final double alpha;
+        private final DenseMatrix matrixA;
+        private final DenseMatrix transposedB;
+        private final double[] b;
+        private final double[] c;
+        private final int cOffset;
+        private final int cRowStride;
+        private final int n;
+        private final int k;
+        private final int start;
+        private final int end;
+
+        private Tile(
+            double alpha, DenseMatrix matrixA, DenseMatrix transposedB, double[] b,
+            double[] c, int cOffset, int cRowStride, int n, int k, int start, int end
+        ) {
+            this.alpha = alpha;
+            this.matrixA = matrixA;
+            this.transposedB = transposedB;
+            this.b = b;
+            this.c = c;
+            this.cOffset = cOffset;
+            this.cRowStride = cRowStride;
+            this.n = n;
+            this.k = k;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > TILE_ROWS) {
+                int middle = start + ((end - start) / TILE_ROWS / 2) * TILE_ROWS;
+                if (middle == start) {
+                    middle = start + TILE_ROWS;
+                }
+                invokeAll(
+                    new Tile(alpha, matrixA, transposedB, b, c, cOffset, cRowStride, n, k, start, middle),
+                    new Tile(alpha, matrixA, transposedB, b, c, cOffset, cRowStride, n, k, middle, end)
+                );
+            }
+            else if (transposedB != null) {
+                multiplyRowsTransposed(alpha, matrixA, transposedB, c, cOffset, cRowStride, n, k, start, end);
+            }
+            else {
+                multiplyRows(alpha, matrixA, b, c, cOffset, cRowStride, n, k, start, end);
+            }
+        }
+    }
+
+    private static void multiplyRows(
+        double alpha, DenseMatrix matrixA, double[] b, double[] c, int cOffset, int cRowStride,
+        int n, int k, int start, int end
+    ) {
+        double[] a = matrixA.data();
+        int aOffset = matrixA.offset();
+        int aRowStride = matrixA.rowStride();
+        int aColumnStride = matrixA.columnStride();
+
+        for (int blockK=0; blockK < k; blockK += BLOCK_K) {
+            int endK = Math.min(blockK + BLOCK_K, k);
+
+            for (int blockN=0; blockN < n; blockN += BLOCK_N) {
+                int endN = Math.min(blockN + BLOCK_N, n);
+                int row = start;
+
+                for (; row + 3 < end; row += 4) {
+                    int c0 = cOffset + row*cRowStride;
+                    int c1 = c0 + cRowStride;
+                    int c2 = c1 + cRowStride;
+                    int c3 = c2 + cRowStride;
+                    int a0 = aOffset + row*aRowStride + blockK*aColumnStride;
+
+                    for (int indexK=blockK; indexK < endK; indexK++) {
+                        Kernels.axpy4(
+                            alpha * a[a0], alpha * a[a0 + aRowStride],
+                            alpha * a[a0 + 2*aRowStride], alpha * a[a0 + 3*aRowStride],
+                            b, indexK*n + blockN,
+                            c, c0 + blockN, c1 + blockN, c2 + blockN, c3 + blockN,
+                            endN - blockN
+                        );
+                        a0 += aColumnStride;
+                    }
+                }
+
+                for (; row < end; row++) {
+                    int c0 = cOffset + row*cRowStride;
+                    int a0 = aOffset + row*aRowStride + blockK*aColumnStride;
+
+                    for (int indexK=blockK; indexK < endK; indexK++) {
+                        Kernels.axpy(alpha * a[a0], b, indexK*n + blockN, c, c0 + blockN, endN - blockN);
+                        a0 += aColumnStride;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyRowsTransposed(
+        double alpha, DenseMatrix matrixA, DenseMatrix matrixB, double[] c, int cOffset, int cRowStride,
+        int n, int k, int start, int end
+    ) {
+        double[] a = matrixA.data();
+        double[] b = matrixB.data();
+        int aOffset = matrixA.offset();
+        int aRowStride = matrixA.rowStride();
+        int bOffset = matrixB.offset();
+        int bColumnStride = matrixB.columnStride();
+
+        for (int blockK=0; blockK < k; blockK += BLOCK_K) {
+            int length = Math.min(blockK + BLOCK_K, k) - blockK;
+
+            for (int blockN=0; blockN < n; blockN += TILE_ROWS) {
+                int endN = Math.min(blockN + TILE_ROWS, n);
+
+                for (int row=start; row < end; row++) {
+                    int positionA = aOffset + row*aRowStride + blockK;
+                    int positionC = cOffset + row*cRowStride;
+
+                    for (int indexN=blockN; indexN < endN; indexN++) {
+                        c[positionC + indexN] += alpha * Kernels.dot(a, positionA, b, bOffset + indexN*bColumnStride + blockK, length);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.lugolbis.mathematics;
+
+/**
+ * Size of the intersection of two sets given as strictly increasing arrays.
+ * Sets of close sizes are merged by Kernels.intersection, block by block with the Vector API. When a set
+ * is much smaller than the other, each of its elements is searched in the larger one by galloping
+ * (exponential then binary search) from the previous position.
+ */
+final class Intersection {
+    /** From this ratio between the sizes of the sets the galloping search is faster than the merge. */
+    static final int GALLOP_RATIO = 32;
+
+    private Intersection() {}
+
+    static boolean isSet(int[] values) {
+        for (int index=1; index < values.length; index++) {
+            if (values[index - 1] >= values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isSet(long[] values) {
+        for (int index=1; index < values.length; index++) {
+            if (values[index - 1] >= values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int size(int[] a, int[] b) {
+        int[] small = a.length <= b.length ? a : b;
+        int[] large = a.length <= b.length ? b : a;
+        if (small.length == 0) {
+            return 0;
+        }
+        if (large.length / small.length >= GALLOP_RATIO) {
+            return gallop(small, large);
+        }
+        return Kernels.intersection(small, large);
+    }
+
+    static int size(long[] a, long[] b) {
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = a.length <= b.length ? b : a;
+        if (small.length == 0) {
+            return 0;
+        }
+        if (large.length / small.length >= GALLOP_RATIO) {
+            return gallop(small, large);
+        }
+        return Kernels.intersection(small, large);
+    }
+
+    /**
+     * The elements of large before 'low' are all under the searched value : the step doubles until
+     * an element reaches it, then the binary search runs between the last two probes.
+     */
+    private static int gallop(int[] small, int[] large) {
+        int count = 0;
+        int low = 0;
+        for (int value : small) {
+            int probe = low;
+            int step = 1;
+            while (probe < large.length && large[probe] < value) {
+                low = probe + 1;
+                probe += step;
+                step <<= 1;
+            }
+            int high = Math.min(probe, large.length);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (large[middle] < value) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+
+            if (low == large.length) {
+                break;
+            }
+            if (large[low] == value) {
+                count++;
+                low++;
+            }
+        }
+        return count;
+    }
+
+    private static int gallop(long[] small, long[] large) {
+        int count = 0;
+        int low = 0;
+        for (long value : small) {
+            int probe = low;
+            int step = 1;
+            while (probe < large.length && large[probe] < value) {
+                low = probe + 1;
+                probe += step;
+                step <<= 1;
+            }
+            int high = Math.min(probe, large.length);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (large[middle] < value) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+
+            if (low == large.length) {
+                break;
+            }
+            if (large[low] == value) {
+                count++;
+                low++;
+            }
+        }
+        return count;
+    }
+}
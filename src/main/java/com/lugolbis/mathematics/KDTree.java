@@ -0,0 +1,119 @@
+package com.lugolbis.mathematics;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * KD-tree : each node splits its points at the median of the axis where they are the most spread, and a query
+ * only visits the other side of a split when the hyperplane is closer than its k-th best distance so far.
+ * It prunes well in low dimensions, up to about 10, above that BallTree is usually faster.
+ * The points are copied in the order of the leaves, so a leaf is scanned on contiguous memory,
+ * and the nodes are numbered in preorder : the left child of a node is the next node.
+ */
+public class KDTree implements SpatialIndex {
+    private final int count;
+    private final int dimensions;
+    /** The coordinates of the points in the order of the leaves. */
+    private final double[] points;
+    /** For each position in the leaves, the index of the point in the list the tree was built from. */
+    private final int[] ids;
+
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    /** The axis of the split, -1 for a leaf. */
+    private final int[] axis;
+    private final double[] split;
+    private final int[] right;
+    private int nodes;
+
+    private KDTree(double[] values, int count, int dimensions) {
+        this.count = count;
+        this.dimensions = dimensions;
+        int capacity = Partition.maxNodes(count);
+        this.nodeStart = new int[capacity];
+        this.nodeEnd = new int[capacity];
+        this.axis = new int[capacity];
+        this.split = new double[capacity];
+        this.right = new int[capacity];
+
+        int[] order = new int[count];
+        for (int index=0; index < count; index++) {
+            order[index] = index;
+        }
+        build(values, order, 0, count);
+        this.points = Partition.reorder(values, dimensions, order);
+        this.ids = order;
+    }
+
+    private int build(double[] values, int[] order, int start, int end) {
+        int node = nodes++;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+        if (end - start <= Partition.LEAF_SIZE) {
+            axis[node] = -1;
+            return node;
+        }
+
+        int middle = (start + end) >>> 1;
+        axis[node] = Partition.widestAxis(values, dimensions, order, start, end);
+        Partition.select(values, dimensions, axis[node], order, start, end, middle);
+        split[node] = values[order[middle] * dimensions + axis[node]];
+        build(values, order, start, middle);
+        right[node] = build(values, order, middle, end);
+        return node;
+    }
+
+    /**
+     * @return an empty Optional if the list is null or empty, if a point is null or if the dimensions differ
+     */
+    public static Optional<KDTree> build(List<Point> points) {
+        if (points == null || points.isEmpty() || points.get(0) == null) {
+            return Optional.empty();
+        }
+        int dimensions = points.get(0).getDimensions();
+        double[] values = Partition.pack(points, dimensions);
+        return values == null ? Optional.empty() : Optional.of(new KDTree(values, points.size(), dimensions));
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public Optional<int[]> nearest(Point query, int k) {
+        if (query == null || query.getDimensions() != dimensions || k < 1) {
+            return Optional.empty();
+        }
+        NeighborHeap heap = new NeighborHeap(Math.min(k, count));
+        search(0, query.values(), heap);
+        return Optional.of(heap.sorted());
+    }
+
+    private void search(int node, double[] query, NeighborHeap heap) {
+        if (axis[node] < 0) {
+            for (int index=nodeStart[node]; index < nodeEnd[node]; index++) {
+                heap.offer(Kernels.squaredDistance(points, index * dimensions, query, 0, dimensions), ids[index]);
+            }
+            return;
+        }
+
+        // The left points are <= split and the right ones >= split
+        double difference = query[axis[node]] - split[node];
+        int near = difference < 0 ? node + 1 : right[node];
+        int far = difference < 0 ? right[node] : node + 1;
+        search(near, query, heap);
+        if (difference * difference <= heap.worst()) {
+            search(far, query, heap);
+        }
+    }
+
+    public String toString() {
+        return String.format("KDTree[%d points of %d dimensions]", count, dimensions);
+    }
+}
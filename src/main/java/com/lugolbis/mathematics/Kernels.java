@@ -0,0 +1,295 @@
+package com.lugolbis.mathematics;
+
+/**
+ * Inner loops shared by the matrix and vector operations.
+ * When the module jdk.incubator.vector is enabled (--add-modules jdk.incubator.vector) they run on
+ * SimdKernels, otherwise on the scalar loops below. Set the property 'lugolbis.simd' to false to force the scalar loops.
+ */
+final class Kernels {
+    private static final boolean SIMD = detectSimd();
+
+    private Kernels() {}
+
+    private static boolean detectSimd() {
+        if ("false".equals(System.getProperty("lugolbis.simd"))) {
+            return false;
+        }
+        try {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return false;
+            }
+            return SimdKernels.dot(new double[] {1.0}, 0, new double[] {1.0}, 0, 1) == 1.0;
+        }
+        catch (LinkageError error) {
+            return false;
+        }
+    }
+
+    static boolean isSimd() {
+        return SIMD;
+    }
+
+    /**
+     * @return the sum of a[aOffset + i] * b[bOffset + i] for i in [0, length[
+     */
+    static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.dot(a, aOffset, b, bOffset, length);
+        }
+
+        double result = 0;
+        for (int index=0; index < length; index++) {
+            result += a[aOffset + index] * b[bOffset + index];
+        }
+        return result;
+    }
+
+    /**
+     * @return the sum of (a[aOffset + i] - b[bOffset + i])² for i in [0, length[
+     */
+    static double squaredDistance(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.squaredDistance(a, aOffset, b, bOffset, length);
+        }
+
+        double result = 0;
+        for (int index=0; index < length; index++) {
+            double difference = a[aOffset + index] - b[bOffset + index];
+            result += difference * difference;
+        }
+        return result;
+    }
+
+    /**
+     * @return the sum of |a[aOffset + i] - b[bOffset + i]| for i in [0, length[
+     */
+    static double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.manhattan(a, aOffset, b, bOffset, length);
+        }
+
+        double result = 0;
+        for (int index=0; index < length; index++) {
+            result += Math.abs(a[aOffset + index] - b[bOffset + index]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the maximum of |a[aOffset + i] - b[bOffset + i]| for i in [0, length[, 0 if length is 0
+     */
+    static double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.chebyshev(a, aOffset, b, bOffset, length);
+        }
+
+        double result = 0;
+        for (int index=0; index < length; index++) {
+            result = Math.max(result, Math.abs(a[aOffset + index] - b[bOffset + index]));
+        }
+        return result;
+    }
+
+    /**
+     * y[yOffset + i] += alpha * x[xOffset + i] for i in [0, length[
+     */
+    static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        if (SIMD) {
+            SimdKernels.axpy(alpha, x, xOffset, y, yOffset, length);
+            return;
+        }
+
+        for (int index=0; index < length; index++) {
+            y[yOffset + index] += alpha * x[xOffset + index];
+        }
+    }
+
+    /**
+     * Same as four axpy sharing the same x : y[yOffsetJ + i] += alphaJ * x[xOffset + i] for J in [0, 3].
+     */
+    static void axpy4(
+        double alpha0, double alpha1, double alpha2, double alpha3,
+        double[] x, int xOffset,
+        double[] y, int yOffset0, int yOffset1, int yOffset2, int yOffset3,
+        int length
+    ) {
+        if (SIMD) {
+            SimdKernels.axpy4(alpha0, alpha1, alpha2, alpha3, x, xOffset, y, yOffset0, yOffset1, yOffset2, yOffset3, length);
+            return;
+        }
+
+        for (int index=0; index < length; index++) {
+            double value = x[xOffset + index];
+            y[yOffset0 + index] += alpha0 * value;
+            y[yOffset1 + index] += alpha1 * value;
+            y[yOffset2 + index] += alpha2 * value;
+            y[yOffset3 + index] += alpha3 * value;
+        }
+    }
+
+    /**
+     * Single precision dot product, the sum is accumulated in float.
+     */
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.dot(a, aOffset, b, bOffset, length);
+        }
+
+        float result = 0;
+        for (int index=0; index < length; index++) {
+            result += a[aOffset + index] * b[bOffset + index];
+        }
+        return result;
+    }
+
+    /**
+     * Single precision dot product accumulated in double : the product of two floats is exact in double,
+     * so only the additions round, like a double dot product on the converted values.
+     */
+    static double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.dotDouble(a, aOffset, b, bOffset, length);
+        }
+
+        double result = 0;
+        for (int index=0; index < length; index++) {
+            result += (double)(a[aOffset + index]) * b[bOffset + index];
+        }
+        return result;
+    }
+
+    /**
+     * y[yOffset + i] += alpha * x[xOffset + i] for i in [0, length[, in single precision.
+     */
+    static void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        if (SIMD) {
+            SimdKernels.axpy(alpha, x, xOffset, y, yOffset, length);
+            return;
+        }
+
+        for (int index=0; index < length; index++) {
+            y[yOffset + index] += alpha * x[xOffset + index];
+        }
+    }
+
+    /**
+     * @return the number of bits set in both a[aOffset + i] and b[bOffset + i] for i in [0, length[
+     */
+    static long andBitCount(long[] a, int aOffset, long[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.andBitCount(a, aOffset, b, bOffset, length);
+        }
+
+        long result = 0;
+        for (int index=0; index < length; index++) {
+            result += Long.bitCount(a[aOffset + index] & b[bOffset + index]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of bits set in a[aOffset + i] for i in [0, length[
+     */
+    static long bitCount(long[] a, int aOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.bitCount(a, aOffset, length);
+        }
+
+        long result = 0;
+        for (int index=0; index < length; index++) {
+            result += Long.bitCount(a[aOffset + index]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the size of the intersection of two strictly increasing arrays
+     */
+    static int intersection(int[] a, int[] b) {
+        if (SIMD) {
+            return SimdKernels.intersection(a, b);
+        }
+        return merge(a, 0, b, 0);
+    }
+
+    static int intersection(long[] a, long[] b) {
+        if (SIMD) {
+            return SimdKernels.intersection(a, b);
+        }
+        return merge(a, 0, b, 0);
+    }
+
+    /**
+     * Size of the intersection of a[aStart:] and b[bStart:], strictly increasing : the comparisons only
+     * feed additions, so the loop has no branch to mispredict on the order of the elements.
+     */
+    static int merge(int[] a, int aStart, int[] b, int bStart) {
+        int count = 0;
+        int i = aStart;
+        int j = bStart;
+        while (i < a.length && j < b.length) {
+            int valueA = a[i];
+            int valueB = b[j];
+            count += valueA == valueB ? 1 : 0;
+            i += valueA <= valueB ? 1 : 0;
+            j += valueA >= valueB ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int merge(long[] a, int aStart, long[] b, int bStart) {
+        int count = 0;
+        int i = aStart;
+        int j = bStart;
+        while (i < a.length && j < b.length) {
+            long valueA = a[i];
+            long valueB = b[j];
+            count += valueA == valueB ? 1 : 0;
+            i += valueA <= valueB ? 1 : 0;
+            j += valueA >= valueB ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * signature[i] = min(signature[i], multipliers[i] * hash + increments[i]) for i in [0, signature.length[,
+     * the products wrapping around like long arithmetic.
+     */
+    static void minHash(long hash, long[] multipliers, long[] increments, long[] signature) {
+        if (SIMD) {
+            SimdKernels.minHash(hash, multipliers, increments, signature);
+            return;
+        }
+
+        for (int index=0; index < signature.length; index++) {
+            signature[index] = Math.min(signature[index], multipliers[index] * hash + increments[index]);
+        }
+    }
+
+    /**
+     * Min-max (Ruzicka) similarity : the sum of min(a[aOffset + i], b[bOffset + i]) over the sum of the max
+     * for i in [0, length[, 1 when the sum of the max isn't positive, NaN when a value is infinite or NaN.
+     */
+    static double minMax(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdKernels.minMax(a, aOffset, b, bOffset, length);
+        }
+
+        double sumMin = 0;
+        double sumMax = 0;
+        for (int index=0; index < length; index++) {
+            double valueA = a[aOffset + index];
+            double valueB = b[bOffset + index];
+            sumMin += Math.min(valueA, valueB);
+            sumMax += Math.max(valueA, valueB);
+        }
+        return ruzicka(sumMin, sumMax);
+    }
+
+    static double ruzicka(double sumMin, double sumMax) {
+        if (!Double.isFinite(sumMin) || !Double.isFinite(sumMax)) {
+            return Double.NaN;
+        }
+        return sumMax > 0 ? sumMin / sumMax : 1.0;
+    }
+}
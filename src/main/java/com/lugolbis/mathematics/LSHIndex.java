@@ -0,0 +1,291 @@
+package com.lugolbis.mathematics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Banded locality-sensitive hashing over MinHash signatures : each signature is cut in 'bands' bands of
+ * 'rows' values, and two sets are candidates when their signatures are equal on a whole band, which happens
+ * with a probability of 1 - (1 - J^rows)^bands for sets of Jaccard index J.
+ * Each band is stored as the (hash of the band, id) pairs packed in longs and sorted, so the sets sharing a band
+ * are contiguous : the candidate pairs come from sorting instead of comparing all the pairs, and the collisions
+ * of the 32-bit hashes are discarded by comparing the values of the band.
+ */
+public class LSHIndex {
+    /** From this number of signatures the bands are sorted in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int bands;
+    private final int rows;
+    private final int count;
+    /** The signatures one after the other, (count × bands × rows) values. */
+    private final long[] signatures;
+    /** For each band, the sorted (hash of the band << 32 | id) of the signatures. */
+    private final long[][] buckets;
+
+    /**
+     * Two sets by their index in the index, first < second, with their similarity.
+     */
+    public static class Pair implements Comparable<Pair> {
+        private final int first;
+        private final int second;
+        private final double similarity;
+
+        private Pair(int first, int second, double similarity) {
+            this.first = first;
+            this.second = second;
+            this.similarity = similarity;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        @Override
+        public int compareTo(Pair other) {
+            int result = Integer.compare(first, other.first);
+            return result != 0 ? result : Integer.compare(second, other.second);
+        }
+
+        public String toString() {
+            return String.format("Pair[%d, %d - %f]", first, second, similarity);
+        }
+    }
+
+    private LSHIndex(int bands, int rows, int count, long[] signatures, long[][] buckets) {
+        this.bands = bands;
+        this.rows = rows;
+        this.count = count;
+        this.signatures = signatures;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @param signatures MinHash signatures of bands × rows values, the id of a set is its index in the list
+     * @return an empty Optional if bands or rows isn't positive, or if a signature is null or of another length
+     */
+    public static Optional<LSHIndex> build(List<long[]> signatures, int bands, int rows) {
+        if (signatures == null || bands < 1 || rows < 1 || (long)(bands) * rows > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        int width = bands * rows;
+        int count = signatures.size();
+        if ((long)(count) * width > Integer.MAX_VALUE - 8) {
+            return Optional.empty();
+        }
+
+        long[] values = new long[count * width];
+        for (int index=0; index < count; index++) {
+            long[] signature = signatures.get(index);
+            if (signature == null || signature.length != width) {
+                return Optional.empty();
+            }
+            System.arraycopy(signature, 0, values, index * width, width);
+        }
+
+        long[][] buckets = new long[bands][count];
+        for (int band=0; band < bands; band++) {
+            long[] bucket = buckets[band];
+            for (int index=0; index < count; index++) {
+                bucket[index] = ((long)(hash(values, index * width + band * rows, rows)) << 32) | index;
+            }
+            if (count >= PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(bucket);
+            }
+            else {
+                Arrays.sort(bucket);
+            }
+        }
+        return Optional.of(new LSHIndex(bands, rows, count, values, buckets));
+    }
+
+    /**
+     * Jaccard index from which the probability for two sets to be candidates rises, (1 / bands)^(1 / rows).
+     */
+    public static double threshold(int bands, int rows) {
+        return Math.pow(1.0 / bands, 1.0 / rows);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private static int hash(long[] values, int offset, int rows) {
+        long hash = 0L;
+        for (int index=0; index < rows; index++) {
+            hash = MinHash.mix(hash ^ values[offset + index]);
+        }
+        return (int)(hash >>> 32);
+    }
+
+    private boolean sameBand(int first, long[] other, int otherOffset, int band) {
+        int offset = first * bands * rows + band * rows;
+        for (int index=0; index < rows; index++) {
+            if (signatures[offset + index] != other[otherOffset + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] append(long[] array, int size, long value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    /**
+     * Sorted packed (first << 32 | second) of the pairs sharing at least one band, each pair once.
+     */
+    private long[] pairs() {
+        int width = bands * rows;
+        long[] pairs = new long[16];
+        int size = 0;
+
+        for (int band=0; band < bands; band++) {
+            long[] bucket = buckets[band];
+            int start = 0;
+            while (start < count) {
+                int end = start + 1;
+                while (end < count && (bucket[end] >>> 32) == (bucket[start] >>> 32)) {
+                    end++;
+                }
+                // The ids of a bucket are increasing, so first < second
+                for (int indexP=start; indexP < end; indexP++) {
+                    int first = (int)(bucket[indexP]);
+                    for (int indexQ=indexP + 1; indexQ < end; indexQ++) {
+                        int second = (int)(bucket[indexQ]);
+                        if (sameBand(first, signatures, second * width + band * rows, band)) {
+                            pairs = append(pairs, size, ((long)(first) << 32) | second);
+                            size++;
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+
+        Arrays.sort(pairs, 0, size);
+        int unique = 0;
+        for (int index=0; index < size; index++) {
+            if (unique == 0 || pairs[unique - 1] != pairs[index]) {
+                pairs[unique++] = pairs[index];
+            }
+        }
+        return Arrays.copyOf(pairs, unique);
+    }
+
+    /**
+     * Pairs of sets sharing at least one band, with the Jaccard index estimated from their whole signatures.
+     * @return the pairs sorted by first then second
+     */
+    public List<Pair> candidates() {
+        int width = bands * rows;
+        long[] pairs = pairs();
+        List<Pair> result = new ArrayList<>(pairs.length);
+        for (long pair : pairs) {
+            int first = (int)(pair >>> 32);
+            int second = (int)(pair);
+            result.add(new Pair(first, second, MinHash.agreement(signatures, first * width, signatures, second * width, width)));
+        }
+        return result;
+    }
+
+    /**
+     * Candidates checked against the exact Jaccard index of their sets, the false positives of the hashing are removed.
+     * @param sets the sets of the signatures, in the same order, as strictly increasing arrays
+     * @return the pairs whose exact index is at least 'threshold', sorted by first then second,
+     * or an empty Optional if the sets don't match the signatures or aren't strictly increasing
+     */
+    public Optional<List<Pair>> candidates(List<int[]> sets, double threshold) {
+        if (sets == null || sets.size() != count) {
+            return Optional.empty();
+        }
+        int[][] values = sets.toArray(new int[0][]);
+        for (int[] set : values) {
+            if (set == null || !Intersection.isSet(set)) {
+                return Optional.empty();
+            }
+        }
+
+        long[] pairs = pairs();
+        double[] similarities = new double[pairs.length];
+        if (pairs.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(similarities, index -> exact(values, pairs[index]));
+        }
+        else {
+            for (int index=0; index < pairs.length; index++) {
+                similarities[index] = exact(values, pairs[index]);
+            }
+        }
+
+        List<Pair> result = new ArrayList<>();
+        for (int index=0; index < pairs.length; index++) {
+            if (similarities[index] >= threshold) {
+                result.add(new Pair((int)(pairs[index] >>> 32), (int)(pairs[index]), similarities[index]));
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static double exact(int[][] sets, long pair) {
+        int[] setA = sets[(int)(pair >>> 32)];
+        int[] setB = sets[(int)(pair)];
+        long intersection = Intersection.size(setA, setB);
+        long union = (long)(setA.length) + setB.length - intersection;
+        return union > 0 ? (double)(intersection) / union : 1.0;
+    }
+
+    /**
+     * Ids of the sets sharing at least one band with the signature.
+     * @return the ids in increasing order, or an empty Optional if the signature is null or of another length
+     */
+    public Optional<int[]> query(long[] signature) {
+        if (signature == null || signature.length != bands * rows) {
+            return Optional.empty();
+        }
+        long[] found = new long[16];
+        int size = 0;
+
+        for (int band=0; band < bands; band++) {
+            long[] bucket = buckets[band];
+            long hash = hash(signature, band * rows, rows) & 0xFFFFFFFFL;
+            int index = Arrays.binarySearch(bucket, hash << 32);
+            // The id 0 is the smallest of its bucket, otherwise the insertion point is the first of the bucket
+            index = index >= 0 ? index : -index - 1;
+            for (; index < count && (bucket[index] >>> 32) == hash; index++) {
+                int id = (int)(bucket[index]);
+                if (sameBand(id, signature, band * rows, band)) {
+                    found = append(found, size, id);
+                    size++;
+                }
+            }
+        }
+
+        Arrays.sort(found, 0, size);
+        int[] ids = new int[size];
+        int unique = 0;
+        for (int index=0; index < size; index++) {
+            if (unique == 0 || ids[unique - 1] != found[index]) {
+                ids[unique++] = (int)(found[index]);
+            }
+        }
+        return Optional.of(Arrays.copyOf(ids, unique));
+    }
+
+    public String toString() {
+        return String.format("LSHIndex[%d sets, %d bands of %d rows]", count, bands, rows);
+    }
+}
@@ -0,0 +1,211 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+
+/**
+ * LU decomposition with partial pivoting of a square matrix : P × A = L × U.
+ * The factorization is blocked : a panel of BLOCK columns is factorized, then the rows of U on its right
+ * are solved and the trailing matrix is updated with one parallel Gemm (A22 -= L21 × U12),
+ * so almost all the work runs in the cache-blocked product.
+ * L (with a unit diagonal) and U are stored together in a single row-major array.
+ */
+public final class LU {
+    static final int BLOCK = 64;
+
+    private final double[] lu;
+    private final int size;
+    private final int[] permutation;
+    private final boolean oddPermutation;
+    private final boolean singular;
+
+    private LU(double[] lu, int size, int[] permutation, boolean oddPermutation, boolean singular) {
+        this.lu = lu;
+        this.size = size;
+        this.permutation = permutation;
+        this.oddPermutation = oddPermutation;
+        this.singular = singular;
+    }
+
+    /**
+     * @return the decomposition, or an empty Optional if the matrix isn't square
+     */
+    public static Optional<LU> decompose(DenseMatrix matrix) {
+        if (matrix == null || matrix.getRowCount() != matrix.getColumns()) {
+            return Optional.empty();
+        }
+        int n = matrix.getRowCount();
+        double[] a = matrix.toArray();
+        int[] permutation = new int[n];
+        for (int index=0; index < n; index++) {
+            permutation[index] = index;
+        }
+        boolean odd = false;
+        boolean singular = false;
+
+        for (int k0=0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(k0 + BLOCK, n);
+
+            // Factorize the panel A[k0.., k0..k1[, the rows are swapped on their whole length
+            for (int j=k0; j < k1; j++) {
+                int pivot = j;
+                double max = Math.abs(a[j*n + j]);
+                for (int row=j + 1; row < n; row++) {
+                    double value = Math.abs(a[row*n + j]);
+                    if (value > max) {
+                        max = value;
+                        pivot = row;
+                    }
+                }
+                if (pivot != j) {
+                    swapRows(a, n, j, pivot);
+                    int swap = permutation[j];
+                    permutation[j] = permutation[pivot];
+                    permutation[pivot] = swap;
+                    odd = !odd;
+                }
+                if (max == 0.0) {
+                    singular = true;
+                    continue;
+                }
+
+                double diagonal = a[j*n + j];
+                for (int row=j + 1; row < n; row++) {
+                    double factor = a[row*n + j] / diagonal;
+                    a[row*n + j] = factor;
+                    if (factor != 0.0) {
+                        Kernels.axpy(-factor, a, j*n + j + 1, a, row*n + j + 1, k1 - j - 1);
+                    }
+                }
+            }
+            if (k1 == n) {
+                break;
+            }
+
+            // U12 = L11⁻¹ × A12
+            for (int j=k0; j < k1; j++) {
+                for (int row=j + 1; row < k1; row++) {
+                    Kernels.axpy(-a[row*n + j], a, j*n + k1, a, row*n + k1, n - k1);
+                }
+            }
+
+            // A22 -= L21 × U12
+            DenseMatrix lower = new DenseMatrix(a, n - k1, k1 - k0, k1*n + k0, n, 1);
+            DenseMatrix upper = new DenseMatrix(a, k1 - k0, n - k1, k0*n + k1, n, 1);
+            Gemm.multiply(-1.0, lower, upper, a, k1*n + k1, n);
+        }
+
+        return Optional.of(new LU(a, n, permutation, odd, singular));
+    }
+
+    public static Optional<LU> decompose(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? decompose(dense.get()) : Optional.empty();
+    }
+
+    private static void swapRows(double[] a, int n, int rowA, int rowB) {
+        int positionA = rowA * n;
+        int positionB = rowB * n;
+        for (int index=0; index < n; index++) {
+            double swap = a[positionA + index];
+            a[positionA + index] = a[positionB + index];
+            a[positionB + index] = swap;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if a pivot is null, then solve and inverse return an empty Optional
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * @return the row permutation : the row i of P × A is the row getPivots()[i] of A
+     */
+    public int[] getPivots() {
+        return permutation.clone();
+    }
+
+    public DenseMatrix getL() {
+        double[] array = new double[size * size];
+        for (int indexR=0; indexR < size; indexR++) {
+            System.arraycopy(lu, indexR*size, array, indexR*size, indexR);
+            array[indexR*size + indexR] = 1.0;
+        }
+        return new DenseMatrix(array, size, size);
+    }
+
+    public DenseMatrix getU() {
+        double[] array = new double[size * size];
+        for (int indexR=0; indexR < size; indexR++) {
+            int position = indexR*size + indexR;
+            System.arraycopy(lu, position, array, position, size - indexR);
+        }
+        return new DenseMatrix(array, size, size);
+    }
+
+    public double determinant() {
+        double determinant = oddPermutation ? -1.0 : 1.0;
+        for (int index=0; index < size; index++) {
+            determinant *= lu[index*size + index];
+        }
+        return determinant;
+    }
+
+    /**
+     * Solve A × x = b.
+     */
+    public Optional<double[]> solve(double[] b) {
+        if (b == null || b.length != size || singular) {
+            return Optional.empty();
+        }
+        double[] x = new double[size];
+        for (int index=0; index < size; index++) {
+            x[index] = b[permutation[index]];
+        }
+        Triangular.solveLower(lu, size, size, true, x, 1);
+        Triangular.solveUpper(lu, size, size, x, 1);
+        return Optional.of(x);
+    }
+
+    /**
+     * Solve A × X = B for all the columns of B at once.
+     */
+    public Optional<DenseMatrix> solve(DenseMatrix b) {
+        if (b == null || b.getRowCount() != size || singular) {
+            return Optional.empty();
+        }
+        int m = b.getColumns();
+        double[] x = new double[size * m];
+        for (int indexR=0; indexR < size; indexR++) {
+            for (int indexC=0; indexC < m; indexC++) {
+                x[indexR*m + indexC] = b.get(permutation[indexR], indexC);
+            }
+        }
+        Triangular.solveLower(lu, size, size, true, x, m);
+        Triangular.solveUpper(lu, size, size, x, m);
+        return Optional.of(new DenseMatrix(x, size, m));
+    }
+
+    public Optional<DenseMatrix> inverse() {
+        if (singular) {
+            return Optional.empty();
+        }
+        // P × I : the row i has its 1 in the column permutation[i]
+        double[] x = new double[size * size];
+        for (int index=0; index < size; index++) {
+            x[index*size + permutation[index]] = 1.0;
+        }
+        Triangular.solveLower(lu, size, size, true, x, size);
+        Triangular.solveUpper(lu, size, size, x, size);
+        return Optional.of(new DenseMatrix(x, size, size));
+    }
+
+    public String toString() {
+        return String.format("LU[%d x %d%s]", size, size, singular ? ", singular" : "");
+    }
+}
@@ -0,0 +1,426 @@
+package com.lugolbis.mathematics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Matrix stored in a binary file and memory-mapped, the values are never copied in the heap as a whole.
+ *
+ * Layout of the file (little-endian) :
+ *   int magic 'DTKM', int version, int dtype (1 = float64), int reserved, long rows, long columns,
+ *   then the rows * columns values in row-major order.
+ * The file is mapped in segments holding a whole number of rows, so it can be larger than 2 GB.
+ */
+public class MappedMatrix implements Closeable {
+    public static final int MAGIC = 0x4D4B5444;
+    public static final int VERSION = 1;
+    public static final int DTYPE_FLOAT64 = 1;
+    public static final int HEADER_SIZE = 32;
+
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    private FileChannel channel;
+    private MappedByteBuffer[] mappings;
+    private DoubleBuffer[] segments;
+    private final int rows;
+    private final int columns;
+    private final int rowsPerSegment;
+    private final boolean writable;
+
+    private MappedMatrix(FileChannel channel, int rows, int columns, boolean writable) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        this.writable = writable;
+
+        long rowBytes = (long)(columns) * Double.BYTES;
+        if (rowBytes > MAX_SEGMENT_BYTES) {
+            throw new IOException("A row of the matrix doesn't fit in a mapped segment");
+        }
+        rowsPerSegment = (int)(Math.min(Integer.MAX_VALUE / columns, MAX_SEGMENT_BYTES / rowBytes));
+
+        int count = rows == 0 ? 0 : (rows - 1) / rowsPerSegment + 1;
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        mappings = new MappedByteBuffer[count];
+        segments = new DoubleBuffer[count];
+
+        for (int index=0; index < count; index++) {
+            int segmentRows = Math.min(rowsPerSegment, rows - index*rowsPerSegment);
+            long position = HEADER_SIZE + (long)(index) * rowsPerSegment * rowBytes;
+            mappings[index] = channel.map(mode, position, segmentRows * rowBytes);
+            segments[index] = mappings[index].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Map an existing binary matrix file.
+     * @param writable is true to write the values back to the file through set and mult
+     */
+    public static MappedMatrix open(String filePath, boolean writable) throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(Paths.get(filePath), StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            header.flip();
+
+            if (
+                header.remaining() < HEADER_SIZE
+                || header.getInt(0) != MAGIC
+                || header.getInt(4) != VERSION
+                || header.getInt(8) != DTYPE_FLOAT64
+            ) {
+                throw new IOException("Invalid binary matrix file : " + filePath);
+            }
+            long rows = header.getLong(16);
+            long columns = header.getLong(24);
+
+            if (
+                rows < 0 || columns <= 0 || rows > Integer.MAX_VALUE || columns > Integer.MAX_VALUE
+                || channel.size() < HEADER_SIZE + rows * columns * Double.BYTES
+            ) {
+                throw new IOException("Invalid binary matrix file : " + filePath);
+            }
+            return new MappedMatrix(channel, (int)(rows), (int)(columns), writable);
+        }
+        catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public static MappedMatrix open(String filePath) throws IOException {
+        return open(filePath, false);
+    }
+
+    /**
+     * Create a binary matrix file filled with zeros and map it in write mode.
+     */
+    public static MappedMatrix create(String filePath, int rows, int columns) throws IOException {
+        if (rows < 0 || columns <= 0) {
+            throw new IllegalArgumentException("Invalid shape : " + rows + " x " + columns);
+        }
+        try (FileChannel channel = FileChannel.open(
+            Paths.get(filePath),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        )) {
+            writeHeader(channel, rows, columns);
+            if (rows > 0) {
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long)(rows) * columns * Double.BYTES - 1);
+            }
+        }
+        return open(filePath, true);
+    }
+
+    /**
+     * Write the matrix in the binary format.
+     */
+    public static void write(DenseMatrix matrix, String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            Paths.get(filePath),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        )) {
+            writeHeader(channel, matrix.getRowCount(), matrix.getColumns());
+
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int indexR=0; indexR < matrix.getRowCount(); indexR++) {
+                for (int indexC=0; indexC < matrix.getColumns(); indexC++) {
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putDouble(matrix.get(indexR, indexC));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Convert a file with the JSON layout of Matrix.loadFromJson to the binary format.
+     * The JSON file is streamed, the matrix is never loaded in the heap.
+     */
+    public static void convertJson(String jsonPath, String binaryPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            Paths.get(binaryPath),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        )) {
+            channel.position(HEADER_SIZE);
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long[] size = {0};
+
+            int columns = MatrixJson.stream(jsonPath, value -> {
+                if (!buffer.hasRemaining()) {
+                    try {
+                        flush(channel, buffer);
+                    }
+                    catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }
+                buffer.putDouble(value);
+                size[0]++;
+            });
+            flush(channel, buffer);
+
+            if (columns <= 0 || size[0] % columns != 0 || size[0] / columns > Integer.MAX_VALUE) {
+                throw new IOException("Invalid matrix file : " + jsonPath);
+            }
+            channel.position(0);
+            writeHeader(channel, (int)(size[0] / columns), columns);
+        }
+        catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int rows, int columns) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(DTYPE_FLOAT64).putInt(0);
+        header.putLong(rows).putLong(columns);
+        header.flip();
+        channel.write(header, 0);
+        channel.position(HEADER_SIZE);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+
+    public double get(int row, int column) {
+        return segments[row / rowsPerSegment].get((row % rowsPerSegment) * columns + column);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the matrix was opened read-only
+     */
+    public void set(int row, int column, double value) {
+        checkWritable();
+        segments[row / rowsPerSegment].put((row % rowsPerSegment) * columns + column, value);
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("The mapped matrix is read-only, open it as writable to modify it");
+        }
+    }
+
+    /**
+     * @return true if 'count' rows fit in a single array
+     */
+    private boolean fitsInArray(long count) {
+        return count * columns <= Integer.MAX_VALUE - 8;
+    }
+
+    public Optional<Double> getValue(int row, int column) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            return Optional.of(get(row, column));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Copy the row in the destination array, from the index 'offset'.
+     */
+    public void readRow(int row, double[] destination, int offset) {
+        readRow(row, 0, destination, offset, columns);
+    }
+
+    /**
+     * Copy the values [column, column + length[ of the row in the destination array, from the index 'offset'.
+     */
+    void readRow(int row, int column, double[] destination, int offset, int length) {
+        segments[row / rowsPerSegment].get((row % rowsPerSegment) * columns + column, destination, offset, length);
+    }
+
+    public Optional<double[]> getRow(int index) {
+        if (index < 0 || index >= rows) {
+            return Optional.empty();
+        }
+        double[] array = new double[columns];
+        readRow(index, array, 0);
+        return Optional.of(array);
+    }
+
+    /**
+     * @return a heap copy of the rows [start, start + count[, or an empty Optional if they aren't all in
+     * the matrix or don't fit in an array
+     */
+    public Optional<DenseMatrix> readRows(int start, int count) {
+        if (start < 0 || count < 0 || (long)(start) + count > rows || !fitsInArray(count)) {
+            return Optional.empty();
+        }
+        return Optional.of(copyRows(start, count));
+    }
+
+    private DenseMatrix copyRows(int start, int count) {
+        double[] array = new double[count * columns];
+        for (int index=0; index < count; index++) {
+            readRow(start + index, array, index * columns);
+        }
+        return new DenseMatrix(array, count, columns);
+    }
+
+    /**
+     * @return the whole matrix in the heap, or an empty Optional if it doesn't fit in an array
+     */
+    public Optional<DenseMatrix> toDense() {
+        return readRows(0, rows);
+    }
+
+    /**
+     * Number of rows read at once by the operations, about 4 MB of values.
+     */
+    private int rowBlock() {
+        return Math.max(1, Math.min(rows, (1 << 19) / columns));
+    }
+
+    public Optional<double[]> multVector(double[] vector) {
+        if (vector == null || vector.length != columns) {
+            return Optional.empty();
+        }
+        double[] result = new double[rows];
+        double[] row = new double[columns];
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            readRow(indexR, row, 0);
+            result[indexR] = Kernels.dot(row, 0, vector, 0, columns);
+        }
+        return Optional.of(result);
+    }
+
+    public Optional<Vector> multVector(Vector vector) {
+        if (vector == null || vector.getType() != Vector.Type.Column) {
+            return Optional.empty();
+        }
+        Optional<double[]> result = multVector(vector.toArray());
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ArrayList<Double> values = new ArrayList<>(rows);
+        for (double value : result.get()) {
+            values.add(value);
+        }
+        return Vector.newVector(values, Vector.Type.Column);
+    }
+
+    /**
+     * Product of the mapped matrix with a matrix in the heap, the mapped rows are read by blocks.
+     * @return an empty Optional if the shapes don't match or the result doesn't fit in an array
+     */
+    public static Optional<DenseMatrix> mult(MappedMatrix matrixA, DenseMatrix matrixB) {
+        if (
+            matrixA == null || matrixB == null || matrixA.columns != matrixB.getRowCount()
+            || (long)(matrixA.rows) * matrixB.getColumns() > Integer.MAX_VALUE - 8
+        ) {
+            return Optional.empty();
+        }
+        int columns = matrixB.getColumns();
+        double[] result = new double[matrixA.rows * columns];
+        int block = matrixA.rowBlock();
+
+        for (int start=0; start < matrixA.rows; start += block) {
+            int count = Math.min(block, matrixA.rows - start);
+            double[] partial = new double[count * columns];
+
+            Gemm.multiply(matrixA.copyRows(start, count), matrixB, partial);
+            System.arraycopy(partial, 0, result, start * columns, partial.length);
+        }
+        return Optional.of(new DenseMatrix(result, matrixA.rows, columns));
+    }
+
+    public static Optional<DenseMatrix> sum(MappedMatrix matrixA, MappedMatrix matrixB) {
+        return simpleCompute(matrixA, matrixB, 1.0);
+    }
+
+    public static Optional<DenseMatrix> sub(MappedMatrix matrixA, MappedMatrix matrixB) {
+        return simpleCompute(matrixA, matrixB, -1.0);
+    }
+
+    private static Optional<DenseMatrix> simpleCompute(MappedMatrix matrixA, MappedMatrix matrixB, double factor) {
+        if (
+            matrixA == null || matrixB == null
+            || matrixA.rows != matrixB.rows || matrixA.columns != matrixB.columns
+            || !matrixA.fitsInArray(matrixA.rows)
+        ) {
+            return Optional.empty();
+        }
+        int columns = matrixA.columns;
+        double[] result = new double[matrixA.rows * columns];
+        double[] row = new double[columns];
+
+        for (int indexR=0; indexR < matrixA.rows; indexR++) {
+            matrixA.readRow(indexR, result, indexR * columns);
+            matrixB.readRow(indexR, row, 0);
+            Kernels.axpy(factor, row, 0, result, indexR * columns, columns);
+        }
+        return Optional.of(new DenseMatrix(result, matrixA.rows, columns));
+    }
+
+    /**
+     * Multiply all the values by the input value 'k', directly in the file.
+     * @throws UnsupportedOperationException if the matrix was opened read-only
+     */
+    public void mult(double k) {
+        checkWritable();
+        for (DoubleBuffer segment : segments) {
+            for (int index=0; index < segment.limit(); index++) {
+                segment.put(index, segment.get(index) * k);
+            }
+        }
+    }
+
+    /**
+     * Write the modifications of a writable matrix to the disk.
+     */
+    public void force() {
+        if (writable) {
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        mappings = new MappedByteBuffer[0];
+        segments = new DoubleBuffer[0];
+        channel.close();
+    }
+
+    public String toString() {
+        return String.format("MappedMatrix[%d x %d]", rows, columns);
+    }
+}
@@ -1,16 +1,16 @@
 package com.lugolbis.mathematics;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.function.DoubleBinaryOperator;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import java.io.IOException;
 
 public class Matrix {
     private ArrayList<Double> rows;
@@ -48,7 +48,7 @@ public class Matrix {
         int start = columns * index;
         int end = start + columns;
 
-        if (end < rows.size()) {
+        if (index >= 0 && end <= rows.size()) {
             return Optional.of(rows.subList(start, end));
         }
         else {
@@ -66,25 +66,73 @@ public class Matrix {
         return columns;
     }
 
+    /**
+     * @return a view of the column, like getRow nothing is copied and a set is seen by the matrix
+     */
     public Optional<List<Double>> getColumn(int index) {
-        if (index >= columns) {
+        if (index < 0 || index >= columns) {
             return Optional.empty();
         }
+        return Optional.of(unsafeGetColumn(index));
+    }
 
-        ArrayList<Double> array = new ArrayList<>();
-        for (int indexValue=index; indexValue < rows.size(); indexValue += columns) {
-            array.add(rows.get(indexValue));
-        }
+    public List<Double> unsafeGetColumn(int index) {
+        return new StridedList(index, columns, rows.size() / columns);
+    }
 
-        return Optional.of(array);
+    /**
+     * @return a view of the values (i, i)
+     */
+    public List<Double> getDiagonal() {
+        return new StridedList(0, columns + 1, Math.min(rows.size() / columns, columns));
     }
 
-    public List<Double> unsafeGetColumn(int index) {
-        ArrayList<Double> array = new ArrayList<>();
-        for (int indexValue=index; indexValue < rows.size(); indexValue += columns) {
-            array.add(rows.get(indexValue));
+    /**
+     * Fixed-size view of the values rows[offset + i*stride], it reads the current storage of the matrix.
+     * The stride depends on the shape : once the shape or the storage of the matrix changes, as after
+     * transposing a matrix that isn't square, the view throws a ConcurrentModificationException.
+     */
+    private class StridedList extends AbstractList<Double> implements RandomAccess {
+        private final int offset;
+        private final int stride;
+        private final int size;
+        private final ArrayList<Double> storage;
+        private final int storageColumns;
+        private final int storageSize;
+
+        private StridedList(int offset, int stride, int size) {
+            this.offset = offset;
+            this.stride = stride;
+            this.size = size;
+            this.storage = rows;
+            this.storageColumns = columns;
+            this.storageSize = rows.size();
+        }
+
+        private int position(int index) {
+            if (rows != storage || columns != storageColumns || rows.size() != storageSize) {
+                throw new ConcurrentModificationException("The shape of the matrix changed after the view was created");
+            }
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return offset + index*stride;
+        }
+
+        @Override
+        public Double get(int index) {
+            return rows.get(position(index));
+        }
+
+        @Override
+        public Double set(int index, Double value) {
+            return rows.set(position(index), value);
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
-        return array;
     }
 
     public Shape getShape() {
@@ -122,6 +170,22 @@ public class Matrix {
         return Optional.of(new Matrix(rows, columns));
     }
 
+    static double[] unbox(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int index=0; index < array.length; index++) {
+            array[index] = values.get(index);
+        }
+        return array;
+    }
+
+    static ArrayList<Double> box(double[] values) {
+        ArrayList<Double> array = new ArrayList<>(values.length);
+        for (double value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
     public static Optional<Matrix> sum(Matrix matriceA, Matrix matriceB) {
         return simpleCompute(matriceA, matriceB, ((x, y) -> x + y));
     }
@@ -138,16 +202,9 @@ public class Matrix {
         Shape shapeB = matriceB.getShape();
         
         if (shapeA.rows == shapeB.rows && shapeA.columns == shapeB.columns) {
-            ArrayList<Double> rowsA = matriceA.rows;
-            ArrayList<Double> rowsB = matriceB.rows;
-            int size = rowsA.size();
-
-            ArrayList<Double> rows = new ArrayList<>();
-            for (int index=0; index < size; index++) {
-                rows.add(op.applyAsDouble(rowsA.get(index), rowsB.get(index)));
-            }
-
-            return Optional.of(new Matrix(rows, matriceA.columns));
+            double[] values = unbox(matriceA.rows);
+            ElementWise.apply(values, unbox(matriceB.rows), values, op);
+            return Optional.of(new Matrix(box(values), matriceA.columns));
         }
         else {
             return Optional.empty();
@@ -174,22 +231,15 @@ public class Matrix {
             return Optional.empty();
         }
 
-        ArrayList<Double> array = new ArrayList<>();
-        for (int indexR=0; indexR < shapeA.rows; indexR++) {
-            List<Double> rowA = matriceA.unsafeGetRow(indexR); 
-
-            for (int indexC=0; indexC < shapeB.columns; indexC++) {
-                List<Double> columnB = matriceB.unsafeGetColumn(indexC);
-                double value = 0;
-
-                for (int index=0; index < rowA.size(); index++) {
-                    value += rowA.get(index) * columnB.get(index);
-                }
-                array.add(value);
-            }
+        Optional<DenseMatrix> denseA = DenseMatrix.fromMatrix(matriceA);
+        Optional<DenseMatrix> denseB = DenseMatrix.fromMatrix(matriceB);
+        if (denseA.isEmpty() || denseB.isEmpty()) {
+            return Optional.empty();
         }
+        double[] result = new double[shapeA.rows * shapeB.columns];
+        Gemm.multiply(denseA.get(), denseB.get(), result);
 
-        return Optional.of(new Matrix(array, shapeB.columns));
+        return Optional.of(new Matrix(box(result), shapeB.columns));
     }
 
     public Optional<Vector> multVector(Vector vector) {
@@ -202,43 +252,91 @@ public class Matrix {
             vector.getType() == Vector.Type.Column
             && columns == vector_size
         ) {
-            ArrayList<Double> result = new ArrayList<>();
-            ArrayList<Double> values = vector.getValues();
-
-            for (int indexR=0; indexR < rows.size()/columns; indexR++) {
-                List<Double> row = unsafeGetRow(indexR);
-
-                double value = 0;
-                for (int index=0; index < vector_size; index++) {
-                    value += row.get(index) * values.get(index);
+            if (columns <= 0 || rows.size() % columns != 0) {
+                return Optional.empty();
+            }
+            // One row at a time is unboxed in a reused buffer, the matrix is never copied whole
+            double[] array = vector.toArray();
+            double[] row = new double[columns];
+            int rowCount = rows.size() / columns;
+            ArrayList<Double> result = new ArrayList<>(rowCount);
+
+            for (int indexR=0; indexR < rowCount; indexR++) {
+                int position = indexR * columns;
+                for (int indexC=0; indexC < columns; indexC++) {
+                    row[indexC] = rows.get(position + indexC);
                 }
-                result.add(value);
+                result.add(Kernels.dot(row, 0, array, 0, columns));
             }
-            return Optional.of(Vector.newVector(result, Vector.Type.Column).get());
+            return Vector.newVector(result, Vector.Type.Column);
         }
         else {
             return Optional.empty();
         }
     }
 
+    /**
+     * Multiply the matrix by all the Column vectors in a single batch.
+     * Each call converts the matrix and allocates new buffers, nothing is reused from one call to the next :
+     * keep a MatrixVectorBatch to multiply the same matrix by several lists of vectors.
+     */
+    public Optional<List<Vector>> multVectors(List<Vector> vectors) {
+        Optional<MatrixVectorBatch> batch = MatrixVectorBatch.of(this);
+        return batch.isPresent() ? batch.get().multVectors(vectors) : Optional.empty();
+    }
+
+    public Optional<Matrix> inverse() {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(this);
+        if (dense.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<DenseMatrix> inverse = dense.get().inverse();
+        return inverse.isPresent() ? Optional.of(inverse.get().toMatrix()) : Optional.empty();
+    }
+
+    public Optional<Double> determinant() {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(this);
+        return dense.isPresent() ? dense.get().determinant() : Optional.empty();
+    }
+
+    /**
+     * Transposate the matrix, in place when it's square, else through a tiled copy.
+     */
     public void transposate() {
         Shape shape = getShape();
-        ArrayList<Double> array = new ArrayList<>();
-        
-        ArrayList<ArrayList<Double>> arrays = new ArrayList<>();
-        int index = 0;
-        while (index < shape.rows) {
-            arrays.add(new ArrayList<>(rows.subList(index, index + shape.columns)));
-            index += shape.columns + 1;
+        int block = Transpose.BLOCK;
+
+        if (shape.rows == shape.columns) {
+            for (int blockR=0; blockR < shape.rows; blockR += block) {
+                for (int blockC=blockR; blockC < shape.columns; blockC += block) {
+                    int endR = Math.min(blockR + block, shape.rows);
+                    int endC = Math.min(blockC + block, shape.columns);
+
+                    for (int indexR=blockR; indexR < endR; indexR++) {
+                        for (int indexC=Math.max(blockC, indexR + 1); indexC < endC; indexC++) {
+                            Collections.swap(rows, indexR*columns + indexC, indexC*columns + indexR);
+                        }
+                    }
+                }
+            }
+            return;
         }
 
-        for (int indexC=0; indexC < shape.columns; indexC++) {
-            for (int indexR=0; indexR < shape.rows; indexR++) {
-                array.add(arrays.get(indexR).removeFirst());
+        Double[] array = new Double[rows.size()];
+        for (int blockR=0; blockR < shape.rows; blockR += block) {
+            for (int blockC=0; blockC < shape.columns; blockC += block) {
+                int endR = Math.min(blockR + block, shape.rows);
+                int endC = Math.min(blockC + block, shape.columns);
+
+                for (int indexR=blockR; indexR < endR; indexR++) {
+                    for (int indexC=blockC; indexC < endC; indexC++) {
+                        array[indexC*shape.rows + indexR] = rows.get(indexR*columns + indexC);
+                    }
+                }
             }
         }
 
-        rows = array;
+        rows = new ArrayList<>(Arrays.asList(array));
         columns = shape.rows;
     }
 
@@ -257,17 +355,17 @@ public class Matrix {
     }
 
     public static Matrix loadFromJson(String filePath) throws Exception {
-        String json = new String(Files.readAllBytes(Paths.get(filePath)));
-        JsonObject obj = new Gson().fromJson(json, JsonObject.class);
-        
-        JsonArray dataArray = obj.get("rows").getAsJsonArray();
-        int dataColumns = obj.get("columns").getAsInt();
+        return MatrixJson.read(filePath, 0).toMatrix();
+    }
 
-        ArrayList<Double> rows = new ArrayList<>();
-        for (JsonElement element : dataArray) {
-            rows.add(element.getAsDouble());
+    /**
+     * @throws IOException if the file can't be written, or if the values don't fill whole rows
+     */
+    public void writeToJson(String filePath) throws IOException {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(this);
+        if (dense.isEmpty()) {
+            throw new IOException("Invalid matrix, its values don't fill whole rows : " + filePath);
         }
-
-        return new Matrix(rows, dataColumns);
+        MatrixJson.write(dense.get(), filePath);
     }
 }
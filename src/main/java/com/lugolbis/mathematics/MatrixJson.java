@@ -0,0 +1,132 @@
+package com.lugolbis.mathematics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Streaming reader and writer of the JSON matrix layout : {"columns": n, "rows": [v0, v1, ...]}.
+ * The values go straight between the file and a primitive array, no JSON tree is built.
+ */
+final class MatrixJson {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Largest array the JVMs reliably allocate. */
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private MatrixJson() {}
+
+    /**
+     * @param sizeHint is the expected number of values, used to size the buffer (0 if unknown)
+     */
+    static DenseMatrix read(String filePath, int sizeHint) throws IOException {
+        GrowableArray values = new GrowableArray(Math.min(Math.max(sizeHint, DEFAULT_CAPACITY), MAX_ARRAY_SIZE));
+        int columns;
+        try {
+            columns = stream(filePath, values);
+        }
+        catch (UncheckedIOException exception) {
+            throw new IOException("The matrix doesn't fit in an array : " + filePath, exception.getCause());
+        }
+
+        if (columns <= 0 || values.size % columns != 0) {
+            throw new IOException("Invalid matrix file : " + filePath);
+        }
+        return new DenseMatrix(values.trim(), values.size / columns, columns);
+    }
+
+    /**
+     * Give every value of 'rows' to the consumer, in the order of the file.
+     * @return the number of columns, or -1 if the file doesn't contain the two fields
+     */
+    static int stream(String filePath, DoubleConsumer consumer) throws IOException {
+        try (
+            BufferedReader buffered = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+            JsonReader reader = new JsonReader(buffered)
+        ) {
+            reader.setStrictness(Strictness.LENIENT);
+
+            boolean hasRows = false;
+            int columns = -1;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                if (name.equals("columns")) {
+                    columns = reader.nextInt();
+                }
+                else if (name.equals("rows")) {
+                    hasRows = true;
+                    reader.beginArray();
+                    while (reader.peek() != JsonToken.END_ARRAY) {
+                        consumer.accept(reader.nextDouble());
+                    }
+                    reader.endArray();
+                }
+                else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return hasRows ? columns : -1;
+        }
+    }
+
+    private static class GrowableArray implements DoubleConsumer {
+        private double[] values;
+        private int size;
+
+        private GrowableArray(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        public void accept(double value) {
+            if (size == values.length) {
+                if (size == MAX_ARRAY_SIZE) {
+                    throw new UncheckedIOException(new IOException("More than " + MAX_ARRAY_SIZE + " values"));
+                }
+                long capacity = Math.min((long)(values.length) + (values.length >> 1) + 1, MAX_ARRAY_SIZE);
+                values = Arrays.copyOf(values, (int)(capacity));
+            }
+            values[size++] = value;
+        }
+
+        private double[] trim() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    static void write(DenseMatrix matrix, String filePath) throws IOException {
+        try (
+            BufferedWriter buffered = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8);
+            JsonWriter writer = new JsonWriter(buffered)
+        ) {
+            writer.setStrictness(Strictness.LENIENT);
+
+            writer.beginObject();
+            writer.name("columns").value(matrix.getColumns());
+            writer.name("rows").beginArray();
+            for (int indexR=0; indexR < matrix.getRowCount(); indexR++) {
+                for (int indexC=0; indexC < matrix.getColumns(); indexC++) {
+                    writer.value(matrix.get(indexR, indexC));
+                }
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.lugolbis.mathematics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Multiply one matrix by many vectors at once : y = A × x for every x.
+ * The vectors are packed as the rows of a matrix X and the batch computes X × Aᵀ with Gemm,
+ * so each block of A loaded in cache serves all the vectors of the batch instead of one.
+ * Aᵀ is packed once when the batch is created, and the packing and result buffers are reused from
+ * one call to the next : an instance isn't thread-safe, use one per thread.
+ */
+public class MatrixVectorBatch {
+    /** Number of vectors multiplied by a single Gemm, it bounds the size of the buffers. */
+    static final int BATCH = 256;
+
+    /** Under this number of values A stays in L1 anyway, a dot product per value is cheaper than Gemm. */
+    static final int SMALL = 1 << 13;
+
+    private final DenseMatrix matrix;
+    private final DenseMatrix transposed;
+    private double[] packed;
+    private double[] result;
+
+    private MatrixVectorBatch(DenseMatrix matrix) {
+        this.matrix = matrix;
+        this.transposed = matrix.transposed().copy();
+        this.packed = new double[0];
+        this.result = new double[0];
+    }
+
+    /**
+     * @param matrix is copied, the changes made to it afterwards aren't seen by the batch
+     */
+    public static Optional<MatrixVectorBatch> of(DenseMatrix matrix) {
+        if (matrix == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new MatrixVectorBatch(matrix.copy()));
+    }
+
+    /**
+     * @return an empty Optional if the values of the matrix don't fill whole rows
+     */
+    public static Optional<MatrixVectorBatch> of(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? Optional.of(new MatrixVectorBatch(dense.get())) : Optional.empty();
+    }
+
+    public int getRowCount() {
+        return matrix.getRowCount();
+    }
+
+    public int getColumns() {
+        return matrix.getColumns();
+    }
+
+    /**
+     * Write A × vectors[i] in destination[i], nothing is allocated once the buffers have grown.
+     * @return the destination, or an empty Optional if a length doesn't match
+     */
+    public Optional<double[][]> multVectors(double[][] vectors, double[][] destination) {
+        int rows = matrix.getRowCount();
+        int columns = matrix.getColumns();
+        if (vectors == null || destination == null || vectors.length != destination.length) {
+            return Optional.empty();
+        }
+        for (int index=0; index < vectors.length; index++) {
+            if (
+                vectors[index] == null || vectors[index].length != columns
+                || destination[index] == null || destination[index].length != rows
+            ) {
+                return Optional.empty();
+            }
+        }
+
+        for (int start=0; start < vectors.length; start += BATCH) {
+            int count = Math.min(BATCH, vectors.length - start);
+            ensureCapacity(count);
+
+            for (int index=0; index < count; index++) {
+                System.arraycopy(vectors[start + index], 0, packed, index*columns, columns);
+            }
+            multiply(count);
+            for (int index=0; index < count; index++) {
+                System.arraycopy(result, index*rows, destination[start + index], 0, rows);
+            }
+        }
+        return Optional.of(destination);
+    }
+
+    public Optional<double[][]> multVectors(double[][] vectors) {
+        if (vectors == null) {
+            return Optional.empty();
+        }
+        return multVectors(vectors, new double[vectors.length][matrix.getRowCount()]);
+    }
+
+    /**
+     * @param vectors are Column vectors of size getColumns()
+     * @return the Column vectors A × vectors[i], in the same order
+     */
+    public Optional<List<Vector>> multVectors(List<Vector> vectors) {
+        if (vectors == null) {
+            return Optional.empty();
+        }
+        int rows = matrix.getRowCount();
+        int columns = matrix.getColumns();
+        for (Vector vector : vectors) {
+            if (vector == null || vector.getType() != Vector.Type.Column || vector.getSize() != columns) {
+                return Optional.empty();
+            }
+        }
+
+        List<Vector> results = new ArrayList<>(vectors.size());
+        for (int start=0; start < vectors.size(); start += BATCH) {
+            int count = Math.min(BATCH, vectors.size() - start);
+            ensureCapacity(count);
+
+            for (int index=0; index < count; index++) {
+                ArrayList<Double> values = vectors.get(start + index).getValues();
+                int position = index * columns;
+                for (int indexC=0; indexC < columns; indexC++) {
+                    packed[position + indexC] = values.get(indexC);
+                }
+            }
+            multiply(count);
+            for (int index=0; index < count; index++) {
+                ArrayList<Double> values = new ArrayList<>(rows);
+                for (int indexR=0; indexR < rows; indexR++) {
+                    values.add(result[index*rows + indexR]);
+                }
+                results.add(Vector.newVector(values, Vector.Type.Column).get());
+            }
+        }
+        return Optional.of(results);
+    }
+
+    private void ensureCapacity(int count) {
+        if (packed.length < count * matrix.getColumns()) {
+            packed = new double[count * matrix.getColumns()];
+        }
+        if (result.length < count * matrix.getRowCount()) {
+            result = new double[count * matrix.getRowCount()];
+        }
+    }
+
+    /**
+     * result[0 .. count × rows[ = X × Aᵀ where X is the 'count' first rows packed.
+     */
+    private void multiply(int count) {
+        int rows = matrix.getRowCount();
+        int columns = matrix.getColumns();
+        if (rows * columns <= SMALL) {
+            double[] data = matrix.data();
+            for (int index=0; index < count; index++) {
+                for (int indexR=0; indexR < rows; indexR++) {
+                    result[index*rows + indexR] = Kernels.dot(packed, index*columns, data, indexR*columns, columns);
+                }
+            }
+            return;
+        }
+        Arrays.fill(result, 0, count * rows, 0.0);
+        Gemm.multiply(new DenseMatrix(packed, count, matrix.getColumns()), transposed, result);
+    }
+
+    public String toString() {
+        return String.format("MatrixVectorBatch[%d x %d]", matrix.getRowCount(), matrix.getColumns());
+    }
+}
@@ -0,0 +1,139 @@
+package com.lugolbis.mathematics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of sets : the value i of a signature is the minimum of the hash function i over the
+ * elements of the set, and two signatures agree at a position with a probability equal to the Jaccard index
+ * of their sets. The fraction of equal positions estimates it with a standard error of at most 1 / (2 √size).
+ * Each element is mixed once (finalizer of SplitMix64) and the hash functions are affine maps a × h + b
+ * of the mix with a odd, so the signature costs one multiply-add-min per element and function.
+ */
+public class MinHash {
+    /** From this number of elements in a batch the signatures are computed in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final long[] multipliers;
+    private final long[] increments;
+
+    private MinHash(long[] multipliers, long[] increments) {
+        this.multipliers = multipliers;
+        this.increments = increments;
+    }
+
+    /**
+     * @param size number of hash functions, the length of the signatures
+     * @param seed the same seed gives the same hash functions, so signatures computed separately stay comparable
+     * @return an empty Optional if size isn't positive
+     */
+    public static Optional<MinHash> newMinHash(int size, long seed) {
+        if (size < 1) {
+            return Optional.empty();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] multipliers = new long[size];
+        long[] increments = new long[size];
+        for (int index=0; index < size; index++) {
+            multipliers[index] = random.nextLong() | 1L;
+            increments[index] = random.nextLong();
+        }
+        return Optional.of(new MinHash(multipliers, increments));
+    }
+
+    public int size() {
+        return multipliers.length;
+    }
+
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long[] empty() {
+        long[] signature = new long[multipliers.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        return signature;
+    }
+
+    private long[] compute(int[] set) {
+        long[] signature = empty();
+        for (int value : set) {
+            Kernels.minHash(mix(value), multipliers, increments, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * The elements may be in any order and repeated. The signature of an empty set is filled with Long.MAX_VALUE.
+     * @return an empty Optional if the set is null
+     */
+    public Optional<long[]> signature(int[] set) {
+        if (set == null) {
+            return Optional.empty();
+        }
+        return Optional.of(compute(set));
+    }
+
+    public Optional<long[]> signature(long[] set) {
+        if (set == null) {
+            return Optional.empty();
+        }
+        long[] signature = empty();
+        for (long value : set) {
+            Kernels.minHash(mix(value), multipliers, increments, signature);
+        }
+        return Optional.of(signature);
+    }
+
+    /**
+     * @return the signatures in the order of the sets, or an empty Optional if a set is null
+     */
+    public Optional<List<long[]>> signatures(List<int[]> sets) {
+        if (sets == null) {
+            return Optional.empty();
+        }
+        int[][] values = sets.toArray(new int[0][]);
+        long elements = 0;
+        for (int[] set : values) {
+            if (set == null) {
+                return Optional.empty();
+            }
+            elements += set.length;
+        }
+
+        long[][] signatures = new long[values.length][];
+        if (elements >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(signatures, index -> compute(values[index]));
+        }
+        else {
+            for (int index=0; index < values.length; index++) {
+                signatures[index] = compute(values[index]);
+            }
+        }
+        return Optional.of(Arrays.asList(signatures));
+    }
+
+    /**
+     * Estimate of the Jaccard index of two sets from their signatures.
+     * @return an empty Optional if a signature is null, empty or if their lengths differ
+     */
+    public static Optional<Double> estimate(long[] signatureA, long[] signatureB) {
+        if (signatureA == null || signatureB == null || signatureA.length == 0 || signatureA.length != signatureB.length) {
+            return Optional.empty();
+        }
+        return Optional.of(agreement(signatureA, 0, signatureB, 0, signatureA.length));
+    }
+
+    static double agreement(long[] a, int aOffset, long[] b, int bOffset, int length) {
+        int equal = 0;
+        for (int index=0; index < length; index++) {
+            equal += a[aOffset + index] == b[bOffset + index] ? 1 : 0;
+        }
+        return (double)(equal) / length;
+    }
+}
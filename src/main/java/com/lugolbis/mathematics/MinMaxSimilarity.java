@@ -0,0 +1,89 @@
+package com.lugolbis.mathematics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Min-max similarities between the rows of a packed (m × d) array and the rows of a packed (n × d) array,
+ * written in a row-major (m × n) array. The candidates are read by tiles of TILE rows that stay in cache
+ * while all the queries of a task are scored against them, and the rectangles of scores are split on their
+ * longer side to run in parallel, so one query against many candidates is split as well.
+ */
+final class MinMaxSimilarity {
+    static final int TILE = 64;
+
+    private MinMaxSimilarity() {}
+
+    static void compute(double[] x, int m, double[] y, int n, int d, double[] result) {
+        Scores task = new Scores(x, y, n, d, result, 0, m, 0, n);
+        if ((long)(m) * n * d < 2 * Gemm.PARALLEL_THRESHOLD) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * The scores of the queries [startI, endI[ against the candidates [startJ, endJ[.
+     */
+    private static class Scores extends RecursiveAction {
+        private final double[] x;
+        private final double[] y;
+        private final int n;
+        private final int d;
+        private final double[] result;
+        private final int startI;
+        private final int endI;
+        private final int startJ;
+        private final int endJ;
+
+        private Scores(
+            double[] x, double[] y, int n, int d, double[] result,
+            int startI, int endI, int startJ, int endJ
+        ) {
+            this.x = x;
+            this.y = y;
+            this.n = n;
+            this.d = d;
+            this.result = result;
+            this.startI = startI;
+            this.endI = endI;
+            this.startJ = startJ;
+            this.endJ = endJ;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = endI - startI;
+            int tiles = (endJ - startJ) / TILE;
+            if ((long)(rows) * (endJ - startJ) * d >= Gemm.PARALLEL_THRESHOLD && (rows > 1 || tiles > 1)) {
+                if (rows >= tiles) {
+                    int middle = (startI + endI) >>> 1;
+                    invokeAll(
+                        new Scores(x, y, n, d, result, startI, middle, startJ, endJ),
+                        new Scores(x, y, n, d, result, middle, endI, startJ, endJ)
+                    );
+                }
+                else {
+                    int middle = startJ + (tiles / 2) * TILE;
+                    invokeAll(
+                        new Scores(x, y, n, d, result, startI, endI, startJ, middle),
+                        new Scores(x, y, n, d, result, startI, endI, middle, endJ)
+                    );
+                }
+                return;
+            }
+
+            for (int tile=startJ; tile < endJ; tile += TILE) {
+                int tileEnd = Math.min(tile + TILE, endJ);
+                for (int i=startI; i < endI; i++) {
+                    int row = i*n;
+                    for (int j=tile; j < tileEnd; j++) {
+                        result[row + j] = Kernels.minMax(x, i*d, y, j*d, d);
+                    }
+                }
+            }
+        }
+    }
+}
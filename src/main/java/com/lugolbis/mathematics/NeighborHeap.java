@@ -0,0 +1,89 @@
+package com.lugolbis.mathematics;
+
+/**
+ * The k best (squared distance, id) pairs seen so far, in a max-heap of primitive arrays with the worst one on top.
+ * A pair is worse than another when its distance is larger, or equal with a larger id.
+ */
+final class NeighborHeap {
+    private final double[] distances;
+    private final int[] ids;
+    private int size;
+
+    NeighborHeap(int capacity) {
+        this.distances = new double[capacity];
+        this.ids = new int[capacity];
+    }
+
+    /**
+     * @return the squared distance a point must not exceed to enter the heap
+     */
+    double worst() {
+        return size < distances.length ? Double.POSITIVE_INFINITY : distances[0];
+    }
+
+    private boolean worse(int i, int j) {
+        return distances[i] > distances[j] || (distances[i] == distances[j] && ids[i] > ids[j]);
+    }
+
+    private void swap(int i, int j) {
+        double distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+
+    void offer(double distance, int id) {
+        if (size < distances.length) {
+            int child = size++;
+            distances[child] = distance;
+            ids[child] = id;
+            while (child > 0 && worse(child, (child - 1) / 2)) {
+                swap(child, (child - 1) / 2);
+                child = (child - 1) / 2;
+            }
+            return;
+        }
+        if (distance > distances[0] || (distance == distances[0] && id >= ids[0])) {
+            return;
+        }
+
+        distances[0] = distance;
+        ids[0] = id;
+        siftDown();
+    }
+
+    private void siftDown() {
+        int parent = 0;
+        while (true) {
+            int largest = parent;
+            int left = 2 * parent + 1;
+            if (left < size && worse(left, largest)) {
+                largest = left;
+            }
+            if (left + 1 < size && worse(left + 1, largest)) {
+                largest = left + 1;
+            }
+            if (largest == parent) {
+                break;
+            }
+            swap(parent, largest);
+            parent = largest;
+        }
+    }
+
+    /**
+     * @return the ids from the best to the worst, the heap is emptied
+     */
+    int[] sorted() {
+        int[] result = new int[size];
+        for (int index=size - 1; index >= 0; index--) {
+            result[index] = ids[0];
+            size--;
+            swap(0, size);
+            siftDown();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+package com.lugolbis.mathematics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Distances between all the pairs of rows of a packed (n × d) array, written in a full or a condensed matrix.
+ * The pairs are grouped in (TILE × TILE) tiles of the upper triangle so the rows of both tiles stay in cache,
+ * and the columns of tiles are computed in parallel.
+ * With enough dimensions, unless the exact distances are asked, the Euclidian distances use ‖a‖² + ‖b‖² − 2 a·b :
+ * the dot products of a tile are one Gemm against the tile of columns packed transposed. This sum cancels
+ * when the points are close compared to their norms, so these pairs are computed again on the distance kernel.
+ * Otherwise every pair runs on the distance kernel of the metric.
+ */
+final class PairwiseDistance {
+    static final int TILE = 256;
+
+    /** From this number of dimensions the Gemm is faster than a distance kernel per pair. */
+    static final int GEMM_DIMENSIONS = 16;
+
+    /** Under this fraction of ‖a‖² + ‖b‖² the squared distance given by the Gemm has lost too many digits. */
+    static final double CANCELLATION = 1e-4;
+
+    private PairwiseDistance() {}
+
+    /**
+     * @param full is true to fill the whole (n × n) result, false to fill the condensed upper triangle
+     * @param exact is true to run every pair on the distance kernel, as Distance.Euclidian does
+     */
+    static void compute(double[] x, int n, int d, Distance.Metric metric, double[] result, boolean full, boolean exact) {
+        boolean gemm = !exact && d >= GEMM_DIMENSIONS
+            && (metric == Distance.Metric.Euclidian || metric == Distance.Metric.SquaredEuclidian);
+        double[] norms = null;
+        if (gemm) {
+            norms = new double[n];
+            for (int index=0; index < n; index++) {
+                norms[index] = Kernels.dot(x, index*d, x, index*d, d);
+            }
+        }
+
+        int tiles = (n + TILE - 1) / TILE;
+        Columns task = new Columns(x, n, d, metric, norms, result, full, 0, tiles);
+        if ((long)(n) * n * d < 2 * Gemm.PARALLEL_THRESHOLD || tiles == 1) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * Index of the pair (i, j), i < j, in the condensed upper triangle of an (n × n) matrix.
+     */
+    static long condensedIndex(int n, int i, int j) {
+        return (long)(n) * i - (long)(i) * (i + 1) / 2 + (j - i - 1);
+    }
+
+    private static double kernel(Distance.Metric metric, double[] x, int i, int j, int d) {
+        if (metric == Distance.Metric.Manhattan) {
+            return Kernels.manhattan(x, i*d, x, j*d, d);
+        }
+        else if (metric == Distance.Metric.Chebyshev) {
+            return Kernels.chebyshev(x, i*d, x, j*d, d);
+        }
+        double squared = Kernels.squaredDistance(x, i*d, x, j*d, d);
+        return metric == Distance.Metric.Euclidian ? Math.sqrt(squared) : squared;
+    }
+
+    /**
+     * The columns of tiles [start, end[, each column J holding the tiles (I, J) for I <= J.
+     */
+    private static class Columns extends RecursiveAction {
+        private final double[] x;
+        private final int n;
+        private final int d;
+        private final Distance.Metric metric;
+        private final double[] norms;
+        private final double[] result;
+        private final boolean full;
+        private final int start;
+        private final int end;
+
+        private Columns(
+            double[] x, int n, int d, Distance.Metric metric, double[] norms,
+            double[] result, boolean full, int start, int end
+        ) {
+            this.x = x;
+            this.n = n;
+            this.d = d;
+            this.metric = metric;
+            this.norms = norms;
+            this.result = result;
+            this.full = full;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(
+                    new Columns(x, n, d, metric, norms, result, full, start, middle),
+                    new Columns(x, n, d, metric, norms, result, full, middle, end)
+                );
+                return;
+            }
+
+            int startJ = start * TILE;
+            int endJ = Math.min(startJ + TILE, n);
+            if (norms != null) {
+                computeGemm(startJ, endJ);
+                return;
+            }
+
+            for (int startI=0; startI <= startJ; startI += TILE) {
+                int endI = Math.min(startI + TILE, n);
+                for (int i=startI; i < endI; i++) {
+                    for (int j=Math.max(startJ, i + 1); j < endJ; j++) {
+                        write(i, j, kernel(metric, x, i, j, d));
+                    }
+                }
+            }
+        }
+
+        private void computeGemm(int startJ, int endJ) {
+            int width = endJ - startJ;
+            double[] transposed = new double[d * width];
+            for (int j=0; j < width; j++) {
+                for (int k=0; k < d; k++) {
+                    transposed[k*width + j] = x[(startJ + j)*d + k];
+                }
+            }
+            DenseMatrix columns = new DenseMatrix(transposed, d, width);
+            double[] products = new double[TILE * width];
+
+            for (int startI=0; startI <= startJ; startI += TILE) {
+                int height = Math.min(startI + TILE, n) - startI;
+                Arrays.fill(products, 0, height * width, 0.0);
+                Gemm.multiply(new DenseMatrix(x, height, d, startI*d, d, 1), columns, products);
+
+                for (int i=startI; i < startI + height; i++) {
+                    int row = (i - startI) * width;
+                    for (int j=Math.max(startJ, i + 1); j < endJ; j++) {
+                        double squared = norms[i] + norms[j] - 2.0 * products[row + j - startJ];
+                        if (squared < CANCELLATION * (norms[i] + norms[j])) {
+                            write(i, j, kernel(metric, x, i, j, d));
+                        }
+                        else {
+                            write(i, j, metric == Distance.Metric.Euclidian ? Math.sqrt(squared) : squared);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void write(int i, int j, double value) {
+            if (full) {
+                result[i*n + j] = value;
+                result[j*n + i] = value;
+            }
+            else {
+                result[(int)(condensedIndex(n, i, j))] = value;
+            }
+        }
+    }
+}
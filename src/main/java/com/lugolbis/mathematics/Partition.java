@@ -0,0 +1,105 @@
+package com.lugolbis.mathematics;
+
+import java.util.List;
+
+/**
+ * Building blocks of the space partitioning trees : the points are packed in one array and a permutation of
+ * their indexes is split recursively at the median of the axis where the points are the most spread.
+ */
+final class Partition {
+    /** Number of points under which a node is a leaf, scanned with the distance kernel. */
+    static final int LEAF_SIZE = 16;
+
+    private Partition() {}
+
+    /**
+     * @return the coordinates of the points one after the other, or null if a point is null or has other dimensions
+     */
+    static double[] pack(List<Point> points, int dimensions) {
+        double[] values = new double[points.size() * dimensions];
+        for (int index=0; index < points.size(); index++) {
+            Point point = points.get(index);
+            if (point == null || point.getDimensions() != dimensions) {
+                return null;
+            }
+            System.arraycopy(point.values(), 0, values, index * dimensions, dimensions);
+        }
+        return values;
+    }
+
+    /**
+     * Upper bound of the number of nodes of a tree of 'count' points : the leaves hold at least LEAF_SIZE / 2 points.
+     */
+    static int maxNodes(int count) {
+        int leaves = Math.max(1, (count + LEAF_SIZE / 2 - 1) / (LEAF_SIZE / 2));
+        return 2 * leaves - 1;
+    }
+
+    static int widestAxis(double[] values, int dimensions, int[] order, int start, int end) {
+        int axis = 0;
+        double widest = -1.0;
+        for (int indexD=0; indexD < dimensions; indexD++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int index=start; index < end; index++) {
+                double value = values[order[index] * dimensions + indexD];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widest) {
+                widest = max - min;
+                axis = indexD;
+            }
+        }
+        return axis;
+    }
+
+    /**
+     * Reorder order[start, end[ so the point at 'nth' has the nth smallest coordinate on the axis,
+     * the points before it having smaller or equal coordinates and the ones after larger or equal (Hoare's selection).
+     */
+    static void select(double[] values, int dimensions, int axis, int[] order, int start, int end, int nth) {
+        int low = start;
+        int high = end - 1;
+        while (low < high) {
+            double pivot = values[order[(low + high) >>> 1] * dimensions + axis];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[order[i] * dimensions + axis] < pivot) {
+                    i++;
+                }
+                while (values[order[j] * dimensions + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (nth <= j) {
+                high = j;
+            }
+            else if (nth >= i) {
+                low = i;
+            }
+            else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the coordinates of the points in the given order
+     */
+    static double[] reorder(double[] values, int dimensions, int[] order) {
+        double[] result = new double[values.length];
+        for (int index=0; index < order.length; index++) {
+            System.arraycopy(values, order[index] * dimensions, result, index * dimensions, dimensions);
+        }
+        return result;
+    }
+}
@@ -3,46 +3,74 @@ package com.lugolbis.mathematics;
 import java.util.ArrayList;
 import java.util.Optional;
 
+/**
+ * Point backed by a primitive array : the distances read the coordinates without boxing nor copying them.
+ */
 public class Point {
-    private ArrayList<Double> coordinates;
+    private double[] coordinates;
 
     public Point(double... coordinates) {
-        ArrayList<Double> coordinatesValues = new ArrayList<>();
-        for (double value : coordinates) {
-            coordinatesValues.add(value);
-        }
-        this.coordinates = coordinatesValues;
+        this.coordinates = coordinates.clone();
     }
 
-    private Point(ArrayList<Double> array) {
-        coordinates = array;
+    public static Optional<Point> newPoint(ArrayList<Double> array) {
+        Optional<double[]> values = unbox(array);
+        return values.isPresent() ? Optional.of(new Point(values.get())) : Optional.empty();
     }
 
-    public static Optional<Point> newPoint(ArrayList<Double> array) {
-        for (Double number : array) {
+    private static Optional<double[]> unbox(ArrayList<Double> array) {
+        if (array == null) {
+            return Optional.empty();
+        }
+        double[] values = new double[array.size()];
+        for (int index=0; index < values.length; index++) {
+            Double number = array.get(index);
             if (number == null) {
                 return Optional.empty();
             }
+            values[index] = number;
         }
-        return Optional.of(new Point(array));
+        return Optional.of(values);
     }
 
     public ArrayList<Double> getCoordinates() {
-        return new ArrayList<>(coordinates);
+        ArrayList<Double> array = new ArrayList<>(coordinates.length);
+        for (double value : coordinates) {
+            array.add(value);
+        }
+        return array;
     }
 
     public void setCoordinates(ArrayList<Double> coordinates) {
-        if (coordinates instanceof ArrayList<?>) {
-            ArrayList<Double> array = new ArrayList<>(coordinates);
-            this.coordinates = array;
+        Optional<double[]> values = unbox(coordinates);
+        if (values.isPresent()) {
+            this.coordinates = values.get();
         }
     }
 
+    public double get(int index) {
+        return coordinates[index];
+    }
+
+    /**
+     * @return a copy of the coordinates
+     */
+    public double[] toArray() {
+        return coordinates.clone();
+    }
+
+    /**
+     * @return the coordinates themselves, for the kernels of the package that only read them
+     */
+    double[] values() {
+        return coordinates;
+    }
+
     public int getDimensions() {
-        return coordinates.size();
+        return coordinates.length;
     }
 
     public String toString() {
-        return coordinates.toString();
+        return getCoordinates().toString();
     }
 }
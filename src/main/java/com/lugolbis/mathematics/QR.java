@@ -0,0 +1,288 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+
+/**
+ * Householder QR decomposition of a (m × n) matrix with m >= n : A = Q × R.
+ * The factorization is blocked : the reflectors of a panel of BLOCK columns are computed one by one,
+ * then gathered in the compact WY form H1 × ... × Hb = I - V × T × Vᵀ and applied to the trailing
+ * columns with three Gemm, so the update runs in the parallel cache-blocked product.
+ * R is stored in the upper triangle and the reflectors below the diagonal, Q is never formed
+ * unless getQ is called.
+ */
+public final class QR {
+    static final int BLOCK = 32;
+
+    private final double[] qr;
+    private final int rows;
+    private final int columns;
+    private final double[] tau;
+    private final double[][] blocks;
+
+    private QR(double[] qr, int rows, int columns, double[] tau, double[][] blocks) {
+        this.qr = qr;
+        this.rows = rows;
+        this.columns = columns;
+        this.tau = tau;
+        this.blocks = blocks;
+    }
+
+    /**
+     * @return the decomposition, or an empty Optional if the matrix has more columns than rows
+     */
+    public static Optional<QR> decompose(DenseMatrix matrix) {
+        if (matrix == null || matrix.getRowCount() < matrix.getColumns()) {
+            return Optional.empty();
+        }
+        int m = matrix.getRowCount();
+        int n = matrix.getColumns();
+        double[] a = matrix.toArray();
+        double[] tau = new double[n];
+        double[][] blocks = new double[(n + BLOCK - 1) / BLOCK][];
+
+        for (int k0=0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(k0 + BLOCK, n);
+            double[] w = new double[k1 - k0];
+
+            for (int j=k0; j < k1; j++) {
+                tau[j] = reflector(a, m, n, j);
+                if (tau[j] == 0.0 || j + 1 == k1) {
+                    continue;
+                }
+
+                // Apply Hj to the next columns of the panel : A -= tau × v × (vᵀ × A)
+                int length = k1 - j - 1;
+                System.arraycopy(a, j*n + j + 1, w, 0, length);
+                for (int row=j + 1; row < m; row++) {
+                    Kernels.axpy(a[row*n + j], a, row*n + j + 1, w, 0, length);
+                }
+                Kernels.axpy(-tau[j], w, 0, a, j*n + j + 1, length);
+                for (int row=j + 1; row < m; row++) {
+                    Kernels.axpy(-tau[j] * a[row*n + j], w, 0, a, row*n + j + 1, length);
+                }
+            }
+
+            double[] v = reflectors(a, m, n, k0, k1);
+            double[] t = triangularFactor(v, m - k0, k1 - k0, tau, k0);
+            blocks[k0 / BLOCK] = t;
+            if (k1 < n) {
+                applyBlock(v, t, m - k0, k1 - k0, true, a, k0*n + k1, n, n - k1);
+            }
+        }
+
+        return Optional.of(new QR(a, m, n, tau, blocks));
+    }
+
+    public static Optional<QR> decompose(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? decompose(dense.get()) : Optional.empty();
+    }
+
+    /**
+     * Compute the reflector H = I - tau × v × vᵀ that cancels the column j under the diagonal.
+     * v is stored below the diagonal with an implicit 1 on it, the diagonal receives the value of R.
+     * @return tau, 0 when the column is already null under the diagonal
+     */
+    private static double reflector(double[] a, int m, int n, int j) {
+        double alpha = a[j*n + j];
+        double norm = 0.0;
+        for (int row=j + 1; row < m; row++) {
+            norm = Math.hypot(norm, a[row*n + j]);
+        }
+        if (norm == 0.0) {
+            return 0.0;
+        }
+
+        double beta = -Math.copySign(Math.hypot(alpha, norm), alpha);
+        double scale = 1.0 / (alpha - beta);
+        for (int row=j + 1; row < m; row++) {
+            a[row*n + j] *= scale;
+        }
+        a[j*n + j] = beta;
+        return (beta - alpha) / beta;
+    }
+
+    /**
+     * @return the reflectors of the columns [k0, k1[ as an explicit row-major ((m - k0) × (k1 - k0)) array
+     */
+    private static double[] reflectors(double[] a, int m, int n, int k0, int k1) {
+        int width = k1 - k0;
+        double[] v = new double[(m - k0) * width];
+
+        for (int row=k0; row < m; row++) {
+            int position = (row - k0) * width;
+            for (int j=k0; j < k1 && j <= row; j++) {
+                v[position + j - k0] = j == row ? 1.0 : a[row*n + j];
+            }
+        }
+        return v;
+    }
+
+    /**
+     * @return the upper triangular T of H1 × ... × Hb = I - V × T × Vᵀ, as a row-major (b × b) array
+     */
+    private static double[] triangularFactor(double[] v, int height, int width, double[] tau, int k0) {
+        double[] t = new double[width * width];
+        double[] z = new double[width];
+
+        for (int j=0; j < width; j++) {
+            double tauJ = tau[k0 + j];
+            t[j*width + j] = tauJ;
+            if (tauJ == 0.0) {
+                continue;
+            }
+
+            // z = V[:, 0..j[ᵀ × v_j, only the rows >= j of v_j aren't null
+            for (int index=0; index < j; index++) {
+                double value = 0.0;
+                for (int row=j; row < height; row++) {
+                    value += v[row*width + index] * v[row*width + j];
+                }
+                z[index] = value;
+            }
+            for (int index=0; index < j; index++) {
+                t[index*width + j] = -tauJ * Kernels.dot(t, index*width + index, z, index, j - index);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * C = (I - V × op(T) × Vᵀ) × C where op(T) = Tᵀ to apply Qᵀ of the block and T to apply Q.
+     * C is the (height × count) block of 'c' starting at 'offset' with rows 'stride' apart.
+     */
+    private static void applyBlock(
+        double[] v, double[] t, int height, int width, boolean transpose,
+        double[] c, int offset, int stride, int count
+    ) {
+        DenseMatrix reflectors = new DenseMatrix(v, height, width);
+        DenseMatrix factor = new DenseMatrix(t, width, width);
+        DenseMatrix block = new DenseMatrix(c, height, count, offset, stride, 1);
+
+        double[] w = new double[width * count];
+        Gemm.multiply(reflectors.transposed(), block, w);
+
+        double[] tw = new double[width * count];
+        Gemm.multiply(transpose ? factor.transposed() : factor, new DenseMatrix(w, width, count), tw);
+
+        Gemm.multiply(-1.0, reflectors, new DenseMatrix(tw, width, count), c, offset, stride);
+    }
+
+    /**
+     * Apply Qᵀ (or Q) to the row-major (rows × count) array 'c'.
+     */
+    private void applyQ(double[] c, int count, boolean transpose) {
+        int panels = blocks.length;
+        for (int step=0; step < panels; step++) {
+            int panel = transpose ? step : panels - 1 - step;
+            int k0 = panel * BLOCK;
+            int k1 = Math.min(k0 + BLOCK, columns);
+
+            double[] v = reflectors(qr, rows, columns, k0, k1);
+            applyBlock(v, blocks[panel], rows - k0, k1 - k0, transpose, c, k0*count, count, count);
+        }
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * The diagonal of R is compared to max(m, n) ulps of its largest value, under it the column is
+     * considered as a combination of the previous ones.
+     * @return true if the least squares solution is unique
+     */
+    public boolean isFullRank() {
+        double max = 0.0;
+        for (int index=0; index < columns; index++) {
+            max = Math.max(max, Math.abs(qr[index*columns + index]));
+        }
+        double tolerance = Math.max(rows, columns) * Math.ulp(max);
+        for (int index=0; index < columns; index++) {
+            if (Math.abs(qr[index*columns + index]) <= tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the (n × n) upper triangular R
+     */
+    public DenseMatrix getR() {
+        double[] array = new double[columns * columns];
+        for (int indexR=0; indexR < columns; indexR++) {
+            int position = indexR*columns + indexR;
+            System.arraycopy(qr, position, array, position, columns - indexR);
+        }
+        return new DenseMatrix(array, columns, columns);
+    }
+
+    /**
+     * @return the (m × n) Q with orthonormal columns
+     */
+    public DenseMatrix getQ() {
+        double[] array = new double[rows * columns];
+        for (int index=0; index < columns; index++) {
+            array[index*columns + index] = 1.0;
+        }
+        applyQ(array, columns, false);
+        return new DenseMatrix(array, rows, columns);
+    }
+
+    /**
+     * @return the determinant of a square matrix, or an empty Optional if it isn't square
+     */
+    public Optional<Double> determinant() {
+        if (rows != columns) {
+            return Optional.empty();
+        }
+        double determinant = 1.0;
+        for (int index=0; index < columns; index++) {
+            // Every non trivial reflector has a determinant of -1
+            determinant *= tau[index] != 0.0 ? -qr[index*columns + index] : qr[index*columns + index];
+        }
+        return Optional.of(determinant);
+    }
+
+    /**
+     * Solve A × x = b, in the least squares sense when A has more rows than columns.
+     */
+    public Optional<double[]> solve(double[] b) {
+        if (b == null || b.length != rows || !isFullRank()) {
+            return Optional.empty();
+        }
+        double[] y = b.clone();
+        applyQ(y, 1, true);
+
+        double[] x = new double[columns];
+        System.arraycopy(y, 0, x, 0, columns);
+        Triangular.solveUpper(qr, columns, columns, x, 1);
+        return Optional.of(x);
+    }
+
+    /**
+     * Solve A × X = B for all the columns of B at once, in the least squares sense.
+     */
+    public Optional<DenseMatrix> solve(DenseMatrix b) {
+        if (b == null || b.getRowCount() != rows || !isFullRank()) {
+            return Optional.empty();
+        }
+        int count = b.getColumns();
+        double[] y = b.toArray();
+        applyQ(y, count, true);
+
+        double[] x = new double[columns * count];
+        System.arraycopy(y, 0, x, 0, columns * count);
+        Triangular.solveUpper(qr, columns, columns, x, count);
+        return Optional.of(new DenseMatrix(x, columns, count));
+    }
+
+    public String toString() {
+        return String.format("QR[%d x %d]", rows, columns);
+    }
+}
@@ -0,0 +1,350 @@
+package com.lugolbis.mathematics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of Kernels, only loaded when the module jdk.incubator.vector is present.
+ * The main loops use the preferred species of the CPU and the tail is handled with a mask.
+ */
+final class SimdKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /** ROTATIONS[r] moves the lane k to the lane k - r, modulo the number of lanes. */
+    private static final VectorShuffle<Integer>[] INT_ROTATIONS = rotations(INT_SPECIES);
+    private static final VectorShuffle<Long>[] LONG_ROTATIONS = rotations(LONG_SPECIES);
+
+    private SimdKernels() {}
+
+    @SuppressWarnings("unchecked")
+    private static <E> VectorShuffle<E>[] rotations(VectorSpecies<E> species) {
+        VectorShuffle<E>[] rotations = new VectorShuffle[species.length()];
+        for (int index=0; index < rotations.length; index++) {
+            rotations[index] = VectorShuffle.iota(species, index, 1, true);
+        }
+        return rotations;
+    }
+
+    static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + index);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + index);
+            sum = va.fma(vb, sum);
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + index, mask);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + index, mask);
+            sum = va.fma(vb, sum);
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    static double squaredDistance(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index));
+            sum = difference.fma(difference, sum);
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index, mask)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index, mask));
+            sum = difference.fma(difference, sum);
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    static double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index));
+            sum = sum.add(difference.abs());
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index, mask)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index, mask));
+            sum = sum.add(difference.abs());
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    static double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector maximum = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index));
+            maximum = maximum.max(difference.abs());
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + index, mask)
+                .sub(DoubleVector.fromArray(SPECIES, b, bOffset + index, mask));
+            maximum = maximum.max(difference.abs());
+        }
+        return maximum.reduceLanes(VectorOperators.MAX);
+    }
+
+    static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        DoubleVector valpha = DoubleVector.broadcast(SPECIES, alpha);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + index);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + index);
+            vx.fma(valpha, vy).intoArray(y, yOffset + index);
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + index, mask);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + index, mask);
+            vx.fma(valpha, vy).intoArray(y, yOffset + index, mask);
+        }
+    }
+
+    static void axpy4(
+        double alpha0, double alpha1, double alpha2, double alpha3,
+        double[] x, int xOffset,
+        double[] y, int yOffset0, int yOffset1, int yOffset2, int yOffset3,
+        int length
+    ) {
+        DoubleVector valpha0 = DoubleVector.broadcast(SPECIES, alpha0);
+        DoubleVector valpha1 = DoubleVector.broadcast(SPECIES, alpha1);
+        DoubleVector valpha2 = DoubleVector.broadcast(SPECIES, alpha2);
+        DoubleVector valpha3 = DoubleVector.broadcast(SPECIES, alpha3);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + index);
+            vx.fma(valpha0, DoubleVector.fromArray(SPECIES, y, yOffset0 + index)).intoArray(y, yOffset0 + index);
+            vx.fma(valpha1, DoubleVector.fromArray(SPECIES, y, yOffset1 + index)).intoArray(y, yOffset1 + index);
+            vx.fma(valpha2, DoubleVector.fromArray(SPECIES, y, yOffset2 + index)).intoArray(y, yOffset2 + index);
+            vx.fma(valpha3, DoubleVector.fromArray(SPECIES, y, yOffset3 + index)).intoArray(y, yOffset3 + index);
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + index, mask);
+            vx.fma(valpha0, DoubleVector.fromArray(SPECIES, y, yOffset0 + index, mask)).intoArray(y, yOffset0 + index, mask);
+            vx.fma(valpha1, DoubleVector.fromArray(SPECIES, y, yOffset1 + index, mask)).intoArray(y, yOffset1 + index, mask);
+            vx.fma(valpha2, DoubleVector.fromArray(SPECIES, y, yOffset2 + index, mask)).intoArray(y, yOffset2 + index, mask);
+            vx.fma(valpha3, DoubleVector.fromArray(SPECIES, y, yOffset3 + index, mask)).intoArray(y, yOffset3 + index, mask);
+        }
+    }
+
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector sum = FloatVector.zero(FLOAT_SPECIES);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += FLOAT_SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, aOffset + index);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, bOffset + index);
+            sum = va.fma(vb, sum);
+        }
+        if (index < length) {
+            VectorMask<Float> mask = FLOAT_SPECIES.indexInRange(index, length);
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, aOffset + index, mask);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, bOffset + index, mask);
+            sum = va.fma(vb, sum);
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    /**
+     * Each float vector is widened in two double vectors of the same shape (its low and high halves).
+     */
+    static double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        DoubleVector sumLow = DoubleVector.zero(SPECIES);
+        DoubleVector sumHigh = DoubleVector.zero(SPECIES);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += FLOAT_SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, aOffset + index);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, bOffset + index);
+            DoubleVector aLow = (DoubleVector)(va.convertShape(VectorOperators.F2D, SPECIES, 0));
+            DoubleVector aHigh = (DoubleVector)(va.convertShape(VectorOperators.F2D, SPECIES, 1));
+            DoubleVector bLow = (DoubleVector)(vb.convertShape(VectorOperators.F2D, SPECIES, 0));
+            DoubleVector bHigh = (DoubleVector)(vb.convertShape(VectorOperators.F2D, SPECIES, 1));
+            sumLow = aLow.fma(bLow, sumLow);
+            sumHigh = aHigh.fma(bHigh, sumHigh);
+        }
+
+        double result = sumLow.add(sumHigh).reduceLanes(VectorOperators.ADD);
+        for (; index < length; index++) {
+            result += (double)(a[aOffset + index]) * b[bOffset + index];
+        }
+        return result;
+    }
+
+    static void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        FloatVector valpha = FloatVector.broadcast(FLOAT_SPECIES, alpha);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += FLOAT_SPECIES.length()) {
+            FloatVector vx = FloatVector.fromArray(FLOAT_SPECIES, x, xOffset + index);
+            FloatVector vy = FloatVector.fromArray(FLOAT_SPECIES, y, yOffset + index);
+            vx.fma(valpha, vy).intoArray(y, yOffset + index);
+        }
+        if (index < length) {
+            VectorMask<Float> mask = FLOAT_SPECIES.indexInRange(index, length);
+            FloatVector vx = FloatVector.fromArray(FLOAT_SPECIES, x, xOffset + index, mask);
+            FloatVector vy = FloatVector.fromArray(FLOAT_SPECIES, y, yOffset + index, mask);
+            vx.fma(valpha, vy).intoArray(y, yOffset + index, mask);
+        }
+    }
+
+    static long andBitCount(long[] a, int aOffset, long[] b, int bOffset, int length) {
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        int bound = LONG_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += LONG_SPECIES.length()) {
+            LongVector va = LongVector.fromArray(LONG_SPECIES, a, aOffset + index);
+            LongVector vb = LongVector.fromArray(LONG_SPECIES, b, bOffset + index);
+            sum = sum.add(va.and(vb).lanewise(VectorOperators.BIT_COUNT));
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (; index < length; index++) {
+            result += Long.bitCount(a[aOffset + index] & b[bOffset + index]);
+        }
+        return result;
+    }
+
+    static long bitCount(long[] a, int aOffset, int length) {
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        int bound = LONG_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += LONG_SPECIES.length()) {
+            sum = sum.add(LongVector.fromArray(LONG_SPECIES, a, aOffset + index).lanewise(VectorOperators.BIT_COUNT));
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (; index < length; index++) {
+            result += Long.bitCount(a[aOffset + index]);
+        }
+        return result;
+    }
+
+    /**
+     * Blocks of one vector of each array are compared all against all, the block of b being rotated
+     * one lane at a time, then the block with the smaller last element is passed. The elements being distinct,
+     * the lanes equal in at least one rotation are the common elements. The tails are merged by Kernels.
+     */
+    static int intersection(int[] a, int[] b) {
+        int lanes = INT_SPECIES.length();
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i + lanes <= a.length && j + lanes <= b.length) {
+            IntVector va = IntVector.fromArray(INT_SPECIES, a, i);
+            IntVector vb = IntVector.fromArray(INT_SPECIES, b, j);
+            VectorMask<Integer> equal = va.eq(vb);
+            for (int rotation=1; rotation < lanes; rotation++) {
+                equal = equal.or(va.eq(vb.rearrange(INT_ROTATIONS[rotation])));
+            }
+            count += equal.trueCount();
+
+            int lastA = a[i + lanes - 1];
+            int lastB = b[j + lanes - 1];
+            i += lastA <= lastB ? lanes : 0;
+            j += lastA >= lastB ? lanes : 0;
+        }
+        return count + Kernels.merge(a, i, b, j);
+    }
+
+    static int intersection(long[] a, long[] b) {
+        int lanes = LONG_SPECIES.length();
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i + lanes <= a.length && j + lanes <= b.length) {
+            LongVector va = LongVector.fromArray(LONG_SPECIES, a, i);
+            LongVector vb = LongVector.fromArray(LONG_SPECIES, b, j);
+            VectorMask<Long> equal = va.eq(vb);
+            for (int rotation=1; rotation < lanes; rotation++) {
+                equal = equal.or(va.eq(vb.rearrange(LONG_ROTATIONS[rotation])));
+            }
+            count += equal.trueCount();
+
+            long lastA = a[i + lanes - 1];
+            long lastB = b[j + lanes - 1];
+            i += lastA <= lastB ? lanes : 0;
+            j += lastA >= lastB ? lanes : 0;
+        }
+        return count + Kernels.merge(a, i, b, j);
+    }
+
+    static void minHash(long hash, long[] multipliers, long[] increments, long[] signature) {
+        int length = signature.length;
+        int bound = LONG_SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += LONG_SPECIES.length()) {
+            LongVector values = LongVector.fromArray(LONG_SPECIES, multipliers, index)
+                .mul(hash)
+                .add(LongVector.fromArray(LONG_SPECIES, increments, index));
+            values.min(LongVector.fromArray(LONG_SPECIES, signature, index)).intoArray(signature, index);
+        }
+        for (; index < length; index++) {
+            signature[index] = Math.min(signature[index], multipliers[index] * hash + increments[index]);
+        }
+    }
+
+    /**
+     * The lanes out of the tail mask are loaded as 0 in both vectors, they add 0 to both sums.
+     */
+    static double minMax(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector sumMin = DoubleVector.zero(SPECIES);
+        DoubleVector sumMax = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+
+        for (; index < bound; index += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + index);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + index);
+            sumMin = sumMin.add(va.min(vb));
+            sumMax = sumMax.add(va.max(vb));
+        }
+        if (index < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(index, length);
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + index, mask);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + index, mask);
+            sumMin = sumMin.add(va.min(vb));
+            sumMax = sumMax.add(va.max(vb));
+        }
+        return Kernels.ruzicka(sumMin.reduceLanes(VectorOperators.ADD), sumMax.reduceLanes(VectorOperators.ADD));
+    }
+}
@@ -1,19 +1,27 @@
 package com.lugolbis.mathematics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 public class Similarity {
+    /** From this number of elements in the candidates of a batch their scores are computed in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
     public static Optional<Double> Jackard(HashSet<Double> setA, HashSet<Double> setB) {
         if (setA == null || setB == null) {
             return Optional.empty();
         }
 
+        HashSet<Double> smaller = setA.size() <= setB.size() ? setA : setB;
+        HashSet<Double> larger = setA.size() <= setB.size() ? setB : setA;
         double intersection = 0.0;
 
-        for (double valueA : setA) {
-            if (setB.contains(valueA)) {
+        for (double value : smaller) {
+            if (larger.contains(value)) {
                 intersection++;
             }
         }
@@ -28,37 +36,270 @@ public class Similarity {
         }
     }
 
-    public static Optional<Double> minMax(ArrayList<Double> A, ArrayList<Double> B) {
-        if (A != null && B != null && A.size() == B.size()) {
-            double sum_min = 0;
-            double sum_max = 0;
-
-            for (int index=0; index < A.size(); index++) {
-                double valueA = A.get(index);
-                double valueB = B.get(index);
-
-                if (Double.isInfinite(valueA) || Double.isInfinite(valueB)) {
-                    return Optional.of(Double.NaN);
-                }
-
-                if (valueA > valueB) {
-                    sum_max += valueA;
-                    sum_min += valueB;
-                }
-                else {
-                    sum_max += valueB;
-                    sum_min += valueA;
-                }
+    private static double jackard(long intersection, long sizeA, long sizeB) {
+        long union = sizeA + sizeB - intersection;
+        return union > 0 ? (double)(intersection) / union : 1.0;
+    }
+
+    /**
+     * Jaccard index of two sets given as strictly increasing arrays, like the sorted ids of their elements.
+     * @return an empty Optional if an array is null or isn't strictly increasing
+     */
+    public static Optional<Double> Jackard(int[] setA, int[] setB) {
+        if (setA == null || setB == null || !Intersection.isSet(setA) || !Intersection.isSet(setB)) {
+            return Optional.empty();
+        }
+        return Optional.of(jackard(Intersection.size(setA, setB), setA.length, setB.length));
+    }
+
+    /**
+     * Jaccard index of two sets given as strictly increasing arrays, like the sorted hashes of their elements.
+     * @return an empty Optional if an array is null or isn't strictly increasing
+     */
+    public static Optional<Double> Jackard(long[] setA, long[] setB) {
+        if (setA == null || setB == null || !Intersection.isSet(setA) || !Intersection.isSet(setB)) {
+            return Optional.empty();
+        }
+        return Optional.of(jackard(Intersection.size(setA, setB), setA.length, setB.length));
+    }
+
+    /**
+     * Jaccard index of two sets given as bitmaps : the element i belongs to the set when the bit i % 64
+     * of the word i / 64 is set. The shorter bitmap is completed with zeros.
+     * @return an empty Optional if a bitmap is null
+     */
+    public static Optional<Double> JackardBitmap(long[] setA, long[] setB) {
+        if (setA == null || setB == null) {
+            return Optional.empty();
+        }
+        return Optional.of(jackardBitmap(setA, Kernels.bitCount(setA, 0, setA.length), setB));
+    }
+
+    private static double jackardBitmap(long[] setA, long sizeA, long[] setB) {
+        long intersection = Kernels.andBitCount(setA, 0, setB, 0, Math.min(setA.length, setB.length));
+        return jackard(intersection, sizeA, Kernels.bitCount(setB, 0, setB.length));
+    }
+
+    public static Optional<Double> Jackard(BitSet setA, BitSet setB) {
+        if (setA == null || setB == null) {
+            return Optional.empty();
+        }
+        return JackardBitmap(setA.toLongArray(), setB.toLongArray());
+    }
+
+    /**
+     * Jaccard index of the query with each candidate, all given as strictly increasing arrays.
+     * @return the scores in the order of the candidates, or an empty Optional if a set is null or isn't strictly increasing
+     */
+    public static Optional<double[]> Jackard(int[] query, List<int[]> candidates) {
+        if (query == null || candidates == null || !Intersection.isSet(query)) {
+            return Optional.empty();
+        }
+        int[][] sets = candidates.toArray(new int[0][]);
+        long elements = 0;
+        for (int[] set : sets) {
+            if (set == null || !Intersection.isSet(set)) {
+                return Optional.empty();
             }
-            if (sum_max > 0) {
-                return Optional.of(sum_min / sum_max);
+            elements += set.length;
+        }
+
+        double[] scores = new double[sets.length];
+        if (elements >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(scores, index -> jackard(Intersection.size(query, sets[index]), query.length, sets[index].length));
+        }
+        else {
+            for (int index=0; index < sets.length; index++) {
+                scores[index] = jackard(Intersection.size(query, sets[index]), query.length, sets[index].length);
             }
-            else {
-                return Optional.of(1.0);
+        }
+        return Optional.of(scores);
+    }
+
+    /**
+     * Jaccard index of the query with each candidate, all given as strictly increasing arrays.
+     * @return the scores in the order of the candidates, or an empty Optional if a set is null or isn't strictly increasing
+     */
+    public static Optional<double[]> Jackard(long[] query, List<long[]> candidates) {
+        if (query == null || candidates == null || !Intersection.isSet(query)) {
+            return Optional.empty();
+        }
+        long[][] sets = candidates.toArray(new long[0][]);
+        long elements = 0;
+        for (long[] set : sets) {
+            if (set == null || !Intersection.isSet(set)) {
+                return Optional.empty();
             }
+            elements += set.length;
+        }
+
+        double[] scores = new double[sets.length];
+        if (elements >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(scores, index -> jackard(Intersection.size(query, sets[index]), query.length, sets[index].length));
+        }
+        else {
+            for (int index=0; index < sets.length; index++) {
+                scores[index] = jackard(Intersection.size(query, sets[index]), query.length, sets[index].length);
+            }
+        }
+        return Optional.of(scores);
+    }
+
+    /**
+     * Jaccard index of the query with each candidate, all given as bitmaps. The bits of the query are counted once.
+     * @return the scores in the order of the candidates, or an empty Optional if a bitmap is null
+     */
+    public static Optional<double[]> JackardBitmap(long[] query, List<long[]> candidates) {
+        if (query == null || candidates == null) {
+            return Optional.empty();
+        }
+        long[][] sets = candidates.toArray(new long[0][]);
+        long words = 0;
+        for (long[] set : sets) {
+            if (set == null) {
+                return Optional.empty();
+            }
+            words += set.length;
+        }
+
+        long size = Kernels.bitCount(query, 0, query.length);
+        double[] scores = new double[sets.length];
+        if (words >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(scores, index -> jackardBitmap(query, size, sets[index]));
         }
         else {
+            for (int index=0; index < sets.length; index++) {
+                scores[index] = jackardBitmap(query, size, sets[index]);
+            }
+        }
+        return Optional.of(scores);
+    }
+
+    public static Optional<double[]> Jackard(BitSet query, List<BitSet> candidates) {
+        if (query == null || candidates == null) {
+            return Optional.empty();
+        }
+        List<long[]> bitmaps = new ArrayList<>(candidates.size());
+        for (BitSet candidate : candidates) {
+            if (candidate == null) {
+                return Optional.empty();
+            }
+            bitmaps.add(candidate.toLongArray());
+        }
+        return JackardBitmap(query.toLongArray(), bitmaps);
+    }
+
+    public static Optional<Double> minMax(ArrayList<Double> A, ArrayList<Double> B) {
+        if (A == null || B == null || A.size() != B.size()) {
+            return Optional.empty();
+        }
+        double[] valuesA = new double[A.size()];
+        double[] valuesB = new double[B.size()];
+        for (int index=0; index < valuesA.length; index++) {
+            Double valueA = A.get(index);
+            Double valueB = B.get(index);
+            if (valueA == null || valueB == null) {
+                return Optional.empty();
+            }
+            valuesA[index] = valueA;
+            valuesB[index] = valueB;
+        }
+        return minMax(valuesA, valuesB);
+    }
+
+    /**
+     * Min-max (Ruzicka) similarity : the sum of the minimums of the values over the sum of their maximums.
+     * @return 1 when the sum of the maximums isn't positive, NaN when a value is infinite or NaN,
+     * or an empty Optional if an array is null or if their lengths differ
+     */
+    public static Optional<Double> minMax(double[] A, double[] B) {
+        if (A == null || B == null || A.length != B.length) {
+            return Optional.empty();
+        }
+        return Optional.of(Kernels.minMax(A, 0, B, 0, A.length));
+    }
+
+    /**
+     * Write in destination[j] the min-max similarity of the query with the row j of the candidates.
+     * @return the destination, or an empty Optional if a length doesn't match
+     */
+    public static Optional<double[]> minMax(double[] query, DenseMatrix candidates, double[] destination) {
+        if (
+            query == null || candidates == null || destination == null
+            || query.length != candidates.getColumns() || destination.length != candidates.getRowCount()
+        ) {
+            return Optional.empty();
+        }
+        MinMaxSimilarity.compute(
+            query, 1, candidates.contiguousData(), candidates.getRowCount(), query.length, destination
+        );
+        return Optional.of(destination);
+    }
+
+    public static Optional<double[]> minMax(double[] query, DenseMatrix candidates) {
+        if (candidates == null) {
+            return Optional.empty();
+        }
+        return minMax(query, candidates, new double[candidates.getRowCount()]);
+    }
+
+    /**
+     * Write in destination(i, j) the min-max similarity of the row i of the queries with the row j of the candidates,
+     * the rows being split between the cores.
+     * @return the destination, or an empty Optional if a shape doesn't match or if the destination isn't contiguous
+     */
+    public static Optional<DenseMatrix> minMax(DenseMatrix queries, DenseMatrix candidates, DenseMatrix destination) {
+        if (
+            queries == null || candidates == null || destination == null
+            || queries.getColumns() != candidates.getColumns() || !destination.isContiguous()
+            || destination.getRowCount() != queries.getRowCount() || destination.getColumns() != candidates.getRowCount()
+        ) {
+            return Optional.empty();
+        }
+        MinMaxSimilarity.compute(
+            queries.contiguousData(), queries.getRowCount(),
+            candidates.contiguousData(), candidates.getRowCount(),
+            queries.getColumns(), destination.data()
+        );
+        return Optional.of(destination);
+    }
+
+    public static Optional<DenseMatrix> minMax(DenseMatrix queries, DenseMatrix candidates) {
+        if (queries == null || candidates == null) {
+            return Optional.empty();
+        }
+        int rows = queries.getRowCount();
+        int columns = candidates.getRowCount();
+        return minMax(queries, candidates, new DenseMatrix(new double[rows * columns], rows, columns));
+    }
+
+    /**
+     * Cosine similarity : the dot product of the vectors over the product of their L2 norms, 0 when one of them is null.
+     * To score many queries against the same vectors, CosineCorpus normalizes them once.
+     * @return an empty Optional if an array is null or if their lengths differ
+     */
+    public static Optional<Double> Cosine(double[] A, double[] B) {
+        if (A == null || B == null || A.length != B.length) {
+            return Optional.empty();
+        }
+        double norms = Math.sqrt(Kernels.dot(A, 0, A, 0, A.length)) * Math.sqrt(Kernels.dot(B, 0, B, 0, B.length));
+        if (norms == 0.0) {
+            return Optional.of(0.0);
+        }
+        return Optional.of(Kernels.dot(A, 0, B, 0, A.length) / norms);
+    }
+
+    public static Optional<Double> Cosine(Point A, Point B) {
+        if (A == null || B == null) {
+            return Optional.empty();
+        }
+        return Cosine(A.values(), B.values());
+    }
+
+    public static Optional<Double> Cosine(Vector A, Vector B) {
+        if (A == null || B == null) {
             return Optional.empty();
         }
+        return Cosine(A.toArray(), B.toArray());
     }
 }
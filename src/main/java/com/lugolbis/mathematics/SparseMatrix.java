@@ -0,0 +1,356 @@
+package com.lugolbis.mathematics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Matrix in Compressed Sparse Row format : only the non-zero values are stored.
+ * The values of the row r are values[rowPointers[r] .. rowPointers[r+1][ and their columns are
+ * in columnIndexes at the same positions, sorted in increasing order.
+ * The compressed sparse column form of a matrix is the CSR form of its transposate.
+ */
+public class SparseMatrix {
+    private int rows;
+    private int columns;
+    private int[] rowPointers;
+    private int[] columnIndexes;
+    private double[] values;
+
+    private SparseMatrix(int rows, int columns, int[] rowPointers, int[] columnIndexes, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = rowPointers;
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    /**
+     * Build the matrix from coordinates (COO format), the values at the same coordinates are summed.
+     */
+    public static Optional<SparseMatrix> fromTriplets(int rows, int columns, int[] rowsIndexes, int[] columnsIndexes, double[] values) {
+        if (
+            rows < 0 || columns <= 0
+            || rowsIndexes == null || columnsIndexes == null || values == null
+            || rowsIndexes.length != values.length || columnsIndexes.length != values.length
+        ) {
+            return Optional.empty();
+        }
+
+        int[] pointers = new int[rows + 1];
+        for (int index=0; index < values.length; index++) {
+            int row = rowsIndexes[index];
+            int column = columnsIndexes[index];
+            if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                return Optional.empty();
+            }
+            pointers[row + 1]++;
+        }
+        for (int row=0; row < rows; row++) {
+            pointers[row + 1] += pointers[row];
+        }
+
+        int[] next = Arrays.copyOf(pointers, rows);
+        int[] unsortedColumns = new int[values.length];
+        double[] unsortedValues = new double[values.length];
+        for (int index=0; index < values.length; index++) {
+            int position = next[rowsIndexes[index]]++;
+            unsortedColumns[position] = columnsIndexes[index];
+            unsortedValues[position] = values[index];
+        }
+
+        // Sort each row by column with a dense accumulator, summing the duplicates and dropping the zeros
+        double[] accumulator = new double[columns];
+        boolean[] used = new boolean[columns];
+        int[] resultPointers = new int[rows + 1];
+        int[] resultColumns = new int[values.length];
+        double[] resultValues = new double[values.length];
+        int size = 0;
+
+        for (int row=0; row < rows; row++) {
+            int start = size;
+            for (int position=pointers[row]; position < pointers[row + 1]; position++) {
+                int column = unsortedColumns[position];
+                if (!used[column]) {
+                    used[column] = true;
+                    resultColumns[size++] = column;
+                }
+                accumulator[column] += unsortedValues[position];
+            }
+            Arrays.sort(resultColumns, start, size);
+
+            int end = size;
+            size = start;
+            for (int position=start; position < end; position++) {
+                int column = resultColumns[position];
+                if (accumulator[column] != 0.0) {
+                    resultColumns[size] = column;
+                    resultValues[size++] = accumulator[column];
+                }
+                accumulator[column] = 0.0;
+                used[column] = false;
+            }
+            resultPointers[row + 1] = size;
+        }
+
+        return Optional.of(new SparseMatrix(
+            rows, columns, resultPointers,
+            Arrays.copyOf(resultColumns, size), Arrays.copyOf(resultValues, size)
+        ));
+    }
+
+    public static Optional<SparseMatrix> fromDense(DenseMatrix matrix) {
+        if (matrix == null) {
+            return Optional.empty();
+        }
+        int rows = matrix.getRowCount();
+        int columns = matrix.getColumns();
+        int[] pointers = new int[rows + 1];
+        int count = 0;
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int indexC=0; indexC < columns; indexC++) {
+                if (matrix.get(indexR, indexC) != 0.0) {
+                    count++;
+                }
+            }
+            pointers[indexR + 1] = count;
+        }
+
+        int[] indexes = new int[count];
+        double[] array = new double[count];
+        int position = 0;
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int indexC=0; indexC < columns; indexC++) {
+                double value = matrix.get(indexR, indexC);
+                if (value != 0.0) {
+                    indexes[position] = indexC;
+                    array[position++] = value;
+                }
+            }
+        }
+        return Optional.of(new SparseMatrix(rows, columns, pointers, indexes, array));
+    }
+
+    public static Optional<SparseMatrix> fromMatrix(Matrix matrix) {
+        Optional<DenseMatrix> dense = DenseMatrix.fromMatrix(matrix);
+        return dense.isPresent() ? fromDense(dense.get()) : Optional.empty();
+    }
+
+    public DenseMatrix toDense() {
+        double[] array = new double[rows * columns];
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int position=rowPointers[indexR]; position < rowPointers[indexR + 1]; position++) {
+                array[indexR*columns + columnIndexes[position]] = values[position];
+            }
+        }
+        return new DenseMatrix(array, rows, columns);
+    }
+
+    public Matrix toMatrix() {
+        return toDense().toMatrix();
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the number of values stored
+     */
+    public int getNonZeros() {
+        return values.length;
+    }
+
+    public double get(int row, int column) {
+        int position = Arrays.binarySearch(columnIndexes, rowPointers[row], rowPointers[row + 1], column);
+        return position >= 0 ? values[position] : 0.0;
+    }
+
+    public Optional<Double> getValue(int row, int column) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            return Optional.of(get(row, column));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sparse matrix - dense vector product (SpMV).
+     */
+    public Optional<double[]> multVector(double[] vector) {
+        if (vector == null || vector.length != columns) {
+            return Optional.empty();
+        }
+        double[] result = new double[rows];
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            double value = 0;
+            for (int position=rowPointers[indexR]; position < rowPointers[indexR + 1]; position++) {
+                value += values[position] * vector[columnIndexes[position]];
+            }
+            result[indexR] = value;
+        }
+        return Optional.of(result);
+    }
+
+    public Optional<Vector> multVector(Vector vector) {
+        if (vector == null || vector.getType() != Vector.Type.Column) {
+            return Optional.empty();
+        }
+        Optional<double[]> result = multVector(vector.toArray());
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ArrayList<Double> array = new ArrayList<>(rows);
+        for (double value : result.get()) {
+            array.add(value);
+        }
+        return Vector.newVector(array, Vector.Type.Column);
+    }
+
+    /**
+     * Sparse matrix - dense matrix product (SpMM), each stored value scales a row of B.
+     */
+    public static Optional<DenseMatrix> mult(SparseMatrix matrixA, DenseMatrix matrixB) {
+        if (matrixA == null || matrixB == null || matrixA.columns != matrixB.getRowCount()) {
+            return Optional.empty();
+        }
+        DenseMatrix denseB = matrixB.isContiguous() ? matrixB : matrixB.copy();
+        double[] b = denseB.data();
+        int columns = denseB.getColumns();
+        double[] result = new double[matrixA.rows * columns];
+
+        for (int indexR=0; indexR < matrixA.rows; indexR++) {
+            for (int position=matrixA.rowPointers[indexR]; position < matrixA.rowPointers[indexR + 1]; position++) {
+                Kernels.axpy(
+                    matrixA.values[position], b, matrixA.columnIndexes[position]*columns,
+                    result, indexR*columns, columns
+                );
+            }
+        }
+        return Optional.of(new DenseMatrix(result, matrixA.rows, columns));
+    }
+
+    /**
+     * Sparse matrix - sparse matrix product, computed row by row with a dense accumulator (Gustavson).
+     */
+    public static Optional<SparseMatrix> mult(SparseMatrix matrixA, SparseMatrix matrixB) {
+        if (matrixA == null || matrixB == null || matrixA.columns != matrixB.rows) {
+            return Optional.empty();
+        }
+        int columns = matrixB.columns;
+        double[] accumulator = new double[columns];
+        int[] marker = new int[columns];
+        Arrays.fill(marker, -1);
+
+        int[] pointers = new int[matrixA.rows + 1];
+        int[] indexes = new int[Math.max(16, matrixA.getNonZeros() + matrixB.getNonZeros())];
+        double[] array = new double[indexes.length];
+        int size = 0;
+
+        for (int indexR=0; indexR < matrixA.rows; indexR++) {
+            int start = size;
+
+            for (int positionA=matrixA.rowPointers[indexR]; positionA < matrixA.rowPointers[indexR + 1]; positionA++) {
+                int row = matrixA.columnIndexes[positionA];
+                double valueA = matrixA.values[positionA];
+
+                for (int positionB=matrixB.rowPointers[row]; positionB < matrixB.rowPointers[row + 1]; positionB++) {
+                    int column = matrixB.columnIndexes[positionB];
+                    if (marker[column] != indexR) {
+                        marker[column] = indexR;
+                        if (size == indexes.length) {
+                            indexes = Arrays.copyOf(indexes, size * 2);
+                            array = Arrays.copyOf(array, size * 2);
+                        }
+                        indexes[size++] = column;
+                    }
+                    accumulator[column] += valueA * matrixB.values[positionB];
+                }
+            }
+            Arrays.sort(indexes, start, size);
+
+            int end = size;
+            size = start;
+            for (int position=start; position < end; position++) {
+                int column = indexes[position];
+                if (accumulator[column] != 0.0) {
+                    indexes[size] = column;
+                    array[size++] = accumulator[column];
+                }
+                accumulator[column] = 0.0;
+            }
+            pointers[indexR + 1] = size;
+        }
+
+        return Optional.of(new SparseMatrix(
+            matrixA.rows, columns, pointers, Arrays.copyOf(indexes, size), Arrays.copyOf(array, size)
+        ));
+    }
+
+    public static Optional<DenseMatrix> sum(SparseMatrix matrixA, DenseMatrix matrixB) {
+        if (
+            matrixA == null || matrixB == null
+            || matrixA.rows != matrixB.getRowCount() || matrixA.columns != matrixB.getColumns()
+        ) {
+            return Optional.empty();
+        }
+        double[] result = matrixB.toArray();
+
+        for (int indexR=0; indexR < matrixA.rows; indexR++) {
+            for (int position=matrixA.rowPointers[indexR]; position < matrixA.rowPointers[indexR + 1]; position++) {
+                result[indexR*matrixA.columns + matrixA.columnIndexes[position]] += matrixA.values[position];
+            }
+        }
+        return Optional.of(new DenseMatrix(result, matrixA.rows, matrixA.columns));
+    }
+
+    /**
+     * Transposate the matrix, the CSR arrays become the CSC arrays of the original matrix.
+     * @throws IllegalStateException if the matrix has no row : its transposate would have no column
+     */
+    public void transposate() {
+        if (rows == 0) {
+            throw new IllegalStateException("A matrix without rows can't be transposed, its transposate would have 0 columns");
+        }
+        int[] pointers = new int[columns + 1];
+        for (int column : columnIndexes) {
+            pointers[column + 1]++;
+        }
+        for (int column=0; column < columns; column++) {
+            pointers[column + 1] += pointers[column];
+        }
+
+        int[] next = Arrays.copyOf(pointers, columns);
+        int[] indexes = new int[values.length];
+        double[] array = new double[values.length];
+
+        // Rows are visited in order, so the new column indexes are already sorted
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int position=rowPointers[indexR]; position < rowPointers[indexR + 1]; position++) {
+                int target = next[columnIndexes[position]]++;
+                indexes[target] = indexR;
+                array[target] = values[position];
+            }
+        }
+
+        int swap = rows;
+        rows = columns;
+        columns = swap;
+        rowPointers = pointers;
+        columnIndexes = indexes;
+        values = array;
+    }
+
+    public String toString() {
+        return String.format("SparseMatrix[%d x %d, %d non-zeros]", rows, columns, values.length);
+    }
+}
@@ -0,0 +1,20 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+
+/**
+ * Index of a fixed set of points answering nearest neighbors queries under the Euclidian distance,
+ * without comparing the query to every point.
+ */
+public interface SpatialIndex {
+    int size();
+
+    int getDimensions();
+
+    /**
+     * @return the indexes, in the list the index was built from, of the k points closest to the query sorted by
+     * increasing distance, the equal distances by increasing index. It has less than k indexes when the index
+     * has less than k points, and it is empty if the query is null, has other dimensions, or if k isn't positive.
+     */
+    Optional<int[]> nearest(Point query, int k);
+}
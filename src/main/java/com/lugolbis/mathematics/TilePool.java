@@ -0,0 +1,121 @@
+package com.lugolbis.mathematics;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the tiles read from TiledMatrix files, the least recently used tile is evicted first.
+ * The operations only read through the pool and write their results directly in the files,
+ * so an evicted tile is simply dropped : the heap used is at most capacity × tileSize² values.
+ * An instance isn't thread-safe, use one per operation running at the same time.
+ */
+public class TilePool {
+    private final int capacity;
+    private final LinkedHashMap<Key, double[]> tiles;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity is the maximum number of tiles kept in memory, at least 2 so a pair of tiles fits
+     */
+    public TilePool(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Invalid capacity : " + capacity);
+        }
+        this.capacity = capacity;
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Pool holding as many tiles of size 'tileSize' as fit in 'bytes', with a minimum of 2 tiles.
+     */
+    public static TilePool forMemory(long bytes, int tileSize) {
+        long tileBytes = (long)(tileSize) * tileSize * Double.BYTES;
+        return new TilePool((int)(Math.max(2, Math.min(Integer.MAX_VALUE, bytes / tileBytes))));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return tiles.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the values of the tile, read from the file if it isn't in the pool. The array must not be modified.
+     */
+    double[] get(TiledMatrix matrix, int tileRow, int tileColumn) throws IOException {
+        Key key = new Key(matrix, (long)(tileRow) * matrix.getTileColumns() + tileColumn);
+        double[] tile = tiles.get(key);
+        if (tile != null) {
+            hits++;
+            return tile;
+        }
+
+        misses++;
+        if (tiles.size() >= capacity) {
+            Iterator<Map.Entry<Key, double[]>> eldest = tiles.entrySet().iterator();
+            tile = eldest.next().getValue();
+            eldest.remove();
+            if (tile.length != matrix.getTileLength()) {
+                tile = null;
+            }
+        }
+        if (tile == null) {
+            tile = new double[matrix.getTileLength()];
+        }
+        matrix.readTile(tileRow, tileColumn, tile);
+        tiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Drop the tiles of the matrix, to call once its file has been modified.
+     */
+    public void evict(TiledMatrix matrix) {
+        tiles.keySet().removeIf(key -> key.matrix == matrix);
+    }
+
+    public void clear() {
+        tiles.clear();
+    }
+
+    public String toString() {
+        return String.format("TilePool[%d / %d tiles, %d hits, %d misses]", tiles.size(), capacity, hits, misses);
+    }
+
+    private static final class Key {
+        private final TiledMatrix matrix;
+        private final long index;
+
+        private Key(TiledMatrix matrix, long index) {
+            this.matrix = matrix;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)(object);
+            return matrix == other.matrix && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(matrix) + Long.hashCode(index);
+        }
+    }
+}
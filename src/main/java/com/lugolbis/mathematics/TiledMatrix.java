@@ -0,0 +1,496 @@
+package com.lugolbis.mathematics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Out-of-core matrix stored as square tiles in a binary file, for the matrices that don't fit in the heap.
+ * The operations stream the tiles they need through a bounded TilePool and write each tile of the
+ * result back to a new file as soon as it is computed, so the memory used doesn't depend on the shape.
+ *
+ * Layout of the file (little-endian) :
+ *   int magic 'DTKT', int version, int dtype (1 = float64), int tileSize, long rows, long columns,
+ *   then the tiles in row-major order, each one being tileSize × tileSize row-major values.
+ * The tiles on the last row and column are padded with zeros so every tile has the same size.
+ */
+public class TiledMatrix implements Closeable {
+    public static final int MAGIC = 0x544B5444;
+    public static final int VERSION = 1;
+    public static final int DTYPE_FLOAT64 = 1;
+    public static final int HEADER_SIZE = 32;
+
+    /** Default side of a tile, a tile is 2 MB and a product of two tiles is worth parallelizing. */
+    public static final int DEFAULT_TILE_SIZE = 512;
+
+    private static final long MAX_TILE_BYTES = 1L << 30;
+
+    /**
+     * Receive the progress of an operation, after each tile of the result is written.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void update(long done, long total);
+    }
+
+    private final FileChannel channel;
+    private final String filePath;
+    private final int rows;
+    private final int columns;
+    private final int tileSize;
+    private final int tileRows;
+    private final int tileColumns;
+    private final ByteBuffer buffer;
+
+    private TiledMatrix(FileChannel channel, String filePath, int rows, int columns, int tileSize) {
+        this.channel = channel;
+        this.filePath = filePath;
+        this.rows = rows;
+        this.columns = columns;
+        this.tileSize = tileSize;
+        this.tileRows = (rows + tileSize - 1) / tileSize;
+        this.tileColumns = (columns + tileSize - 1) / tileSize;
+        this.buffer = ByteBuffer.allocate(tileSize * tileSize * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static TiledMatrix open(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            header.flip();
+
+            if (
+                header.remaining() < HEADER_SIZE
+                || header.getInt(0) != MAGIC
+                || header.getInt(4) != VERSION
+                || header.getInt(8) != DTYPE_FLOAT64
+            ) {
+                throw new IOException("Invalid tiled matrix file : " + filePath);
+            }
+            int tileSize = header.getInt(12);
+            long rows = header.getLong(16);
+            long columns = header.getLong(24);
+
+            if (
+                !validShape(rows, columns, tileSize)
+                || channel.size() < HEADER_SIZE + tileCount(rows, columns, tileSize) * tileSize * tileSize * Double.BYTES
+            ) {
+                throw new IOException("Invalid tiled matrix file : " + filePath);
+            }
+            return new TiledMatrix(channel, filePath, (int)(rows), (int)(columns), tileSize);
+        }
+        catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Create a tiled matrix file filled with zeros, the file is sparse until the tiles are written.
+     */
+    public static TiledMatrix create(String filePath, int rows, int columns, int tileSize) throws IOException {
+        if (!validShape(rows, columns, tileSize)) {
+            throw new IllegalArgumentException("Invalid shape : " + rows + " x " + columns + " by tiles of " + tileSize);
+        }
+        FileChannel channel = FileChannel.open(
+            Paths.get(filePath),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(DTYPE_FLOAT64).putInt(tileSize);
+            header.putLong(rows).putLong(columns);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            long size = tileCount(rows, columns, tileSize) * tileSize * tileSize * Double.BYTES;
+            if (size > 0) {
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + size - 1);
+            }
+            return new TiledMatrix(channel, filePath, rows, columns, tileSize);
+        }
+        catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public static TiledMatrix create(String filePath, int rows, int columns) throws IOException {
+        return create(filePath, rows, columns, DEFAULT_TILE_SIZE);
+    }
+
+    private static boolean validShape(long rows, long columns, int tileSize) {
+        return rows >= 0 && columns > 0 && rows <= Integer.MAX_VALUE && columns <= Integer.MAX_VALUE
+            && tileSize > 0 && (long)(tileSize) * tileSize * Double.BYTES <= MAX_TILE_BYTES;
+    }
+
+    private static long tileCount(long rows, long columns, int tileSize) {
+        return ((rows + tileSize - 1) / tileSize) * ((columns + tileSize - 1) / tileSize);
+    }
+
+    /**
+     * Write the matrix in a tiled file.
+     */
+    public static TiledMatrix write(DenseMatrix matrix, String filePath, int tileSize) throws IOException {
+        TiledMatrix result = create(filePath, matrix.getRowCount(), matrix.getColumns(), tileSize);
+        double[] tile = new double[result.getTileLength()];
+
+        try {
+            for (int tileRow=0; tileRow < result.tileRows; tileRow++) {
+                for (int tileColumn=0; tileColumn < result.tileColumns; tileColumn++) {
+                    int startR = tileRow * tileSize;
+                    int startC = tileColumn * tileSize;
+                    int height = Math.min(tileSize, result.rows - startR);
+                    int width = Math.min(tileSize, result.columns - startC);
+                    if (height < tileSize || width < tileSize) {
+                        Arrays.fill(tile, 0.0);
+                    }
+
+                    for (int indexR=0; indexR < height; indexR++) {
+                        for (int indexC=0; indexC < width; indexC++) {
+                            tile[indexR*tileSize + indexC] = matrix.get(startR + indexR, startC + indexC);
+                        }
+                    }
+                    result.writeTile(tileRow, tileColumn, tile);
+                }
+            }
+        }
+        catch (IOException exception) {
+            result.close();
+            throw exception;
+        }
+        return result;
+    }
+
+    /**
+     * Convert a MappedMatrix file to a tiled file, a single tile is held in the heap at a time.
+     */
+    public static TiledMatrix convert(MappedMatrix matrix, String filePath, int tileSize) throws IOException {
+        TiledMatrix result = create(filePath, matrix.getRowCount(), matrix.getColumns(), tileSize);
+        double[] tile = new double[result.getTileLength()];
+
+        try {
+            for (int tileRow=0; tileRow < result.tileRows; tileRow++) {
+                for (int tileColumn=0; tileColumn < result.tileColumns; tileColumn++) {
+                    int startR = tileRow * tileSize;
+                    int startC = tileColumn * tileSize;
+                    int height = Math.min(tileSize, result.rows - startR);
+                    int width = Math.min(tileSize, result.columns - startC);
+                    if (height < tileSize || width < tileSize) {
+                        Arrays.fill(tile, 0.0);
+                    }
+
+                    for (int indexR=0; indexR < height; indexR++) {
+                        matrix.readRow(startR + indexR, startC, tile, indexR * tileSize, width);
+                    }
+                    result.writeTile(tileRow, tileColumn, tile);
+                }
+            }
+        }
+        catch (IOException exception) {
+            result.close();
+            throw exception;
+        }
+        return result;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    public int getTileColumns() {
+        return tileColumns;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    int getTileLength() {
+        return tileSize * tileSize;
+    }
+
+    private long tilePosition(int tileRow, int tileColumn) {
+        return HEADER_SIZE + ((long)(tileRow) * tileColumns + tileColumn) * getTileLength() * Double.BYTES;
+    }
+
+    /**
+     * Read the tileSize × tileSize values of the tile in the destination array.
+     */
+    synchronized void readTile(int tileRow, int tileColumn, double[] destination) throws IOException {
+        long position = tilePosition(tileRow, tileColumn);
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated tiled matrix file : " + filePath);
+            }
+        }
+        buffer.flip();
+        buffer.asDoubleBuffer().get(destination, 0, getTileLength());
+    }
+
+    /**
+     * Write the tileSize × tileSize values of the source array in the tile.
+     */
+    synchronized void writeTile(int tileRow, int tileColumn, double[] source) throws IOException {
+        long position = tilePosition(tileRow, tileColumn);
+        buffer.clear();
+        buffer.asDoubleBuffer().put(source, 0, getTileLength());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * @return a heap copy of the tile, without the padding of the last row and column of tiles
+     */
+    public Optional<DenseMatrix> getTile(int tileRow, int tileColumn) throws IOException {
+        if (tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns) {
+            return Optional.empty();
+        }
+        double[] tile = new double[getTileLength()];
+        readTile(tileRow, tileColumn, tile);
+
+        int height = Math.min(tileSize, rows - tileRow * tileSize);
+        int width = Math.min(tileSize, columns - tileColumn * tileSize);
+        return Optional.of(new DenseMatrix(tile, height, width, 0, tileSize, 1).copy());
+    }
+
+    /**
+     * Replace the values of a tile, the matrix must have the shape of the tile without its padding.
+     * @return false if the tile or the shape is invalid
+     */
+    public boolean setTile(int tileRow, int tileColumn, DenseMatrix matrix) throws IOException {
+        if (
+            matrix == null || tileRow < 0 || tileRow >= tileRows || tileColumn < 0 || tileColumn >= tileColumns
+            || matrix.getRowCount() != Math.min(tileSize, rows - tileRow * tileSize)
+            || matrix.getColumns() != Math.min(tileSize, columns - tileColumn * tileSize)
+        ) {
+            return false;
+        }
+        double[] tile = new double[getTileLength()];
+        for (int indexR=0; indexR < matrix.getRowCount(); indexR++) {
+            for (int indexC=0; indexC < matrix.getColumns(); indexC++) {
+                tile[indexR*tileSize + indexC] = matrix.get(indexR, indexC);
+            }
+        }
+        writeTile(tileRow, tileColumn, tile);
+        return true;
+    }
+
+    public Optional<Double> getValue(int row, int column) throws IOException {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return Optional.empty();
+        }
+        ByteBuffer value = ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long position = tilePosition(row / tileSize, column / tileSize)
+            + ((long)(row % tileSize) * tileSize + column % tileSize) * Double.BYTES;
+        while (value.hasRemaining()) {
+            if (channel.read(value, position + value.position()) < 0) {
+                throw new IOException("Truncated tiled matrix file : " + filePath);
+            }
+        }
+        return Optional.of(value.getDouble(0));
+    }
+
+    /**
+     * @return the whole matrix in the heap, only for the matrices that fit in it
+     */
+    public DenseMatrix toDense() throws IOException {
+        double[] array = new double[rows * columns];
+        double[] tile = new double[getTileLength()];
+
+        for (int tileRow=0; tileRow < tileRows; tileRow++) {
+            for (int tileColumn=0; tileColumn < tileColumns; tileColumn++) {
+                readTile(tileRow, tileColumn, tile);
+                int startR = tileRow * tileSize;
+                int startC = tileColumn * tileSize;
+                int height = Math.min(tileSize, rows - startR);
+                int width = Math.min(tileSize, columns - startC);
+
+                for (int indexR=0; indexR < height; indexR++) {
+                    System.arraycopy(tile, indexR * tileSize, array, (startR + indexR) * columns + startC, width);
+                }
+            }
+        }
+        return new DenseMatrix(array, rows, columns);
+    }
+
+    /**
+     * Product of two tiled matrices written in a new tiled file : C(i, j) = Σ A(i, t) × B(t, j).
+     * The tiles of C are computed one tile row after the other, so with a pool of 2 × (tile columns of A)
+     * tiles every tile of A is read once; B is streamed once per tile row of A.
+     * If the operation fails the result file is deleted.
+     * @return an empty Optional if the shapes or the tile sizes don't match, or if filePath is the file of an input
+     */
+    public static Optional<TiledMatrix> mult(
+        TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool, Progress progress
+    ) throws IOException {
+        if (
+            matrixA == null || matrixB == null || pool == null || progress == null
+            || matrixA.columns != matrixB.rows || matrixA.tileSize != matrixB.tileSize
+            || filePath == null || isFileOf(filePath, matrixA) || isFileOf(filePath, matrixB)
+        ) {
+            return Optional.empty();
+        }
+        int size = matrixA.tileSize;
+        TiledMatrix result = create(filePath, matrixA.rows, matrixB.columns, size);
+        double[] accumulator = new double[result.getTileLength()];
+        long total = (long)(result.tileRows) * result.tileColumns;
+        long done = 0;
+
+        try {
+            for (int tileRow=0; tileRow < result.tileRows; tileRow++) {
+                for (int tileColumn=0; tileColumn < result.tileColumns; tileColumn++) {
+                    Arrays.fill(accumulator, 0.0);
+
+                    for (int tileK=0; tileK < matrixA.tileColumns; tileK++) {
+                        DenseMatrix tileA = new DenseMatrix(pool.get(matrixA, tileRow, tileK), size, size);
+                        DenseMatrix tileB = new DenseMatrix(pool.get(matrixB, tileK, tileColumn), size, size);
+                        Gemm.multiply(tileA, tileB, accumulator);
+                    }
+                    result.writeTile(tileRow, tileColumn, accumulator);
+                    progress.update(++done, total);
+                }
+            }
+        }
+        catch (IOException | RuntimeException exception) {
+            result.discard(exception);
+            throw exception;
+        }
+        return Optional.of(result);
+    }
+
+    public static Optional<TiledMatrix> mult(TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool) throws IOException {
+        return mult(matrixA, matrixB, filePath, pool, (done, total) -> {});
+    }
+
+    /**
+     * Creating the result truncates its file : it can't be the file of an input that is still being read.
+     */
+    private static boolean isFileOf(String filePath, TiledMatrix matrix) throws IOException {
+        Path path = Paths.get(filePath);
+        Path input = Paths.get(matrix.filePath);
+        return path.toAbsolutePath().normalize().equals(input.toAbsolutePath().normalize())
+            || (Files.exists(path) && Files.isSameFile(path, input));
+    }
+
+    /**
+     * Close and delete the file of a result whose computation failed, the errors are added to 'exception'.
+     */
+    private void discard(Exception exception) {
+        try {
+            channel.close();
+            Files.deleteIfExists(Paths.get(filePath));
+        }
+        catch (IOException suppressed) {
+            exception.addSuppressed(suppressed);
+        }
+    }
+
+    /**
+     * Sum of two tiled matrices written in a new tiled file, deleted if the operation fails.
+     * @return an empty Optional if the shapes or the tile sizes don't match, or if filePath is the file of an input
+     */
+    public static Optional<TiledMatrix> sum(
+        TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool, Progress progress
+    ) throws IOException {
+        return simpleCompute(matrixA, matrixB, 1.0, filePath, pool, progress);
+    }
+
+    public static Optional<TiledMatrix> sum(TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool) throws IOException {
+        return sum(matrixA, matrixB, filePath, pool, (done, total) -> {});
+    }
+
+    /**
+     * Difference A - B of two tiled matrices written in a new tiled file, deleted if the operation fails.
+     * @return an empty Optional if the shapes or the tile sizes don't match, or if filePath is the file of an input
+     */
+    public static Optional<TiledMatrix> sub(
+        TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool, Progress progress
+    ) throws IOException {
+        return simpleCompute(matrixA, matrixB, -1.0, filePath, pool, progress);
+    }
+
+    public static Optional<TiledMatrix> sub(TiledMatrix matrixA, TiledMatrix matrixB, String filePath, TilePool pool) throws IOException {
+        return sub(matrixA, matrixB, filePath, pool, (done, total) -> {});
+    }
+
+    private static Optional<TiledMatrix> simpleCompute(
+        TiledMatrix matrixA, TiledMatrix matrixB, double factor, String filePath, TilePool pool, Progress progress
+    ) throws IOException {
+        if (
+            matrixA == null || matrixB == null || pool == null || progress == null
+            || matrixA.rows != matrixB.rows || matrixA.columns != matrixB.columns
+            || matrixA.tileSize != matrixB.tileSize
+            || filePath == null || isFileOf(filePath, matrixA) || isFileOf(filePath, matrixB)
+        ) {
+            return Optional.empty();
+        }
+        TiledMatrix result = create(filePath, matrixA.rows, matrixA.columns, matrixA.tileSize);
+        double[] accumulator = new double[result.getTileLength()];
+        long total = (long)(result.tileRows) * result.tileColumns;
+        long done = 0;
+
+        try {
+            for (int tileRow=0; tileRow < result.tileRows; tileRow++) {
+                for (int tileColumn=0; tileColumn < result.tileColumns; tileColumn++) {
+                    System.arraycopy(pool.get(matrixA, tileRow, tileColumn), 0, accumulator, 0, accumulator.length);
+                    Kernels.axpy(factor, pool.get(matrixB, tileRow, tileColumn), 0, accumulator, 0, accumulator.length);
+                    result.writeTile(tileRow, tileColumn, accumulator);
+                    progress.update(++done, total);
+                }
+            }
+        }
+        catch (IOException | RuntimeException exception) {
+            result.discard(exception);
+            throw exception;
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Write the modifications to the disk.
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            force();
+            channel.close();
+        }
+    }
+
+    public String toString() {
+        return String.format("TiledMatrix[%d x %d, tiles of %d]", rows, columns, tileSize);
+    }
+}
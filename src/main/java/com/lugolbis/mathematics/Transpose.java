@@ -0,0 +1,103 @@
+package com.lugolbis.mathematics;
+
+/**
+ * Cache-oblivious transposition : the matrix is split in halves along its largest dimension
+ * until the blocks fit in the cache, whatever its size is.
+ */
+final class Transpose {
+    static final int BLOCK = 16;
+
+    private Transpose() {}
+
+    /**
+     * Write the transposate of the source (rows × columns) in the row-major array destination (columns × rows).
+     */
+    static void copy(DenseMatrix source, double[] destination) {
+        copy(source, destination, 0, source.getRowCount(), 0, source.getColumns());
+    }
+
+    private static void copy(DenseMatrix source, double[] destination, int rowStart, int rowEnd, int columnStart, int columnEnd) {
+        int rows = rowEnd - rowStart;
+        int columns = columnEnd - columnStart;
+
+        if (rows <= BLOCK && columns <= BLOCK) {
+            double[] data = source.data();
+            int rowStride = source.rowStride();
+            int columnStride = source.columnStride();
+            int height = source.getRowCount();
+
+            for (int indexR=rowStart; indexR < rowEnd; indexR++) {
+                int position = source.offset() + indexR*rowStride + columnStart*columnStride;
+                for (int indexC=columnStart; indexC < columnEnd; indexC++) {
+                    destination[indexC*height + indexR] = data[position];
+                    position += columnStride;
+                }
+            }
+        }
+        else if (rows >= columns) {
+            int middle = rowStart + rows / 2;
+            copy(source, destination, rowStart, middle, columnStart, columnEnd);
+            copy(source, destination, middle, rowEnd, columnStart, columnEnd);
+        }
+        else {
+            int middle = columnStart + columns / 2;
+            copy(source, destination, rowStart, rowEnd, columnStart, middle);
+            copy(source, destination, rowStart, rowEnd, middle, columnEnd);
+        }
+    }
+
+    /**
+     * Transposate in place the square (size × size) row-major matrix stored at the beginning of data.
+     */
+    static void inPlace(double[] data, int size) {
+        inPlace(data, size, 0, size);
+    }
+
+    private static void inPlace(double[] data, int size, int start, int end) {
+        if (end - start <= BLOCK) {
+            for (int indexR=start; indexR < end; indexR++) {
+                for (int indexC=indexR+1; indexC < end; indexC++) {
+                    swap(data, indexR*size + indexC, indexC*size + indexR);
+                }
+            }
+        }
+        else {
+            int middle = start + (end - start) / 2;
+            inPlace(data, size, start, middle);
+            inPlace(data, size, middle, end);
+            swapBlocks(data, size, start, middle, middle, end);
+        }
+    }
+
+    /**
+     * Swap the block [rowStart, rowEnd[ × [columnStart, columnEnd[ with its mirror on the other side of the diagonal.
+     */
+    private static void swapBlocks(double[] data, int size, int rowStart, int rowEnd, int columnStart, int columnEnd) {
+        int rows = rowEnd - rowStart;
+        int columns = columnEnd - columnStart;
+
+        if (rows <= BLOCK && columns <= BLOCK) {
+            for (int indexR=rowStart; indexR < rowEnd; indexR++) {
+                for (int indexC=columnStart; indexC < columnEnd; indexC++) {
+                    swap(data, indexR*size + indexC, indexC*size + indexR);
+                }
+            }
+        }
+        else if (rows >= columns) {
+            int middle = rowStart + rows / 2;
+            swapBlocks(data, size, rowStart, middle, columnStart, columnEnd);
+            swapBlocks(data, size, middle, rowEnd, columnStart, columnEnd);
+        }
+        else {
+            int middle = columnStart + columns / 2;
+            swapBlocks(data, size, rowStart, rowEnd, columnStart, middle);
+            swapBlocks(data, size, rowStart, rowEnd, middle, columnEnd);
+        }
+    }
+
+    private static void swap(double[] data, int indexA, int indexB) {
+        double value = data[indexA];
+        data[indexA] = data[indexB];
+        data[indexB] = value;
+    }
+}
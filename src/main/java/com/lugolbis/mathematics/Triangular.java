@@ -0,0 +1,160 @@
+package com.lugolbis.mathematics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Forward and backward substitutions used by the decompositions, solved in place in B.
+ * The triangular factor is the top-left (n × n) block of a row-major array whose rows are 'stride' apart,
+ * B is a row-major (n × m) array. The columns of B are independent, so they are split in ranges
+ * computed on the common ForkJoinPool; a single column uses Kernels.dot on the rows of the factor.
+ */
+final class Triangular {
+    private static final int CHUNK = 64;
+
+    private Triangular() {}
+
+    private enum Kind {
+        LOWER,
+        UNIT_LOWER,
+        UPPER,
+        LOWER_TRANSPOSED
+    }
+
+    /**
+     * Solve L × X = B where L is lower triangular, with an implicit unit diagonal if 'unit'.
+     */
+    static void solveLower(double[] a, int n, int stride, boolean unit, double[] b, int m) {
+        run(unit ? Kind.UNIT_LOWER : Kind.LOWER, a, n, stride, b, m);
+    }
+
+    /**
+     * Solve U × X = B where U is upper triangular.
+     */
+    static void solveUpper(double[] a, int n, int stride, double[] b, int m) {
+        run(Kind.UPPER, a, n, stride, b, m);
+    }
+
+    /**
+     * Solve Lᵀ × X = B where L is lower triangular.
+     */
+    static void solveLowerTransposed(double[] a, int n, int stride, double[] b, int m) {
+        run(Kind.LOWER_TRANSPOSED, a, n, stride, b, m);
+    }
+
+    private static void run(Kind kind, double[] a, int n, int stride, double[] b, int m) {
+        Substitution task = new Substitution(kind, a, n, stride, b, m, 0, m);
+
+        if (m <= CHUNK || (long)(n) * n * m < Gemm.PARALLEL_THRESHOLD) {
+            task.compute();
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private static class Substitution extends RecursiveAction {
+        private final Kind kind;
+        private final double[] a;
+        private final int n;
+        private final int stride;
+        private final double[] b;
+        private final int m;
+        private final int start;
+        private final int end;
+
+        private Substitution(Kind kind, double[] a, int n, int stride, double[] b, int m, int start, int end) {
+            this.kind = kind;
+            this.a = a;
+            this.n = n;
+            this.stride = stride;
+            this.b = b;
+            this.m = m;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > CHUNK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(
+                    new Substitution(kind, a, n, stride, b, m, start, middle),
+                    new Substitution(kind, a, n, stride, b, m, middle, end)
+                );
+            }
+            else if (m == 1) {
+                solveVector();
+            }
+            else {
+                solveColumns();
+            }
+        }
+
+        private void solveVector() {
+            switch (kind) {
+                case LOWER :
+                case UNIT_LOWER :
+                    for (int row=0; row < n; row++) {
+                        double value = b[row] - Kernels.dot(a, row*stride, b, 0, row);
+                        b[row] = kind == Kind.UNIT_LOWER ? value : value / a[row*stride + row];
+                    }
+                    break;
+                case UPPER :
+                    for (int row=n - 1; row >= 0; row--) {
+                        int diagonal = row*stride + row;
+                        b[row] = (b[row] - Kernels.dot(a, diagonal + 1, b, row + 1, n - row - 1)) / a[diagonal];
+                    }
+                    break;
+                default :
+                    // The column 'row' of Lᵀ is the row 'row' of L
+                    for (int row=n - 1; row >= 0; row--) {
+                        b[row] /= a[row*stride + row];
+                        Kernels.axpy(-b[row], a, row*stride, b, 0, row);
+                    }
+            }
+        }
+
+        private void solveColumns() {
+            int length = end - start;
+
+            switch (kind) {
+                case LOWER :
+                case UNIT_LOWER :
+                    for (int row=0; row < n; row++) {
+                        int target = row*m + start;
+                        for (int index=0; index < row; index++) {
+                            Kernels.axpy(-a[row*stride + index], b, index*m + start, b, target, length);
+                        }
+                        if (kind == Kind.LOWER) {
+                            scale(target, length, 1.0 / a[row*stride + row]);
+                        }
+                    }
+                    break;
+                case UPPER :
+                    for (int row=n - 1; row >= 0; row--) {
+                        int target = row*m + start;
+                        for (int index=row + 1; index < n; index++) {
+                            Kernels.axpy(-a[row*stride + index], b, index*m + start, b, target, length);
+                        }
+                        scale(target, length, 1.0 / a[row*stride + row]);
+                    }
+                    break;
+                default :
+                    for (int row=n - 1; row >= 0; row--) {
+                        int source = row*m + start;
+                        scale(source, length, 1.0 / a[row*stride + row]);
+                        for (int index=0; index < row; index++) {
+                            Kernels.axpy(-a[row*stride + index], b, source, b, index*m + start, length);
+                        }
+                    }
+            }
+        }
+
+        private void scale(int position, int length, double k) {
+            for (int index=position; index < position + length; index++) {
+                b[index] *= k;
+            }
+        }
+    }
+}
@@ -40,6 +40,17 @@ public class Vector {
         return values;
     }
 
+    /**
+     * @return a copy of the values in a primitive array
+     */
+    public double[] toArray() {
+        double[] array = new double[values.size()];
+        for (int index=0; index < array.length; index++) {
+            array[index] = values.get(index);
+        }
+        return array;
+    }
+
     public int getSize() {
         return values.size();
     }
@@ -68,12 +79,7 @@ public class Vector {
 
     public Optional<Double> multScalar(Vector vector) {
         if (vector != null && values.size() == vector.values.size()) {
-            double result = 0;
-
-            for(int index=0; index < values.size(); index++) {
-                result += values.get(index) * vector.values.get(index);
-            }
-            return Optional.of(result);
+            return Optional.of(Kernels.dot(toArray(), 0, vector.toArray(), 0, values.size()));
         }
         else {
             return Optional.empty();
@@ -101,12 +107,7 @@ public class Vector {
             && vector.type == Type.Column
             && values.size() == vector.values.size()
         ) {
-            ArrayList<Double> other_values = vector.values;
-            double result = 0;
-            for (int index=0; index < values.size(); index++) {
-                result += values.get(index) * other_values.get(index);
-            }
-            return Optional.of(result);
+            return Optional.of(Kernels.dot(toArray(), 0, vector.toArray(), 0, values.size()));
         }
         return Optional.empty();
     }
@@ -141,15 +142,22 @@ public class Vector {
             && type == Type.Row
             && values.size() == matrix.getShape().rows
         ) {
-            ArrayList<Double> result = new ArrayList<>();
-
-            for (int indexC=0; indexC < matrix.getShape().columns; indexC++) {
-                List<Double> column = matrix.unsafeGetColumn(indexC);
+            // Each row is unboxed in a single reused buffer for Kernels.axpy, the matrix is never copied whole
+            ArrayList<Double> rows = matrix.getRows();
+            int columns = matrix.getColumns();
+            double[] array = new double[columns];
+            double[] row = new double[columns];
 
-                double value = 0;
-                for (int index=0; index < values.size(); index++) {
-                    value += values.get(index) * column.get(index);
+            for (int index=0; index < values.size(); index++) {
+                int position = index * columns;
+                for (int indexC=0; indexC < columns; indexC++) {
+                    row[indexC] = rows.get(position + indexC);
                 }
+                Kernels.axpy(values.get(index), row, 0, array, 0, columns);
+            }
+
+            ArrayList<Double> result = new ArrayList<>(columns);
+            for (double value : array) {
                 result.add(value);
             }
             return Optional.of(new Vector(result, Type.Row));
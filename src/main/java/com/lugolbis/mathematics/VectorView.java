@@ -0,0 +1,127 @@
+package com.lugolbis.mathematics;
+
+import java.util.Optional;
+
+/**
+ * Strided view over the values of a matrix : a row, a column or a diagonal.
+ * The element i is data[offset + i*stride], nothing is copied so a write through set is seen by the matrix.
+ */
+public final class VectorView {
+    private final double[] data;
+    private final int offset;
+    private final int stride;
+    private final int size;
+
+    VectorView(double[] data, int offset, int stride, int size) {
+        this.data = data;
+        this.offset = offset;
+        this.stride = stride;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int index) {
+        return data[offset + index*stride];
+    }
+
+    public void set(int index, double value) {
+        data[offset + index*stride] = value;
+    }
+
+    public Optional<Double> getValue(int index) {
+        if (index >= 0 && index < size) {
+            return Optional.of(get(index));
+        }
+        else {
+            return Optional.empty();
+        }
+    }
+
+    double[] data() {
+        return data;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int stride() {
+        return stride;
+    }
+
+    /**
+     * @return true if the values are next to each other in memory
+     */
+    public boolean isContiguous() {
+        return stride == 1;
+    }
+
+    public double[] toArray() {
+        double[] array = new double[size];
+        if (stride == 1) {
+            System.arraycopy(data, offset, array, 0, size);
+            return array;
+        }
+        for (int index=0; index < size; index++) {
+            array[index] = data[offset + index*stride];
+        }
+        return array;
+    }
+
+    public Optional<Double> dot(VectorView other) {
+        if (other == null || other.size != size) {
+            return Optional.empty();
+        }
+        if (stride == 1 && other.stride == 1) {
+            return Optional.of(Kernels.dot(data, offset, other.data, other.offset, size));
+        }
+
+        double result = 0.0;
+        for (int index=0; index < size; index++) {
+            result += get(index) * other.get(index);
+        }
+        return Optional.of(result);
+    }
+
+    public Optional<Double> dot(double[] other) {
+        return other != null ? dot(new VectorView(other, 0, 1, other.length)) : Optional.empty();
+    }
+
+    /**
+     * this += k × other, in place.
+     * @return this view, or an empty Optional if the sizes don't match
+     */
+    public Optional<VectorView> axpy(double k, VectorView other) {
+        if (other == null || other.size != size) {
+            return Optional.empty();
+        }
+        if (stride == 1 && other.stride == 1) {
+            Kernels.axpy(k, other.data, other.offset, data, offset, size);
+            return Optional.of(this);
+        }
+        for (int index=0; index < size; index++) {
+            set(index, get(index) + k * other.get(index));
+        }
+        return Optional.of(this);
+    }
+
+    public void fill(double value) {
+        for (int index=0; index < size; index++) {
+            data[offset + index*stride] = value;
+        }
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int index=0; index < size; index++) {
+            if (index > 0) {
+                builder.append(", ");
+            }
+            builder.append(get(index));
+        }
+        return builder.append("]").toString();
+    }
+}
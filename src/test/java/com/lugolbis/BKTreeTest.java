@@ -0,0 +1,160 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.BKTree;
+import com.lugolbis.mathematics.Distance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BKTreeTest {
+    private final List<String> dictionary = Arrays.asList(
+        "book", "books", "cake", "boo", "boon", "cook", "cape", "cart", "back", "kitten", "sitting", "book"
+    );
+
+    private List<String> randomWords(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>();
+        for (int index=0; index < count; index++) {
+            StringBuilder builder = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int indexC=0; indexC < length; indexC++) {
+                builder.append((char)('a' + random.nextInt(6)));
+            }
+            words.add(builder.toString());
+        }
+        return words;
+    }
+
+    private List<String> words(List<BKTree.Match> matches) {
+        List<String> result = new ArrayList<>();
+        for (BKTree.Match match : matches) {
+            result.add(match.getWord());
+        }
+        return result;
+    }
+
+    @Test
+    void testBuild() {
+        BKTree tree = BKTree.build(dictionary).get();
+        assertEquals(11, tree.size());
+        assertTrue(BKTree.build(null).isEmpty());
+        assertTrue(BKTree.build(Arrays.asList("a", null)).isEmpty());
+        assertEquals(0, BKTree.build(new ArrayList<>()).get().size());
+    }
+
+    @Test
+    void testSearch() {
+        BKTree tree = BKTree.build(dictionary).get();
+
+        List<BKTree.Match> matches = tree.search("book", 1).get();
+        assertEquals(Arrays.asList("book", "boo", "books", "boon", "cook"), words(matches));
+        assertEquals(0, matches.get(0).getDistance());
+        assertEquals(1, matches.get(4).getDistance());
+
+        assertTrue(tree.search("zzzzzz", 1).get().isEmpty());
+        assertTrue(tree.search(null, 1).isEmpty());
+        assertTrue(tree.search("book", -1).isEmpty());
+        assertTrue(BKTree.build(new ArrayList<>()).get().search("book", 2).get().isEmpty());
+    }
+
+    @Test
+    void testSearch_MatchesBruteForce() {
+        List<String> words = randomWords(2000, 1);
+        BKTree tree = BKTree.build(words).get();
+
+        for (String query : randomWords(20, 2)) {
+            for (int maxDistance=0; maxDistance <= 3; maxDistance++) {
+                List<String> expected = new ArrayList<>();
+                for (String word : new TreeSet<>(words)) {
+                    if (Distance.Levenshtein(query, word).get() <= maxDistance) {
+                        expected.add(word);
+                    }
+                }
+                List<String> found = words(tree.search(query, maxDistance).get());
+                found.sort(null);
+                assertEquals(expected, found);
+            }
+        }
+    }
+
+    @Test
+    void testNearest() {
+        BKTree tree = BKTree.build(dictionary).get();
+
+        assertEquals(Arrays.asList("book", "boo", "books"), words(tree.nearest("book", 3).get()));
+        assertEquals(Arrays.asList("kitten", "sitting"), words(tree.nearest("sitten", 2).get()));
+        assertEquals(11, tree.nearest("x", 50).get().size());
+        assertTrue(tree.nearest("book", 0).isEmpty());
+    }
+
+    @Test
+    void testNearest_MatchesBruteForce() {
+        List<String> words = randomWords(2000, 3);
+        BKTree tree = BKTree.build(words).get();
+
+        for (String query : randomWords(20, 4)) {
+            List<BKTree.Match> matches = tree.nearest(query, 5).get();
+            assertEquals(5, matches.size());
+
+            List<Integer> distances = new ArrayList<>();
+            for (String word : new TreeSet<>(words)) {
+                distances.add(Distance.Levenshtein(query, word).get().intValue());
+            }
+            distances.sort(null);
+            for (int index=0; index < 5; index++) {
+                assertEquals(distances.get(index), matches.get(index).getDistance());
+            }
+        }
+    }
+
+    @Test
+    void testSaveLoad_RoundTrip() throws IOException {
+        Path file = Files.createTempFile("bktree", ".bin");
+        try {
+            BKTree tree = BKTree.build(randomWords(500, 5)).get();
+            tree.save(file.toString());
+            BKTree loaded = BKTree.load(file.toString());
+
+            assertEquals("BKTD", new String(Files.readAllBytes(file), 0, 4, StandardCharsets.US_ASCII));
+            assertEquals(tree.size(), loaded.size());
+            assertEquals(words(tree.search("abcab", 2).get()), words(loaded.search("abcab", 2).get()));
+            assertEquals(words(tree.nearest("fedcba", 4).get()), words(loaded.nearest("fedcba", 4).get()));
+
+            Files.write(file, new byte[] {1, 2, 3, 4});
+            assertThrows(IOException.class, () -> BKTree.load(file.toString()));
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testLoad_Fail_CountsLargerThanFile() throws IOException {
+        Path file = Files.createTempFile("bktree", ".bin");
+        try {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            header.putInt(BKTree.MAGIC).putInt(BKTree.VERSION).putInt(Integer.MAX_VALUE).putInt(0);
+            Files.write(file, header.array());
+            assertThrows(IOException.class, () -> BKTree.load(file.toString()));
+
+            header.clear();
+            header.putInt(BKTree.MAGIC).putInt(BKTree.VERSION).putInt(1).putInt(Integer.MAX_VALUE);
+            Files.write(file, header.array());
+            assertThrows(IOException.class, () -> BKTree.load(file.toString()));
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
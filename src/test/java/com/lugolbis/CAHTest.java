@@ -2,12 +2,19 @@ package com.lugolbis;
 
 import com.lugolbis.algorithms.CAH;
 
+import com.lugolbis.mathematics.Distance;
 import com.lugolbis.mathematics.Point;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -113,4 +120,102 @@ class CAHTest {
         assertTrue(firstCluster.getPoints().contains(close1));
         assertTrue(firstCluster.getPoints().contains(close2));
     }
+
+    @Test
+    void testAverageLinkage_TwoClusters() {
+        List<Point> points = new ArrayList<>();
+        for (int index=0; index < 5; index++) {
+            points.add(new Point(index * 0.1, 0.0));
+            points.add(new Point(50.0 + index * 0.1, 50.0));
+        }
+
+        CAH.Group root = CAH.run(points, CAH.Strategy.AverageLinkage).get();
+        List<Point> clusterA = root.getGroupA().get().getPoints();
+        List<Point> clusterB = root.getGroupB().get().getPoints();
+
+        assertEquals(5, clusterA.size());
+        assertEquals(5, clusterB.size());
+        for (Point point : clusterA) {
+            assertEquals(clusterA.get(0).getCoordinates().get(1), point.getCoordinates().get(1));
+        }
+    }
+
+    /**
+     * Clusters merged by a naive CAH computing every distance with Distance.Euclidian, as sets of point indexes.
+     */
+    private Set<Set<Integer>> referenceClusters(List<Point> points, boolean single) {
+        int n = points.size();
+        List<Set<Integer>> clusters = new ArrayList<>();
+        for (int index=0; index < n; index++) {
+            clusters.add(new TreeSet<>(List.of(index)));
+        }
+        Set<Set<Integer>> merged = new HashSet<>();
+
+        while (clusters.size() > 1) {
+            double minimum = Double.POSITIVE_INFINITY;
+            int bestA = 0;
+            int bestB = 1;
+            for (int indexA=0; indexA < clusters.size(); indexA++) {
+                for (int indexB=indexA + 1; indexB < clusters.size(); indexB++) {
+                    double linkage = single ? Double.POSITIVE_INFINITY : 0.0;
+                    for (int pointA : clusters.get(indexA)) {
+                        for (int pointB : clusters.get(indexB)) {
+                            double distance = Distance.Euclidian(points.get(pointA), points.get(pointB)).get();
+                            linkage = single ? Math.min(linkage, distance) : Math.max(linkage, distance);
+                        }
+                    }
+                    if (linkage < minimum) {
+                        minimum = linkage;
+                        bestA = indexA;
+                        bestB = indexB;
+                    }
+                }
+            }
+            Set<Integer> cluster = new TreeSet<>(clusters.get(bestA));
+            cluster.addAll(clusters.remove(bestB));
+            clusters.set(bestA, cluster);
+            merged.add(cluster);
+        }
+        return merged;
+    }
+
+    private Set<Set<Integer>> clusters(CAH.Group group, Map<Point, Integer> indexes, Set<Set<Integer>> result) {
+        if (group.getPoint().isEmpty()) {
+            Set<Integer> cluster = new TreeSet<>();
+            for (Point point : group.getPoints()) {
+                cluster.add(indexes.get(point));
+            }
+            result.add(cluster);
+            clusters(group.getGroupA().get(), indexes, result);
+            clusters(group.getGroupB().get(), indexes, result);
+        }
+        return result;
+    }
+
+    @Test
+    void testNearDuplicates_ManyDimensions_MatchExactDistances() {
+        // Points far from the origin with near-duplicates : ‖a‖² + ‖b‖² − 2 a·b cancels for these pairs
+        Random random = new Random(7);
+        int dimensions = 32;
+        List<Point> points = new ArrayList<>();
+        for (int base=0; base < 15; base++) {
+            double[] center = TestData.uniform(dimensions, 1000.0, 1001.0, random);
+            for (int copy=0; copy < 4; copy++) {
+                double[] coordinates = center.clone();
+                for (int index=0; index < dimensions; index++) {
+                    coordinates[index] += random.nextDouble() * 1e-6 * (copy + 1);
+                }
+                points.add(new Point(coordinates));
+            }
+        }
+        Map<Point, Integer> indexes = new IdentityHashMap<>();
+        for (int index=0; index < points.size(); index++) {
+            indexes.put(points.get(index), index);
+        }
+
+        CAH.Group single = CAH.run(points, CAH.Strategy.SingleLinkage).get();
+        assertEquals(referenceClusters(points, true), clusters(single, indexes, new HashSet<>()));
+        CAH.Group complete = CAH.run(points, CAH.Strategy.CompleteLinkage).get();
+        assertEquals(referenceClusters(points, false), clusters(complete, indexes, new HashSet<>()));
+    }
 }
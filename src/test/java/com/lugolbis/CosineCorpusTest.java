@@ -0,0 +1,92 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.CosineCorpus;
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.Similarity;
+import com.lugolbis.mathematics.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CosineCorpusTest {
+    @Test
+    void testCosine() {
+        assertEquals(1.0, Similarity.Cosine(new double[] {1.0, 2.0}, new double[] {2.0, 4.0}).get(), 1e-12);
+        assertEquals(0.0, Similarity.Cosine(new double[] {1.0, 0.0}, new double[] {0.0, 3.0}).get(), 1e-12);
+        assertEquals(-1.0, Similarity.Cosine(new Point(1.0, 1.0), new Point(-2.0, -2.0)).get(), 1e-12);
+        assertEquals(0.0, Similarity.Cosine(new double[2], new double[] {1.0, 1.0}).get(), 1e-12);
+        assertTrue(Similarity.Cosine(new double[2], new double[3]).isEmpty());
+
+        Vector vectorA = Vector.newVector(new ArrayList<>(List.of(3.0, 4.0)), Vector.Type.Row).get();
+        Vector vectorB = Vector.newVector(new ArrayList<>(List.of(4.0, 3.0)), Vector.Type.Column).get();
+        assertEquals(24.0 / 25.0, Similarity.Cosine(vectorA, vectorB).get(), 1e-12);
+    }
+
+    @Test
+    void testSimilarities() {
+        List<Point> corpusPoints = TestData.gaussianPoints(500, 24, new Random(1));
+        corpusPoints.set(3, new Point(new double[24]));
+        CosineCorpus corpus = CosineCorpus.fromPoints(corpusPoints).get();
+        assertEquals(500, corpus.size());
+        assertEquals(24, corpus.getDimensions());
+        assertEquals(0.0, corpus.getNorm(3).get(), 1e-12);
+        assertTrue(corpus.getNorm(500).isEmpty());
+
+        for (Point query : TestData.gaussianPoints(5, 24, new Random(2))) {
+            double[] scores = corpus.similarities(query).get();
+            for (int index=0; index < scores.length; index++) {
+                assertEquals(Similarity.Cosine(query, corpusPoints.get(index)).get(), scores[index], 1e-12);
+            }
+        }
+
+        double[] destination = new double[500];
+        assertSame(destination, corpus.similarities(new double[24], destination).get());
+        assertTrue(corpus.similarities(new double[23]).isEmpty());
+        assertTrue(corpus.similarities(new double[24], new double[499]).isEmpty());
+        assertTrue(CosineCorpus.fromPoints(Arrays.asList(new Point(1.0), new Point(1.0, 2.0))).isEmpty());
+        assertTrue(CosineCorpus.fromPoints(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    void testSimilarities_Batch() {
+        List<Point> corpusPoints = TestData.gaussianPoints(300, 32, new Random(3));
+        List<Point> queryPoints = TestData.gaussianPoints(40, 32, new Random(4));
+        double[] corpusValues = new double[300 * 32];
+        double[] queryValues = new double[40 * 32];
+        for (int index=0; index < 300; index++) {
+            System.arraycopy(corpusPoints.get(index).toArray(), 0, corpusValues, index * 32, 32);
+        }
+        for (int index=0; index < 40; index++) {
+            System.arraycopy(queryPoints.get(index).toArray(), 0, queryValues, index * 32, 32);
+        }
+
+        CosineCorpus corpus = CosineCorpus.of(DenseMatrix.newDenseMatrix(corpusValues, 32).get()).get();
+        DenseMatrix scores = corpus.similarities(DenseMatrix.newDenseMatrix(queryValues, 32).get()).get();
+        assertEquals(40, scores.getRowCount());
+        assertEquals(300, scores.getColumns());
+        for (int i=0; i < 40; i++) {
+            for (int j=0; j < 300; j++) {
+                assertEquals(Similarity.Cosine(queryPoints.get(i), corpusPoints.get(j)).get(), scores.get(i, j), 1e-12);
+            }
+        }
+        assertTrue(corpus.similarities(DenseMatrix.zeros(2, 31).get()).isEmpty());
+    }
+
+    @Test
+    void testFromVectors() {
+        List<Vector> vectors = new ArrayList<>();
+        vectors.add(Vector.newVector(new ArrayList<>(List.of(1.0, 0.0)), Vector.Type.Row).get());
+        vectors.add(Vector.newVector(new ArrayList<>(List.of(1.0, 1.0)), Vector.Type.Row).get());
+        CosineCorpus corpus = CosineCorpus.fromVectors(vectors).get();
+
+        Vector query = Vector.newVector(new ArrayList<>(List.of(0.0, 2.0)), Vector.Type.Row).get();
+        assertArrayEquals(new double[] {0.0, Math.sqrt(0.5)}, corpus.similarities(query).get(), 1e-12);
+        assertEquals(Math.sqrt(2.0), corpus.getNorm(1).get(), 1e-12);
+    }
+}
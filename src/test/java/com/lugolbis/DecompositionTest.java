@@ -0,0 +1,197 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.Cholesky;
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.LU;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.QR;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecompositionTest {
+    private static final double EPSILON = 1e-9;
+
+    private DenseMatrix randomSymmetricPositiveDefinite(int size, long seed) {
+        DenseMatrix matrix = TestData.randomMatrix(size, size, seed);
+        DenseMatrix result = DenseMatrix.mult(matrix, matrix.transposed()).get();
+        for (int index=0; index < size; index++) {
+            result.set(index, index, result.get(index, index) + size);
+        }
+        return result;
+    }
+
+    private double[] randomVector(int size, long seed) {
+        return TestData.randomMatrix(1, size, seed).toArray();
+    }
+
+    private void assertMatrixEquals(DenseMatrix expected, DenseMatrix actual, double epsilon) {
+        assertEquals(expected.getRowCount(), actual.getRowCount());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        assertArrayEquals(expected.toArray(), actual.toArray(), epsilon);
+    }
+
+    private DenseMatrix identity(int size) {
+        DenseMatrix matrix = DenseMatrix.zeros(size, size).get();
+        for (int index=0; index < size; index++) {
+            matrix.set(index, index, 1.0);
+        }
+        return matrix;
+    }
+
+    @Test
+    void testLU_Small() {
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {0.0, 2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0}, 3).get();
+        LU lu = LU.decompose(matrix).get();
+
+        assertFalse(lu.isSingular());
+        assertEquals(-3.0, lu.determinant(), EPSILON);
+        assertArrayEquals(new double[] {1.0, 1.0, 1.0}, lu.solve(new double[] {3.0, 3.0, 6.0}).get(), EPSILON);
+    }
+
+    @Test
+    void testLU_Blocked_ReconstructsPA() {
+        int size = 150;
+        DenseMatrix matrix = TestData.randomMatrix(size, size, 1);
+        LU lu = LU.decompose(matrix).get();
+
+        int[] pivots = lu.getPivots();
+        DenseMatrix permuted = DenseMatrix.zeros(size, size).get();
+        for (int indexR=0; indexR < size; indexR++) {
+            for (int indexC=0; indexC < size; indexC++) {
+                permuted.set(indexR, indexC, matrix.get(pivots[indexR], indexC));
+            }
+        }
+        assertMatrixEquals(permuted, DenseMatrix.mult(lu.getL(), lu.getU()).get(), 1e-10);
+    }
+
+    @Test
+    void testLU_SolveAndInverse() {
+        int size = 130;
+        DenseMatrix matrix = TestData.randomMatrix(size, size, 2);
+        double[] expected = randomVector(size, 3);
+        double[] b = matrix.multVector(expected).get();
+
+        LU lu = LU.decompose(matrix).get();
+        assertArrayEquals(expected, lu.solve(b).get(), 1e-8);
+        assertMatrixEquals(identity(size), DenseMatrix.mult(matrix, lu.inverse().get()).get(), 1e-8);
+
+        DenseMatrix rightHandSides = TestData.randomMatrix(size, 70, 4);
+        DenseMatrix solution = lu.solve(rightHandSides).get();
+        assertMatrixEquals(rightHandSides, DenseMatrix.mult(matrix, solution).get(), 1e-8);
+    }
+
+    @Test
+    void testLU_Singular() {
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 2.0, 4.0}, 2).get();
+        LU lu = LU.decompose(matrix).get();
+
+        assertTrue(lu.isSingular());
+        assertEquals(0.0, lu.determinant(), EPSILON);
+        assertTrue(lu.solve(new double[] {1.0, 1.0}).isEmpty());
+        assertTrue(lu.inverse().isEmpty());
+    }
+
+    @Test
+    void testLU_Fail_NotSquare() {
+        assertTrue(LU.decompose(TestData.randomMatrix(2, 3, 5)).isEmpty());
+        assertTrue(LU.decompose((DenseMatrix)(null)).isEmpty());
+    }
+
+    @Test
+    void testCholesky_Blocked() {
+        int size = 140;
+        DenseMatrix matrix = randomSymmetricPositiveDefinite(size, 6);
+        Cholesky cholesky = Cholesky.decompose(matrix).get();
+
+        DenseMatrix l = cholesky.getL();
+        assertEquals(0.0, l.get(0, size - 1));
+        assertMatrixEquals(matrix, DenseMatrix.mult(l, l.transposed()).get(), 1e-9);
+
+        double[] expected = randomVector(size, 7);
+        assertArrayEquals(expected, cholesky.solve(matrix.multVector(expected).get()).get(), 1e-9);
+        assertMatrixEquals(identity(size), DenseMatrix.mult(matrix, cholesky.inverse()).get(), 1e-9);
+        assertEquals(LU.decompose(matrix).get().determinant(), cholesky.determinant(), Math.abs(cholesky.determinant()) * 1e-9);
+    }
+
+    @Test
+    void testCholesky_Fail_NotPositiveDefinite() {
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 2.0, 1.0}, 2).get();
+        assertTrue(Cholesky.decompose(matrix).isEmpty());
+        assertTrue(Cholesky.decompose(TestData.randomMatrix(2, 3, 8)).isEmpty());
+    }
+
+    @Test
+    void testQR_Blocked_Orthonormal() {
+        DenseMatrix matrix = TestData.randomMatrix(200, 90, 9);
+        QR qr = QR.decompose(matrix).get();
+
+        DenseMatrix q = qr.getQ();
+        DenseMatrix r = qr.getR();
+        assertEquals(0.0, r.get(89, 0));
+        assertMatrixEquals(matrix, DenseMatrix.mult(q, r).get(), 1e-10);
+        assertMatrixEquals(identity(90), DenseMatrix.mult(q.transposed(), q).get(), 1e-10);
+    }
+
+    @Test
+    void testQR_SolveSquareAndDeterminant() {
+        int size = 75;
+        DenseMatrix matrix = TestData.randomMatrix(size, size, 10);
+        double[] expected = randomVector(size, 11);
+        QR qr = QR.decompose(matrix).get();
+
+        assertArrayEquals(expected, qr.solve(matrix.multVector(expected).get()).get(), 1e-9);
+        double determinant = LU.decompose(matrix).get().determinant();
+        assertEquals(determinant, qr.determinant().get(), Math.abs(determinant) * 1e-9);
+    }
+
+    @Test
+    void testQR_LeastSquares() {
+        // Fit y = 2x + 1 on points with a symmetric noise
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {0.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 1.0}, 2).get();
+        double[] y = {1.5, 2.5, 4.5, 7.5};
+        QR qr = QR.decompose(matrix).get();
+
+        assertArrayEquals(new double[] {2.0, 1.0}, qr.solve(y).get(), EPSILON);
+        assertTrue(qr.determinant().isEmpty());
+
+        DenseMatrix solution = qr.solve(DenseMatrix.newDenseMatrix(y, 1).get()).get();
+        assertArrayEquals(new double[] {2.0, 1.0}, solution.toArray(), EPSILON);
+    }
+
+    @Test
+    void testQR_Fail() {
+        assertTrue(QR.decompose(TestData.randomMatrix(2, 3, 12)).isEmpty());
+
+        DenseMatrix rankDeficient = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 2.0, 4.0, 3.0, 6.0}, 2).get();
+        QR qr = QR.decompose(rankDeficient).get();
+        assertFalse(qr.isFullRank());
+        assertTrue(qr.solve(new double[] {1.0, 2.0, 3.0}).isEmpty());
+    }
+
+    @Test
+    void testHelpers_DenseMatrixAndMatrix() {
+        DenseMatrix dense = DenseMatrix.newDenseMatrix(new double[] {4.0, 7.0, 2.0, 6.0}, 2).get();
+        assertEquals(10.0, dense.determinant().get(), EPSILON);
+        assertArrayEquals(new double[] {0.6, -0.7, -0.2, 0.4}, dense.inverse().get().toArray(), EPSILON);
+        assertArrayEquals(new double[] {1.0, 1.0}, dense.solve(new double[] {11.0, 8.0}).get(), EPSILON);
+        assertTrue(TestData.randomMatrix(2, 3, 13).determinant().isEmpty());
+
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(4.0, 7.0, 2.0, 6.0)), 2).get();
+        assertEquals(10.0, matrix.determinant().get(), EPSILON);
+        List<Double> inverse = matrix.inverse().get().getRows();
+        assertEquals(0.6, inverse.get(0), EPSILON);
+        assertEquals(0.4, inverse.get(3), EPSILON);
+    }
+
+    @Test
+    void testHelpers_Fail_RaggedMatrix() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0)), 2).get();
+
+        assertTrue(matrix.determinant().isEmpty());
+        assertTrue(matrix.inverse().isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.Accumulation;
+import com.lugolbis.mathematics.DenseFloatMatrix;
+import com.lugolbis.mathematics.DenseFloatVector;
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DenseFloatMatrixTest {
+
+    private DenseFloatMatrix createSampleMatrix2x3() {
+        return DenseFloatMatrix.newDenseFloatMatrix(new float[] {1f, 2f, 3f, 4f, 5f, 6f}, 3).get();
+    }
+
+    @Test
+    void testNewDenseFloatMatrix() {
+        DenseFloatMatrix matrix = createSampleMatrix2x3();
+        assertEquals(2, matrix.getRowCount());
+        assertEquals(3, matrix.getColumns());
+        assertEquals(6f, matrix.get(1, 2));
+        assertTrue(matrix.getValue(2, 0).isEmpty());
+
+        assertTrue(DenseFloatMatrix.newDenseFloatMatrix(new float[] {1f, 2f, 3f}, 2).isEmpty());
+        assertTrue(DenseFloatMatrix.newDenseFloatMatrix(null, 2).isEmpty());
+    }
+
+    @Test
+    void testConversion_RoundTrip() {
+        DenseMatrix dense = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.5, -3.0, 4.0}, 2).get();
+        DenseFloatMatrix matrix = DenseFloatMatrix.fromDense(dense).get();
+
+        assertArrayEquals(dense.toArray(), matrix.toDense().toArray());
+        assertEquals(dense.toMatrix().getRows(), matrix.toMatrix().getRows());
+    }
+
+    @Test
+    void testSumSubMult() {
+        DenseFloatMatrix matrix = createSampleMatrix2x3();
+
+        assertArrayEquals(new float[] {2f, 4f, 6f, 8f, 10f, 12f}, DenseFloatMatrix.sum(matrix, matrix).get().toArray());
+        assertArrayEquals(new float[6], DenseFloatMatrix.sub(matrix, matrix).get().toArray());
+        assertTrue(DenseFloatMatrix.sum(matrix, DenseFloatMatrix.zeros(3, 2).get()).isEmpty());
+
+        matrix.mult(0.5f);
+        assertEquals(3f, matrix.get(1, 2));
+    }
+
+    @Test
+    void testMult_MatchesDouble() {
+        DenseMatrix matrixA = TestData.randomMatrix(70, 300, 1);
+        DenseMatrix matrixB = TestData.randomMatrix(300, 90, 2);
+        double[] expected = DenseMatrix.mult(matrixA, matrixB).get().toArray();
+
+        DenseFloatMatrix floatA = DenseFloatMatrix.fromDense(matrixA).get();
+        DenseFloatMatrix floatB = DenseFloatMatrix.fromDense(matrixB).get();
+
+        for (Accumulation accumulation : Accumulation.values()) {
+            DenseFloatMatrix result = DenseFloatMatrix.mult(floatA, floatB, accumulation).get();
+            assertEquals(70, result.getRowCount());
+            assertEquals(90, result.getColumns());
+            assertArrayEquals(expected, result.toDense().toArray(), 1e-3);
+        }
+        assertTrue(DenseFloatMatrix.mult(floatA, floatA).isEmpty());
+    }
+
+    @Test
+    void testMultVector_DoubleAccumulation() {
+        // 1 + n * 1e-8 : each 1e-8 is lost when added to 1 in float, kept when added in double
+        int size = 100_000;
+        float[] row = new float[size];
+        float[] vector = new float[size];
+        row[0] = 1f;
+        vector[0] = 1f;
+        for (int index=1; index < size; index++) {
+            row[index] = 1e-4f;
+            vector[index] = 1e-4f;
+        }
+        DenseFloatMatrix matrix = DenseFloatMatrix.newDenseFloatMatrix(row, size).get();
+
+        float single = matrix.multVector(vector).get()[0];
+        float widened = matrix.multVector(vector, Accumulation.DOUBLE).get()[0];
+        double expected = 1.0 + (size - 1) * (double)(1e-4f) * 1e-4f;
+
+        assertEquals(expected, widened, 1e-6);
+        assertTrue(Math.abs(widened - expected) <= Math.abs(single - expected));
+        assertTrue(matrix.multVector(new float[3]).isEmpty());
+    }
+
+    @Test
+    void testTransposate() {
+        DenseFloatMatrix matrix = createSampleMatrix2x3();
+        matrix.transposate();
+
+        assertEquals(3, matrix.getRowCount());
+        assertArrayEquals(new float[] {1f, 4f, 2f, 5f, 3f, 6f}, matrix.toArray());
+    }
+
+    @Test
+    void testDenseFloatVector() {
+        Vector source = Vector.newVector(new ArrayList<>(List.of(1.0, 2.0, 2.0)), Vector.Type.Column).get();
+        DenseFloatVector vector = DenseFloatVector.fromVector(source).get();
+
+        assertEquals(3, vector.getSize());
+        assertEquals(9.0, vector.multScalar(vector).get());
+        assertEquals(3.0, vector.norm(Accumulation.DOUBLE).get());
+        assertEquals(source.getValues(), vector.toVector().getValues());
+
+        DenseFloatMatrix matrix = createSampleMatrix2x3();
+        DenseFloatVector result = matrix.multVector(vector, Accumulation.DOUBLE).get();
+        assertArrayEquals(new float[] {11f, 26f}, result.toArray());
+        assertEquals(Vector.Type.Column, result.getType());
+
+        assertArrayEquals(new float[] {2f, 4f, 4f}, DenseFloatVector.sum(vector, vector).get().toArray());
+        vector.transposate();
+        assertTrue(matrix.multVector(vector, Accumulation.FLOAT).isEmpty());
+        assertTrue(vector.multScalar(result).isEmpty());
+    }
+}
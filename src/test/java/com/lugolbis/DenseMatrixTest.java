@@ -0,0 +1,283 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.Vector;
+import com.lugolbis.mathematics.VectorView;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DenseMatrixTest {
+
+    private DenseMatrix createSampleMatrix2x3() {
+        return DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, 3).get();
+    }
+
+    private DenseMatrix createSampleMatrix3x2() {
+        return DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, 2).get();
+    }
+
+    @Test
+    void testNewDenseMatrix_Fail_InvalidColumns() {
+        assertTrue(DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0}, 2).isEmpty());
+        assertTrue(DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0}, 0).isEmpty());
+        assertTrue(DenseMatrix.newDenseMatrix(null, 2).isEmpty());
+    }
+
+    @Test
+    void testConversion_RoundTrip() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0)), 3).get();
+
+        DenseMatrix dense = DenseMatrix.fromMatrix(matrix).get();
+        assertEquals(2, dense.getRowCount());
+        assertEquals(3, dense.getColumns());
+        assertEquals(6.0, dense.get(1, 2));
+
+        Matrix back = dense.toMatrix();
+        assertEquals(matrix.getRows(), back.getRows());
+        assertEquals(3, back.getColumns());
+    }
+
+    @Test
+    void testSumSub_Success() {
+        DenseMatrix matrixA = createSampleMatrix2x3();
+        DenseMatrix matrixB = createSampleMatrix2x3();
+
+        assertArrayEquals(new double[] {2.0, 4.0, 6.0, 8.0, 10.0, 12.0}, DenseMatrix.sum(matrixA, matrixB).get().toArray());
+        assertArrayEquals(new double[6], DenseMatrix.sub(matrixA, matrixB).get().toArray());
+    }
+
+    @Test
+    void testSum_Fail_DifferentDimensions() {
+        assertTrue(DenseMatrix.sum(createSampleMatrix2x3(), createSampleMatrix3x2()).isEmpty());
+        assertTrue(DenseMatrix.sub(createSampleMatrix2x3(), null).isEmpty());
+    }
+
+    @Test
+    void testMult_Success() {
+        Optional<DenseMatrix> result = DenseMatrix.mult(createSampleMatrix2x3(), createSampleMatrix3x2());
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().getRowCount());
+        assertEquals(2, result.get().getColumns());
+        assertArrayEquals(new double[] {22.0, 28.0, 49.0, 64.0}, result.get().toArray());
+    }
+
+    @Test
+    void testMult_LargeMatrices() {
+        Random random = new Random(7);
+        int rows = 150, inner = 97, columns = 130;
+        double[] valuesA = new double[rows * inner];
+        double[] valuesB = new double[inner * columns];
+        for (int index=0; index < valuesA.length; index++) {
+            valuesA[index] = random.nextDouble() - 0.5;
+        }
+        for (int index=0; index < valuesB.length; index++) {
+            valuesB[index] = random.nextDouble() - 0.5;
+        }
+
+        DenseMatrix result = DenseMatrix.mult(
+            DenseMatrix.newDenseMatrix(valuesA, inner).get(),
+            DenseMatrix.newDenseMatrix(valuesB, columns).get()
+        ).get();
+
+        for (int indexR=0; indexR < rows; indexR++) {
+            for (int indexC=0; indexC < columns; indexC++) {
+                double expected = 0;
+                for (int index=0; index < inner; index++) {
+                    expected += valuesA[indexR*inner + index] * valuesB[index*columns + indexC];
+                }
+                assertEquals(expected, result.get(indexR, indexC), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testMult_Fail_IncompatibleDimensions() {
+        assertTrue(DenseMatrix.mult(createSampleMatrix2x3(), createSampleMatrix2x3()).isEmpty());
+    }
+
+    @Test
+    void testScalarMult() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+        matrix.mult(2.0);
+        assertArrayEquals(new double[] {2.0, 4.0, 6.0, 8.0, 10.0, 12.0}, matrix.toArray());
+    }
+
+    @Test
+    void testVectorMult() {
+        Vector vector = Vector.newVector(new ArrayList<>(List.of(1.0, 8.0, 15.0)), Vector.Type.Column).get();
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {1.0, 3.0, 5.0, 9.0, 10.0, 21.0}, 3).get();
+
+        Optional<Vector> result = matrix.multVector(vector);
+        assertTrue(result.isPresent());
+        assertEquals(new ArrayList<>(List.of(100.0, 404.0)), result.get().getValues());
+
+        vector.transposate();
+        assertTrue(matrix.multVector(vector).isEmpty());
+    }
+
+    @Test
+    void testRowsColumns() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+
+        assertArrayEquals(new double[] {4.0, 5.0, 6.0}, matrix.getRow(1).get());
+        assertArrayEquals(new double[] {2.0, 5.0}, matrix.getColumn(1).get());
+        assertTrue(matrix.getRow(2).isEmpty());
+        assertTrue(matrix.getColumn(3).isEmpty());
+    }
+
+    @Test
+    void testTransposate() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+        matrix.transposate();
+
+        assertEquals(3, matrix.getRowCount());
+        assertEquals(2, matrix.getColumns());
+        assertArrayEquals(new double[] {1.0, 4.0, 2.0, 5.0, 3.0, 6.0}, matrix.toArray());
+    }
+
+    @Test
+    void testTransposate_SquareInPlace() {
+        double[] values = new double[37 * 37];
+        for (int index=0; index < values.length; index++) {
+            values[index] = index;
+        }
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(values, 37).get();
+        matrix.transposate();
+
+        for (int indexR=0; indexR < 37; indexR++) {
+            for (int indexC=0; indexC < 37; indexC++) {
+                assertEquals(indexC * 37 + indexR, matrix.get(indexR, indexC));
+            }
+        }
+    }
+
+    @Test
+    void testTransposed_View() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+        DenseMatrix view = matrix.transposed();
+
+        assertEquals(3, view.getRowCount());
+        assertEquals(2, view.getColumns());
+        assertArrayEquals(new double[] {1.0, 4.0, 2.0, 5.0, 3.0, 6.0}, view.toArray());
+
+        view.set(0, 1, 10.0);
+        assertEquals(10.0, matrix.get(1, 0));
+    }
+
+    @Test
+    void testTransposed_MultWithoutCopy() {
+        DenseMatrix matrixA = createSampleMatrix2x3();
+        DenseMatrix matrixB = createSampleMatrix2x3();
+
+        // A × Bᵀ = [[14, 32], [32, 77]]
+        assertArrayEquals(new double[] {14.0, 32.0, 32.0, 77.0}, DenseMatrix.mult(matrixA, matrixB.transposed()).get().toArray());
+        // Aᵀ × B
+        assertArrayEquals(
+            new double[] {17.0, 22.0, 27.0, 22.0, 29.0, 36.0, 27.0, 36.0, 45.0},
+            DenseMatrix.mult(matrixA.transposed(), matrixB).get().toArray()
+        );
+        assertArrayEquals(new double[] {9.0, 12.0, 15.0}, matrixA.transposed().multVector(new double[] {1.0, 2.0}).get());
+    }
+
+    @Test
+    void testLoadFromJson() throws Exception {
+        Path path = MatrixTest.getAbsolutePath("matrix1.json");
+        DenseMatrix matrix = DenseMatrix.loadFromJson(path.toString(), 200);
+
+        assertEquals(10, matrix.getRowCount());
+        assertEquals(20, matrix.getColumns());
+        assertEquals(467.7829, matrix.get(0, 0));
+        assertEquals(255.2458, matrix.get(9, 19));
+    }
+
+    @Test
+    void testWriteToJson_RoundTrip() throws Exception {
+        Path path = Files.createTempFile("dense", ".json");
+        try {
+            DenseMatrix matrix = createSampleMatrix2x3();
+            matrix.transposed().writeToJson(path.toString());
+
+            DenseMatrix loaded = DenseMatrix.loadFromJson(path.toString());
+            assertEquals(3, loaded.getRowCount());
+            assertArrayEquals(matrix.transposed().toArray(), loaded.toArray());
+
+            Matrix boxed = Matrix.loadFromJson(path.toString());
+            assertEquals(2, boxed.getColumns());
+        }
+        finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testViews_ShareValues() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+
+        VectorView row = matrix.rowView(1).get();
+        assertArrayEquals(new double[] {4.0, 5.0, 6.0}, row.toArray());
+        VectorView column = matrix.columnView(2).get();
+        assertArrayEquals(new double[] {3.0, 6.0}, column.toArray());
+        assertFalse(column.isContiguous());
+
+        column.set(0, 30.0);
+        assertEquals(30.0, matrix.get(0, 2));
+        assertArrayEquals(new double[] {1.0, 5.0}, matrix.diagonalView().toArray());
+
+        assertTrue(matrix.rowView(2).isEmpty());
+        assertTrue(matrix.columnView(-1).isEmpty());
+        assertTrue(column.getValue(2).isEmpty());
+    }
+
+    @Test
+    void testViews_OnTransposedAndBlock() {
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {
+            1.0, 2.0, 3.0, 4.0,
+            5.0, 6.0, 7.0, 8.0,
+            9.0, 10.0, 11.0, 12.0
+        }, 4).get();
+
+        DenseMatrix block = matrix.blockView(1, 1, 2, 2).get();
+        assertArrayEquals(new double[] {6.0, 7.0, 10.0, 11.0}, block.toArray());
+        assertArrayEquals(new double[] {7.0, 11.0}, block.columnView(1).get().toArray());
+        assertArrayEquals(new double[] {6.0, 11.0}, block.diagonalView().toArray());
+
+        block.mult(2.0);
+        assertEquals(12.0, matrix.get(1, 1));
+        assertEquals(5.0, matrix.get(1, 0));
+
+        assertArrayEquals(new double[] {3.0, 14.0, 22.0}, matrix.transposed().rowView(2).get().toArray());
+        assertArrayEquals(
+            DenseMatrix.mult(matrix.blockView(0, 0, 2, 2).get(), block).get().toArray(),
+            DenseMatrix.mult(matrix.blockView(0, 0, 2, 2).get().copy(), block.copy()).get().toArray()
+        );
+
+        assertTrue(matrix.blockView(2, 2, 2, 2).isEmpty());
+        assertTrue(matrix.blockView(0, 0, 0, 1).isEmpty());
+    }
+
+    @Test
+    void testVectorView_DotAxpy() {
+        DenseMatrix matrix = createSampleMatrix2x3();
+        VectorView row = matrix.rowView(0).get();
+        VectorView other = matrix.rowView(1).get();
+
+        assertEquals(32.0, row.dot(other).get());
+        assertEquals(22.0, matrix.columnView(0).get().dot(matrix.columnView(1).get().toArray()).get());
+        assertTrue(row.dot(matrix.columnView(0).get()).isEmpty());
+
+        row.axpy(2.0, other);
+        assertArrayEquals(new double[] {9.0, 12.0, 15.0}, matrix.getRow(0).get());
+        matrix.columnView(1).get().fill(0.0);
+        assertEquals(0.0, matrix.get(1, 1));
+    }
+}
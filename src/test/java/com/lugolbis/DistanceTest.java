@@ -1,12 +1,16 @@
 package com.lugolbis;
 
+import com.lugolbis.mathematics.DenseMatrix;
 import com.lugolbis.mathematics.Distance;
 import com.lugolbis.mathematics.Point;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 class DistanceTest {
 
@@ -50,6 +54,166 @@ class DistanceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testManhattan_OppositeSigns() {
+        assertEquals(4.0, Distance.Manhattan(new Point(1.0, -1.0), new Point(-1.0, 1.0)).get(), 0.001);
+    }
+
+    @Test
+    void testArrays_SameAsPoints() {
+        double[] coordinatesA = {1.0, 2.0, 3.0};
+        double[] coordinatesB = {4.0, 6.0, 8.0};
+
+        assertEquals(Math.sqrt(50), Distance.Euclidian(coordinatesA, coordinatesB), 0.001);
+        assertEquals(12.0, Distance.Manhattan(coordinatesA, coordinatesB), 0.001);
+        assertEquals(
+            Distance.Minkowski(point3D_1, point3D_2, 3).get(),
+            Distance.Minkowski(coordinatesA, coordinatesB, 3), 0.001
+        );
+    }
+
+    @Test
+    void testArrays_DifferentDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> Distance.Euclidian(new double[] {1.0}, new double[] {1.0, 2.0}));
+        assertThrows(IllegalArgumentException.class, () -> Distance.Manhattan(null, new double[] {1.0}));
+        assertTrue(Double.isNaN(Distance.Chebyshev(new double[] {Double.NaN}, new double[] {1.0})));
+    }
+
+    @Test
+    void testChebyshev() {
+        assertEquals(4.0, Distance.Chebyshev(point2D_1, point2D_2).get(), 0.001);
+        assertEquals(5.0, Distance.Chebyshev(point3D_1, point3D_2).get(), 0.001);
+        assertTrue(Distance.Chebyshev(point2D_1, point3D_1).isEmpty());
+    }
+
+    @Test
+    void testSquaredEuclidian() {
+        assertEquals(25.0, Distance.SquaredEuclidian(point2D_1, point2D_2).get(), 0.001);
+        assertEquals(50.0, Distance.SquaredEuclidian(new double[] {1.0, 2.0, 3.0}, new double[] {4.0, 6.0, 8.0}), 0.001);
+        assertTrue(Distance.SquaredEuclidian(point2D_1, point3D_1).isEmpty());
+    }
+
+    @Test
+    void testMinkowski_Orders() {
+        assertEquals(12.0, Distance.Minkowski(point3D_1, point3D_2, 1).get(), 0.001);
+        assertEquals(Math.sqrt(50), Distance.Minkowski(point3D_1, point3D_2, 2).get(), 0.001);
+        assertEquals(Math.cbrt(27 + 64 + 125), Distance.Minkowski(point3D_1, point3D_2, 3).get(), 0.001);
+        assertEquals(5.0, Distance.Minkowski(point3D_1, point3D_2, Double.POSITIVE_INFINITY).get(), 0.001);
+        assertEquals(Math.pow(Math.pow(3, 1.5) + Math.pow(4, 1.5), 1 / 1.5), Distance.Minkowski(point2D_1, point2D_2, 1.5).get(), 0.001);
+
+        assertTrue(Distance.Minkowski(point3D_1, point3D_2, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Distance.Minkowski(new double[] {1.0}, new double[] {2.0}, -1.0));
+    }
+
+    @Test
+    void testKernels_MatchScalarLoops() {
+        double[] coordinatesA = new double[11];
+        double[] coordinatesB = new double[11];
+        for (int index=0; index < coordinatesA.length; index++) {
+            coordinatesA[index] = Math.sin(index);
+            coordinatesB[index] = Math.cos(index * 3.0);
+        }
+
+        double squared = 0.0;
+        double manhattan = 0.0;
+        double chebyshev = 0.0;
+        for (int index=0; index < coordinatesA.length; index++) {
+            double difference = Math.abs(coordinatesA[index] - coordinatesB[index]);
+            squared += difference * difference;
+            manhattan += difference;
+            chebyshev = Math.max(chebyshev, difference);
+        }
+
+        assertEquals(squared, Distance.SquaredEuclidian(coordinatesA, coordinatesB), 1e-12);
+        assertEquals(manhattan, Distance.Manhattan(coordinatesA, coordinatesB), 1e-12);
+        assertEquals(chebyshev, Distance.Chebyshev(coordinatesA, coordinatesB), 1e-12);
+        assertEquals(0.0, Distance.Chebyshev(new double[0], new double[0]));
+    }
+
+    private void assertPairwise(List<Point> points, Distance.Metric metric, double delta) {
+        DenseMatrix full = Distance.pairwise(points, metric).get();
+        double[] condensed = Distance.pairwiseCondensed(points, metric).get();
+        int n = points.size();
+        assertEquals(n * (n - 1) / 2, condensed.length);
+
+        for (int i=0; i < n; i++) {
+            assertEquals(0.0, full.get(i, i));
+            for (int j=i+1; j < n; j++) {
+                double expected;
+                if (metric == Distance.Metric.Euclidian) {
+                    expected = Distance.Euclidian(points.get(i), points.get(j)).get();
+                }
+                else if (metric == Distance.Metric.SquaredEuclidian) {
+                    expected = Distance.SquaredEuclidian(points.get(i), points.get(j)).get();
+                }
+                else if (metric == Distance.Metric.Manhattan) {
+                    expected = Distance.Manhattan(points.get(i), points.get(j)).get();
+                }
+                else {
+                    expected = Distance.Chebyshev(points.get(i), points.get(j)).get();
+                }
+                assertEquals(expected, full.get(i, j), delta);
+                assertEquals(expected, full.get(j, i), delta);
+                assertEquals(full.get(i, j), condensed[Distance.condensedIndex(n, i, j)]);
+            }
+        }
+    }
+
+    @Test
+    void testPairwise_Kernels() {
+        List<Point> points = TestData.uniformPoints(300, 3, 10.0, new Random(1));
+        for (Distance.Metric metric : Distance.Metric.values()) {
+            assertPairwise(points, metric, 1e-12);
+        }
+    }
+
+    @Test
+    void testPairwise_Gemm() {
+        List<Point> points = TestData.uniformPoints(600, 40, 10.0, new Random(2));
+        assertPairwise(points, Distance.Metric.Euclidian, 1e-9);
+        assertPairwise(points, Distance.Metric.SquaredEuclidian, 1e-8);
+    }
+
+    @Test
+    void testPairwise_NearDuplicates() {
+        // Far from the origin ‖a‖² + ‖b‖² − 2 a·b cancels, these pairs go back to the distance kernel
+        Random random = new Random(4);
+        List<Point> points = new ArrayList<>();
+        for (int index=0; index < 20; index++) {
+            double[] coordinates = TestData.uniform(32, 1000.0, 1001.0, random);
+            points.add(new Point(coordinates));
+            coordinates = coordinates.clone();
+            coordinates[index] += 1e-6;
+            points.add(new Point(coordinates));
+        }
+        double[] condensed = Distance.pairwiseCondensed(points, Distance.Metric.Euclidian).get();
+        double[] exact = Distance.pairwiseCondensed(points, Distance.Metric.Euclidian, true).get();
+
+        for (int index=0; index < 40; index += 2) {
+            double expected = Distance.Euclidian(points.get(index), points.get(index + 1)).get();
+            assertEquals(expected, condensed[Distance.condensedIndex(40, index, index + 1)], expected * 1e-9);
+            assertEquals(expected, exact[Distance.condensedIndex(40, index, index + 1)]);
+        }
+    }
+
+    @Test
+    void testPairwise_Invalid() {
+        assertTrue(Distance.pairwise(List.of(), Distance.Metric.Euclidian).isEmpty());
+        assertTrue(Distance.pairwise(List.of(point2D_1, point3D_1), Distance.Metric.Euclidian).isEmpty());
+        assertTrue(Distance.pairwiseCondensed(List.of(point2D_1), null).isEmpty());
+        assertEquals(0, Distance.pairwiseCondensed(List.of(point2D_1), Distance.Metric.Manhattan).get().length);
+    }
+
+    @Test
+    void testCondensedIndex() {
+        assertEquals(0, Distance.condensedIndex(4, 0, 1));
+        assertEquals(2, Distance.condensedIndex(4, 0, 3));
+        assertEquals(3, Distance.condensedIndex(4, 1, 2));
+        assertEquals(3, Distance.condensedIndex(4, 2, 1));
+        assertEquals(5, Distance.condensedIndex(4, 2, 3));
+        assertEquals(-1, Distance.condensedIndex(4, 2, 2));
+    }
+
     @Test
     void testLevenshtein() {
         assertEquals(0.0, Distance.Levenshtein("", "").get());
@@ -68,4 +232,72 @@ class DistanceTest {
         
         assertEquals(1.0, Distance.Levenshtein("café", "cafe").get());
     }
-}
\ No newline at end of file
+
+    private int referenceLevenshtein(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i=0; i <= a.length(); i++) {
+            for (int j=0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                }
+                else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    table[i][j] = Math.min(table[i - 1][j - 1] + cost, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
+    private String randomString(Random random, int length, String alphabet) {
+        StringBuilder builder = new StringBuilder();
+        for (int index=0; index < length; index++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testLevenshtein_LongStrings() {
+        String a = "a".repeat(30) + "kitten" + "b".repeat(30);
+        String b = "a".repeat(30) + "sitting" + "b".repeat(30);
+        assertEquals(3.0, Distance.Levenshtein(a, b).get());
+        assertEquals(200.0, Distance.Levenshtein("x".repeat(200), "y".repeat(200)).get());
+    }
+
+    @Test
+    void testLevenshtein_MatchesReference() {
+        Random random = new Random(3);
+        int[] lengths = {0, 1, 5, 63, 64, 65, 100, 128, 129, 200};
+        for (int lengthA : lengths) {
+            for (int lengthB : lengths) {
+                String a = randomString(random, lengthA, "abcd\u00e9\u4e2d");
+                String b = randomString(random, lengthB, "abcd\u00e9\u4e2d");
+                int expected = referenceLevenshtein(a, b);
+
+                assertEquals(expected, Distance.Levenshtein(a, b).get());
+                assertEquals(expected, Distance.Levenshtein(b, a).get());
+                for (int maxDistance : new int[] {0, 3, expected - 1, expected, expected + 2}) {
+                    Optional<Double> bounded = Distance.Levenshtein(a, b, Math.max(0, maxDistance));
+                    if (expected <= Math.max(0, maxDistance)) {
+                        assertEquals(expected, bounded.get());
+                    }
+                    else {
+                        assertTrue(bounded.isEmpty());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLevenshtein_Bounded() {
+        assertEquals(3.0, Distance.Levenshtein("kitten", "sitting", 3).get());
+        assertTrue(Distance.Levenshtein("kitten", "sitting", 2).isEmpty());
+        assertTrue(Distance.Levenshtein("a", "abcdef", 4).isEmpty());
+        assertEquals(0.0, Distance.Levenshtein("same", "same", 0).get());
+        assertEquals(3.0, Distance.Levenshtein("kitten", "sitting", Integer.MAX_VALUE).get());
+        assertTrue(Distance.Levenshtein("kitten", "sitting", -1).isEmpty());
+        assertTrue(Distance.Levenshtein(null, "sitting", 3).isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.ElementWise;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElementWiseTest {
+    private final double[] a = {1.0, 2.0, 3.0};
+    private final double[] b = {4.0, 5.0, 6.0};
+
+    @Test
+    void testBinaryOperations() {
+        double[] destination = new double[3];
+
+        assertArrayEquals(new double[] {5.0, 7.0, 9.0}, ElementWise.add(a, b, destination).get());
+        assertArrayEquals(new double[] {-3.0, -3.0, -3.0}, ElementWise.sub(a, b, destination).get());
+        assertArrayEquals(new double[] {4.0, 10.0, 18.0}, ElementWise.apply(a, b, destination, (x, y) -> x * y).get());
+        assertArrayEquals(new double[] {8.0, 15.0, 24.0}, ElementWise.fma(a, b, b, destination).get());
+    }
+
+    @Test
+    void testScalarAndUnaryOperations() {
+        double[] destination = new double[3];
+
+        assertArrayEquals(new double[] {2.0, 4.0, 6.0}, ElementWise.scale(a, 2.0, destination).get());
+        assertArrayEquals(new double[] {0.0, 1.0, 2.0}, ElementWise.apply(a, 1.0, destination, (x, k) -> x - k).get());
+        assertArrayEquals(new double[] {1.0, 4.0, 9.0}, ElementWise.map(a, destination, x -> x * x).get());
+    }
+
+    @Test
+    void testInPlace() {
+        double[] values = {1.0, 2.0, 3.0};
+        ElementWise.add(values, b, values);
+        assertArrayEquals(new double[] {5.0, 7.0, 9.0}, values);
+    }
+
+    @Test
+    void testLengthMismatch() {
+        assertTrue(ElementWise.add(a, new double[2], new double[3]).isEmpty());
+        assertTrue(ElementWise.map(a, new double[2], x -> x).isEmpty());
+        assertTrue(ElementWise.scale(null, 1.0, a).isEmpty());
+    }
+
+    @Test
+    void testParallel_LargeArrays() {
+        int size = ElementWise.PARALLEL_THRESHOLD * 4 + 3;
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int index=0; index < size; index++) {
+            x[index] = index;
+            y[index] = 2 * index;
+        }
+
+        double[] result = ElementWise.fma(x, y, x, new double[size]).get();
+        for (int index=0; index < size; index++) {
+            assertEquals((double)(index) * 2 * index + index, result[index]);
+        }
+    }
+
+    @Test
+    void testDenseMatrix_InPlace() {
+        DenseMatrix matrixA = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0}, 2).get();
+        DenseMatrix matrixB = DenseMatrix.newDenseMatrix(new double[] {1.0, 1.0, 1.0, 1.0}, 2).get();
+
+        assertSame(matrixA, DenseMatrix.sum(matrixA, matrixB, matrixA).get());
+        assertArrayEquals(new double[] {2.0, 3.0, 4.0, 5.0}, matrixA.toArray());
+
+        DenseMatrix.sub(matrixA, matrixB.transposed(), matrixA);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 4.0}, matrixA.toArray());
+
+        matrixA.map(x -> -x);
+        assertArrayEquals(new double[] {-1.0, -2.0, -3.0, -4.0}, matrixA.toArray());
+        assertTrue(DenseMatrix.sum(matrixA, matrixB, matrixB.transposed()).isEmpty());
+    }
+}
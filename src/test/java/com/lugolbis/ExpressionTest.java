@@ -0,0 +1,90 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Expression;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionTest {
+    private final DenseMatrix matrixA = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0}, 2).get();
+    private final DenseMatrix matrixB = DenseMatrix.newDenseMatrix(new double[] {4.0, 3.0, 2.0, 1.0}, 2).get();
+    private final DenseMatrix matrixC = DenseMatrix.newDenseMatrix(new double[] {1.0, 1.0, 1.0, 1.0}, 2).get();
+
+    @Test
+    void testChainedOperations() {
+        // (A + B) * 2 - C
+        Optional<DenseMatrix> result = Expression.of(matrixA)
+            .plus(Expression.of(matrixB))
+            .times(2.0)
+            .minus(Expression.of(matrixC))
+            .evaluate();
+
+        assertTrue(result.isPresent());
+        assertArrayEquals(new double[] {9.0, 9.0, 9.0, 9.0}, result.get().toArray());
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 4.0}, matrixA.toArray());
+    }
+
+    @Test
+    void testHadamardMapAndCombine() {
+        Expression expression = Expression.of(matrixA)
+            .times(Expression.of(matrixB.transposed()))
+            .map(Math::sqrt)
+            .combine(Expression.of(matrixC), Math::max)
+            .plus(1.0);
+
+        // A ∘ Bᵀ = [[4, 4], [9, 4]]
+        assertArrayEquals(new double[] {3.0, 3.0, 4.0, 3.0}, expression.evaluate().get().toArray());
+    }
+
+    @Test
+    void testInvalidShapes() {
+        DenseMatrix other = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0}, 3).get();
+        Expression expression = Expression.of(matrixA).plus(Expression.of(other)).times(2.0);
+
+        assertFalse(expression.isValid());
+        assertTrue(expression.evaluate().isEmpty());
+        assertTrue(Expression.of((DenseMatrix)(null)).evaluate().isEmpty());
+    }
+
+    @Test
+    void testMatrixAndVector() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0)), 2).get();
+        assertEquals(
+            new ArrayList<>(List.of(2.0, 4.0, 6.0, 8.0)),
+            Expression.of(matrix).plus(Expression.of(matrix)).evaluateMatrix().get().getRows()
+        );
+
+        Vector vector = Vector.newVector(new ArrayList<>(List.of(1.0, 2.0, 3.0)), Vector.Type.Column).get();
+        Vector result = Expression.of(vector).times(Expression.of(vector)).evaluateVector().get();
+        assertEquals(Vector.Type.Column, result.getType());
+        assertEquals(new ArrayList<>(List.of(1.0, 4.0, 9.0)), result.getValues());
+    }
+
+    @Test
+    void testLargeParallelEvaluation() {
+        int size = 300;
+        double[] values = new double[size * size];
+        for (int index=0; index < values.length; index++) {
+            values[index] = index;
+        }
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(values, size).get();
+
+        DenseMatrix result = Expression.of(matrix)
+            .minus(Expression.of(matrix).times(0.5))
+            .plus(Expression.of(matrix.transposed()))
+            .evaluate().get();
+
+        for (int indexR=0; indexR < size; indexR += 7) {
+            for (int indexC=0; indexC < size; indexC += 11) {
+                assertEquals(0.5 * matrix.get(indexR, indexC) + matrix.get(indexC, indexR), result.get(indexR, indexC));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.lugolbis;
+
+import com.lugolbis.algorithms.KNN;
+import com.lugolbis.algorithms.KNNModel;
+import com.lugolbis.algorithms.KNNPoint;
+import com.lugolbis.mathematics.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KNNModelTest {
+    private ArrayList<KNNPoint> randomPoints(int count, int dimensions, Random random) {
+        ArrayList<KNNPoint> points = new ArrayList<>();
+        for (int index=0; index < count; index++) {
+            double[] coordinates = TestData.uniform(dimensions, 0.0, 10.0, random);
+            points.add(KNNPoint.newKNNPoint("class" + random.nextInt(3), coordinates).get());
+        }
+        return points;
+    }
+
+    @Test
+    void testFit() {
+        Random random = new Random(1);
+        KNNModel model = KNN.fit(randomPoints(100, 2, random)).get();
+        assertEquals(100, model.size());
+        assertEquals(2, model.getDimensions());
+        assertEquals(KNNModel.Index.KDTree, model.getIndex());
+        assertEquals(KNNModel.Index.BallTree, KNNModel.fit(randomPoints(100, 16, random)).get().getIndex());
+        assertEquals(KNNModel.Index.BallTree, KNNModel.fit(randomPoints(100, 2, random), KNNModel.Index.BallTree).get().getIndex());
+
+        ArrayList<KNNPoint> mixed = randomPoints(10, 2, random);
+        mixed.add(KNNPoint.newKNNPoint("C", new Point(1.0)).get());
+        assertTrue(KNNModel.fit(mixed).isEmpty());
+        assertTrue(KNNModel.fit(new ArrayList<>()).isEmpty());
+        assertTrue(KNNModel.fit(null).isEmpty());
+    }
+
+    @Test
+    void testPredict_MatchesRun() {
+        Random random = new Random(2);
+        for (int dimensions : new int[] {2, 12}) {
+            ArrayList<KNNPoint> points = randomPoints(2000, dimensions, random);
+            KNNModel model = KNN.fit(points).get();
+
+            for (int query=0; query < 50; query++) {
+                Point point = randomPoints(1, dimensions, random).get(0).getPoint();
+                KNNPoint predicted = model.predict(point, 5).get();
+                assertEquals(KNN.run(points, 5, point).get().getClasse(), predicted.getClasse());
+                assertEquals(point, predicted.getPoint());
+            }
+        }
+    }
+
+    @Test
+    void testNearest() {
+        ArrayList<KNNPoint> points = new ArrayList<>();
+        points.add(KNNPoint.newKNNPoint("A", new Point(1.0, 1.0)).get());
+        points.add(KNNPoint.newKNNPoint("A", new Point(1.0, 2.0)).get());
+        points.add(KNNPoint.newKNNPoint("B", new Point(5.0, 5.0)).get());
+        points.add(KNNPoint.newKNNPoint("B", new Point(5.0, 6.0)).get());
+        KNNModel model = KNN.fit(points).get();
+
+        List<KNNPoint> nearest = model.nearest(new Point(5.0, 5.8), 2).get();
+        assertSame(points.get(3), nearest.get(0));
+        assertSame(points.get(2), nearest.get(1));
+        assertEquals("A", model.predict(new Point(1.0, 1.5), 3).get().getClasse());
+        assertEquals(4, model.nearest(new Point(0.0, 0.0), 10).get().size());
+
+        assertTrue(model.predict(new Point(1.0), 3).isEmpty());
+        assertTrue(model.predict(null, 3).isEmpty());
+        assertTrue(model.predict(new Point(1.0, 1.0), 0).isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.LSHIndex;
+import com.lugolbis.mathematics.MinHash;
+import com.lugolbis.mathematics.Similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LSHIndexTest {
+    /**
+     * Groups of near duplicates : each set is a random base of 'size' elements with a few of them replaced.
+     */
+    private List<int[]> sets(int groups, int copies, int size, Random random) {
+        List<int[]> sets = new ArrayList<>();
+        for (int group=0; group < groups; group++) {
+            TreeSet<Integer> base = new TreeSet<>();
+            while (base.size() < size) {
+                base.add(random.nextInt(1 << 20));
+            }
+            for (int copy=0; copy < copies; copy++) {
+                List<Integer> elements = new ArrayList<>(base);
+                for (int change=0; change < size / 20; change++) {
+                    elements.set(random.nextInt(size), random.nextInt(1 << 20));
+                }
+                TreeSet<Integer> set = new TreeSet<>(elements);
+                sets.add(set.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return sets;
+    }
+
+    @Test
+    void testBuild() {
+        List<long[]> signatures = Arrays.asList(new long[8], new long[8]);
+        assertEquals(2, LSHIndex.build(signatures, 4, 2).get().size());
+        assertTrue(LSHIndex.build(signatures, 3, 2).isEmpty());
+        assertTrue(LSHIndex.build(signatures, 0, 8).isEmpty());
+        assertTrue(LSHIndex.build(Arrays.asList(new long[8], null), 4, 2).isEmpty());
+        assertTrue(LSHIndex.build(new ArrayList<>(), 4, 2).get().candidates().isEmpty());
+        assertEquals(Math.pow(0.05, 0.2), LSHIndex.threshold(20, 5), 1e-12);
+    }
+
+    @Test
+    void testCandidates_FindNearDuplicates() {
+        Random random = new Random(5);
+        List<int[]> sets = sets(50, 3, 200, random);
+        MinHash minHash = MinHash.newMinHash(100, 11L).get();
+        LSHIndex index = LSHIndex.build(minHash.signatures(sets).get(), 20, 5).get();
+
+        // Every pair of copies of the same group is found, and no pair from different groups passes the check
+        List<LSHIndex.Pair> verified = index.candidates(sets, 0.5).get();
+        assertEquals(50 * 3, verified.size());
+        for (LSHIndex.Pair pair : verified) {
+            assertEquals(pair.getFirst() / 3, pair.getSecond() / 3);
+            assertEquals(Similarity.Jackard(sets.get(pair.getFirst()), sets.get(pair.getSecond())).get(), pair.getSimilarity(), 1e-12);
+        }
+
+        List<LSHIndex.Pair> candidates = index.candidates();
+        assertTrue(candidates.size() >= verified.size());
+        for (int indexP=1; indexP < candidates.size(); indexP++) {
+            assertTrue(candidates.get(indexP - 1).compareTo(candidates.get(indexP)) < 0);
+        }
+
+        assertTrue(index.candidates(sets.subList(0, 3), 0.5).isEmpty());
+    }
+
+    @Test
+    void testQuery() {
+        Random random = new Random(6);
+        List<int[]> sets = sets(20, 2, 200, random);
+        MinHash minHash = MinHash.newMinHash(64, 3L).get();
+        LSHIndex index = LSHIndex.build(minHash.signatures(sets).get(), 16, 4).get();
+
+        int[] found = index.query(minHash.signature(sets.get(6)).get()).get();
+        assertTrue(Arrays.binarySearch(found, 6) >= 0);
+        assertTrue(Arrays.binarySearch(found, 7) >= 0);
+        for (int indexF=1; indexF < found.length; indexF++) {
+            assertTrue(found[indexF - 1] < found[indexF]);
+        }
+
+        assertTrue(index.query(new long[3]).isEmpty());
+        assertTrue(index.query(null).isEmpty());
+    }
+}
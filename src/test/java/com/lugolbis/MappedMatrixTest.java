@@ -0,0 +1,120 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.MappedMatrix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMatrixTest {
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("matrix", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private DenseMatrix createSampleMatrix2x3() {
+        return DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, 3).get();
+    }
+
+    @Test
+    void testWriteOpen_RoundTrip() throws IOException {
+        MappedMatrix.write(createSampleMatrix2x3(), file.toString());
+
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertEquals(2, matrix.getRowCount());
+            assertEquals(3, matrix.getColumns());
+            assertEquals(6.0, matrix.get(1, 2));
+            assertTrue(matrix.getValue(2, 0).isEmpty());
+            assertArrayEquals(new double[] {4.0, 5.0, 6.0}, matrix.getRow(1).get());
+        }
+        assertEquals(32 + 6 * 8, Files.size(file));
+    }
+
+    @Test
+    void testOpen_Fail_InvalidFile() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> MappedMatrix.open(file.toString()));
+    }
+
+    @Test
+    void testConvertJson() throws Exception {
+        Path json = MatrixTest.getAbsolutePath("matrix1.json");
+        MappedMatrix.convertJson(json.toString(), file.toString());
+
+        DenseMatrix expected = DenseMatrix.loadFromJson(json.toString());
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertEquals(10, matrix.getRowCount());
+            assertEquals(20, matrix.getColumns());
+            assertArrayEquals(expected.toArray(), matrix.toDense().get().toArray());
+        }
+    }
+
+    @Test
+    void testOperations() throws IOException {
+        DenseMatrix dense = createSampleMatrix2x3();
+        MappedMatrix.write(dense, file.toString());
+
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertArrayEquals(new double[] {14.0, 32.0}, matrix.multVector(new double[] {1.0, 2.0, 3.0}).get());
+            assertArrayEquals(
+                new double[] {14.0, 32.0, 32.0, 77.0},
+                MappedMatrix.mult(matrix, dense.transposed()).get().toArray()
+            );
+            assertArrayEquals(new double[] {2.0, 4.0, 6.0, 8.0, 10.0, 12.0}, MappedMatrix.sum(matrix, matrix).get().toArray());
+            assertArrayEquals(new double[6], MappedMatrix.sub(matrix, matrix).get().toArray());
+            assertTrue(MappedMatrix.mult(matrix, dense).isEmpty());
+        }
+    }
+
+    @Test
+    void testReadRows_Bounds() throws IOException {
+        MappedMatrix.write(createSampleMatrix2x3(), file.toString());
+
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertArrayEquals(new double[] {4.0, 5.0, 6.0}, matrix.readRows(1, 1).get().toArray());
+            assertEquals(0, matrix.readRows(2, 0).get().getRowCount());
+            assertTrue(matrix.readRows(-1, 1).isEmpty());
+            assertTrue(matrix.readRows(1, 2).isEmpty());
+            assertTrue(matrix.readRows(0, -1).isEmpty());
+            assertTrue(matrix.readRows(1, Integer.MAX_VALUE).isEmpty());
+        }
+    }
+
+    @Test
+    void testReadOnly_Fail_Modifications() throws IOException {
+        MappedMatrix.write(createSampleMatrix2x3(), file.toString());
+
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertFalse(matrix.isWritable());
+            assertThrows(UnsupportedOperationException.class, () -> matrix.set(0, 0, 7.0));
+            assertThrows(UnsupportedOperationException.class, () -> matrix.mult(2.0));
+            assertEquals(1.0, matrix.get(0, 0));
+        }
+    }
+
+    @Test
+    void testCreate_WritableMapping() throws IOException {
+        try (MappedMatrix matrix = MappedMatrix.create(file.toString(), 3, 2)) {
+            matrix.set(2, 1, 5.0);
+            matrix.mult(2.0);
+        }
+
+        try (MappedMatrix matrix = MappedMatrix.open(file.toString())) {
+            assertEquals(10.0, matrix.get(2, 1));
+            assertEquals(0.0, matrix.get(0, 0));
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.lugolbis;
 import com.lugolbis.mathematics.Matrix;
 import com.lugolbis.mathematics.Vector;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Optional;
 
@@ -121,6 +124,14 @@ public class MatrixTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testMultMatrixs_Fail_Ragged() {
+        Matrix matrixA = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0, 5.0)), 2).get();
+        Matrix matrixB = createSampleMatrix2x2();
+
+        assertTrue(Matrix.mult(matrixA, matrixB).isEmpty());
+    }
+
     @Test
     void testScalarMult() {
         Matrix matrix = createSampleMatrix2x2();
@@ -134,6 +145,20 @@ public class MatrixTest {
         assertEquals(8.0, matrix.getValue(1, 1).get());
     }
 
+    @Test
+    void testScalarMult_KeepsViews() {
+        ArrayList<Double> values = new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0));
+        Matrix matrix = Matrix.newMatrix(values, 2).get();
+        ArrayList<Double> rows = matrix.getRows();
+        List<Double> row = matrix.getRow(0).get();
+
+        matrix.mult(2.0);
+
+        assertSame(rows, matrix.getRows());
+        assertEquals(List.of(2.0, 4.0, 6.0, 8.0), values);
+        assertEquals(List.of(2.0, 4.0), row);
+    }
+
     @Test
     void testLoadMatrix() {
         try {
@@ -149,6 +174,18 @@ public class MatrixTest {
         }
     }
 
+    @Test
+    void testWriteToJson_Fail_Ragged() throws Exception {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0)), 2).get();
+        Path path = Files.createTempFile("matrix", ".json");
+        try {
+            assertThrows(IOException.class, () -> matrix.writeToJson(path.toString()));
+        }
+        finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
     @Test
     void testVectorMult() {
         Vector vector = Vector.newVector(new ArrayList<>(List.of(1.0, 8.0, 15.0)), Vector.Type.Column).get();
@@ -159,6 +196,77 @@ public class MatrixTest {
         assertEquals(result.get().getValues(), new ArrayList<>(List.of(100.0, 404.0)));
     }
 
+    @Test
+    void testVectorMult_Fail_Ragged() {
+        Vector vector = Vector.newVector(new ArrayList<>(List.of(1.0, 2.0)), Vector.Type.Column).get();
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0)), 2).get();
+
+        assertTrue(matrix.multVector(vector).isEmpty());
+    }
+
+    @Test
+    void testTransposate_Rectangular() {
+        Matrix matrix = createSampleMatrix2x3();
+        matrix.transposate();
+
+        assertEquals(3, matrix.getShape().rows);
+        assertEquals(2, matrix.getShape().columns);
+        assertEquals(new ArrayList<>(List.of(1.0, 4.0, 2.0, 5.0, 3.0, 6.0)), matrix.getRows());
+    }
+
+    @Test
+    void testTransposate_Square() {
+        ArrayList<Double> values = new ArrayList<>();
+        for (int index=0; index < 40*40; index++) {
+            values.add((double)(index));
+        }
+        Matrix matrix = Matrix.newMatrix(values, 40).get();
+        matrix.transposate();
+
+        assertEquals(40, matrix.getColumns());
+        assertEquals(3.0 * 40 + 25.0, matrix.getValue(25, 3).get());
+        assertEquals(25.0 * 40 + 3.0, matrix.getValue(3, 25).get());
+    }
+
+    @Test
+    void testColumnAndDiagonal_Views() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0)), 3).get();
+
+        List<Double> column = matrix.getColumn(1).get();
+        assertEquals(List.of(2.0, 5.0), column);
+        column.set(1, 50.0);
+        assertEquals(50.0, matrix.getValue(1, 1).get());
+        assertEquals(List.of(1.0, 50.0), matrix.getDiagonal());
+        assertEquals(List.of(3.0, 6.0), matrix.unsafeGetColumn(2));
+
+        assertTrue(matrix.getColumn(3).isEmpty());
+        assertTrue(matrix.getColumn(-1).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> column.add(1.0));
+    }
+
+    @Test
+    void testColumnView_FailsAfterTransposate() {
+        Matrix matrix = createSampleMatrix2x3();
+        List<Double> column = matrix.getColumn(1).get();
+        List<Double> diagonal = matrix.getDiagonal();
+
+        matrix.transposate();
+
+        assertThrows(ConcurrentModificationException.class, () -> column.get(0));
+        assertThrows(ConcurrentModificationException.class, () -> column.set(1, 0.0));
+        assertThrows(ConcurrentModificationException.class, () -> diagonal.get(0));
+        assertEquals(List.of(1.0, 4.0, 2.0, 5.0, 3.0, 6.0), matrix.getRows());
+        assertEquals(List.of(4.0, 5.0, 6.0), matrix.getColumn(1).get());
+    }
+
+    @Test
+    void testGetRow_LastRow() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0)), 2).get();
+
+        assertEquals(List.of(3.0, 4.0), matrix.getRow(1).get());
+        assertTrue(matrix.getRow(2).isEmpty());
+    }
+
     public static Path getAbsolutePath(String resourceName) throws Exception {
         ClassLoader classLoader = MatrixTest.class.getClassLoader();
         URL resourceUrl = classLoader.getResource(resourceName);
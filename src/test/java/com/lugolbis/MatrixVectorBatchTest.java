@@ -0,0 +1,102 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Matrix;
+import com.lugolbis.mathematics.MatrixVectorBatch;
+import com.lugolbis.mathematics.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatrixVectorBatchTest {
+
+    @Test
+    void testMultVectors_MatchesMultVector() {
+        DenseMatrix matrix = TestData.randomMatrix(50, 40, 1);
+        MatrixVectorBatch batch = MatrixVectorBatch.of(matrix).get();
+        assertEquals(50, batch.getRowCount());
+        assertEquals(40, batch.getColumns());
+
+        // More vectors than a single batch, so the buffers are reused
+        double[][] vectors = new double[300][];
+        for (int index=0; index < vectors.length; index++) {
+            vectors[index] = TestData.randomMatrix(1, 40, 100 + index).toArray();
+        }
+        double[][] results = batch.multVectors(vectors).get();
+
+        assertEquals(300, results.length);
+        for (int index=0; index < vectors.length; index++) {
+            assertArrayEquals(matrix.multVector(vectors[index]).get(), results[index], 1e-12);
+        }
+    }
+
+    @Test
+    void testMultVectors_Gemm_MatchesMultVector() {
+        // More values than MatrixVectorBatch.SMALL, so the batches go through Gemm
+        DenseMatrix matrix = TestData.randomMatrix(200, 100, 2);
+        MatrixVectorBatch batch = MatrixVectorBatch.of(matrix).get();
+
+        double[][] vectors = new double[300][];
+        for (int index=0; index < vectors.length; index++) {
+            vectors[index] = TestData.randomMatrix(1, 100, 1000 + index).toArray();
+        }
+        double[][] results = batch.multVectors(vectors).get();
+
+        for (int index=0; index < vectors.length; index++) {
+            assertArrayEquals(matrix.multVector(vectors[index]).get(), results[index], 1e-12);
+        }
+    }
+
+    @Test
+    void testOf_CopiesMatrix() {
+        DenseMatrix matrix = TestData.randomMatrix(200, 100, 3);
+        MatrixVectorBatch batch = MatrixVectorBatch.of(matrix).get();
+        double[] vector = TestData.randomMatrix(1, 100, 4).toArray();
+        double[] expected = matrix.multVector(vector).get();
+
+        matrix.set(0, 0, matrix.get(0, 0) + 1.0);
+        assertArrayEquals(expected, batch.multVectors(new double[][] {vector}).get()[0], 1e-12);
+    }
+
+    @Test
+    void testMultVectors_IntoDestination() {
+        DenseMatrix matrix = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, 3).get();
+        MatrixVectorBatch batch = MatrixVectorBatch.of(matrix.transposed()).get();
+        double[][] destination = new double[2][3];
+
+        double[][] result = batch.multVectors(new double[][] {{1.0, 0.0}, {1.0, 1.0}}, destination).get();
+        assertSame(destination, result);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, destination[0]);
+        assertArrayEquals(new double[] {5.0, 7.0, 9.0}, destination[1]);
+
+        assertTrue(batch.multVectors(new double[][] {{1.0, 0.0, 0.0}}, new double[1][3]).isEmpty());
+        assertTrue(batch.multVectors(new double[][] {{1.0, 0.0}}, new double[2][3]).isEmpty());
+        assertTrue(batch.multVectors(new double[][] {{1.0, 0.0}}, new double[][] {new double[2]}).isEmpty());
+    }
+
+    @Test
+    void testMultVectors_VectorsAndMatrix() {
+        Matrix matrix = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0, 4.0)), 2).get();
+        List<Vector> vectors = List.of(
+            Vector.newVector(new ArrayList<>(List.of(1.0, 1.0)), Vector.Type.Column).get(),
+            Vector.newVector(new ArrayList<>(List.of(2.0, 0.0)), Vector.Type.Column).get()
+        );
+
+        List<Vector> results = matrix.multVectors(vectors).get();
+        assertEquals(List.of(3.0, 7.0), results.get(0).getValues());
+        assertEquals(List.of(2.0, 6.0), results.get(1).getValues());
+        assertEquals(Vector.Type.Column, results.get(1).getType());
+        assertEquals(matrix.multVector(vectors.get(0)).get().getValues(), results.get(0).getValues());
+
+        Vector row = Vector.newVector(new ArrayList<>(List.of(1.0, 1.0)), Vector.Type.Row).get();
+        assertTrue(matrix.multVectors(List.of(row)).isEmpty());
+        assertTrue(matrix.multVectors(List.of()).get().isEmpty());
+
+        Matrix ragged = Matrix.newMatrix(new ArrayList<>(List.of(1.0, 2.0, 3.0)), 2).get();
+        assertTrue(MatrixVectorBatch.of(ragged).isEmpty());
+        assertTrue(ragged.multVectors(vectors).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.MinHash;
+import com.lugolbis.mathematics.Similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashTest {
+    private int[] range(int start, int end) {
+        int[] values = new int[end - start];
+        for (int index=0; index < values.length; index++) {
+            values[index] = start + index;
+        }
+        return values;
+    }
+
+    @Test
+    void testNewMinHash() {
+        assertEquals(128, MinHash.newMinHash(128, 1L).get().size());
+        assertTrue(MinHash.newMinHash(0, 1L).isEmpty());
+    }
+
+    @Test
+    void testSignature() {
+        MinHash minHash = MinHash.newMinHash(64, 1L).get();
+        long[] signature = minHash.signature(new int[] {3, 1, 2}).get();
+        assertEquals(64, signature.length);
+        // Order and duplicates don't change the set
+        assertArrayEquals(signature, minHash.signature(new int[] {1, 2, 3, 3}).get());
+        assertArrayEquals(signature, minHash.signature(new long[] {1L, 2L, 3L}).get());
+        // Same seed, same hash functions
+        assertArrayEquals(signature, MinHash.newMinHash(64, 1L).get().signature(new int[] {1, 2, 3}).get());
+
+        long[] empty = minHash.signature(new int[0]).get();
+        assertEquals(Long.MAX_VALUE, empty[0]);
+        assertTrue(minHash.signature((int[])(null)).isEmpty());
+    }
+
+    @Test
+    void testEstimate() {
+        MinHash minHash = MinHash.newMinHash(1024, 7L).get();
+        int[] setA = range(0, 300);
+        int[] setB = range(100, 400);
+        double exact = Similarity.Jackard(setA, setB).get();
+
+        double estimate = MinHash.estimate(minHash.signature(setA).get(), minHash.signature(setB).get()).get();
+        // Standard error under 1 / (2 √1024)
+        assertEquals(exact, estimate, 0.06);
+        assertEquals(1.0, MinHash.estimate(minHash.signature(setA).get(), minHash.signature(setA).get()).get(), 1e-12);
+
+        assertTrue(MinHash.estimate(new long[2], new long[3]).isEmpty());
+        assertTrue(MinHash.estimate(null, new long[3]).isEmpty());
+    }
+
+    @Test
+    void testSignatures_Batch() {
+        MinHash minHash = MinHash.newMinHash(32, 3L).get();
+        List<int[]> sets = new ArrayList<>();
+        // Enough elements for the parallel computation
+        for (int index=0; index < 200; index++) {
+            sets.add(range(index, index + 100));
+        }
+
+        List<long[]> signatures = minHash.signatures(sets).get();
+        assertEquals(sets.size(), signatures.size());
+        for (int index=0; index < sets.size(); index++) {
+            assertArrayEquals(minHash.signature(sets.get(index)).get(), signatures.get(index));
+        }
+        assertTrue(minHash.signatures(Arrays.asList(new int[] {1}, null)).isEmpty());
+    }
+}
@@ -82,4 +82,31 @@ class PointTest {
         assertIterableEquals(point1.getCoordinates(), point2.getCoordinates());
         assertNotEquals(point1.getCoordinates(), point3.getCoordinates());
     }
+
+    @Test
+    @DisplayName("Test primitive accessors")
+    void testPrimitiveAccessors() {
+        double[] values = {1.0, 2.0};
+        Point point = new Point(values);
+        values[0] = 9.0;
+
+        assertEquals(1.0, point.get(0));
+        assertArrayEquals(new double[] {1.0, 2.0}, point.toArray());
+
+        point.toArray()[1] = 9.0;
+        assertEquals(2.0, point.get(1));
+    }
+
+    @Test
+    @DisplayName("Test null coordinates")
+    void testNullCoordinates() {
+        ArrayList<Double> coords = new ArrayList<>();
+        coords.add(null);
+
+        assertTrue(Point.newPoint(coords).isEmpty());
+
+        Point point = new Point(1.0);
+        point.setCoordinates(coords);
+        assertEquals(1, point.getDimensions());
+    }
 }
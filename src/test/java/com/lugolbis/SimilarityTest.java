@@ -1,14 +1,18 @@
 package com.lugolbis;
 
+import com.lugolbis.mathematics.DenseMatrix;
 import com.lugolbis.mathematics.Similarity;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
 
 class SimilarityTest {
 
@@ -62,6 +66,121 @@ class SimilarityTest {
         assertEquals(0.0, result.get(), 0.001);
     }
 
+    private int[] randomSet(Random random, int size, int range) {
+        TreeSet<Integer> values = new TreeSet<>();
+        while (values.size() < size) {
+            values.add(random.nextInt(range));
+        }
+        int[] result = new int[size];
+        int index = 0;
+        for (int value : values) {
+            result[index++] = value;
+        }
+        return result;
+    }
+
+    private HashSet<Double> toHashSet(int[] values) {
+        HashSet<Double> set = new HashSet<>();
+        for (int value : values) {
+            set.add((double)(value));
+        }
+        return set;
+    }
+
+    private BitSet toBitSet(int[] values) {
+        BitSet set = new BitSet();
+        for (int value : values) {
+            set.set(value);
+        }
+        return set;
+    }
+
+    @Test
+    void testJackard_SortedArrays() {
+        assertEquals(2.0 / 4.0, Similarity.Jackard(new int[] {1, 2, 3}, new int[] {2, 3, 4}).get(), 1e-12);
+        assertEquals(2.0 / 4.0, Similarity.Jackard(new long[] {-5L, 2L, 3L}, new long[] {2L, 3L, 1L << 40}).get(), 1e-12);
+        assertEquals(1.0, Similarity.Jackard(new int[0], new int[0]).get(), 1e-12);
+        assertEquals(0.0, Similarity.Jackard(new int[] {1}, new int[0]).get(), 1e-12);
+
+        assertTrue(Similarity.Jackard(new int[] {2, 1}, new int[] {1}).isEmpty());
+        assertTrue(Similarity.Jackard(new long[] {1L, 1L}, new long[] {1L}).isEmpty());
+        assertTrue(Similarity.Jackard((int[])(null), new int[0]).isEmpty());
+    }
+
+    @Test
+    void testJackard_MatchesHashSet() {
+        Random random = new Random(7);
+        // The last sizes are skewed enough for the galloping search
+        int[][] sizes = {{50, 60}, {200, 10}, {3, 1000}, {1, 5000}};
+        for (int[] size : sizes) {
+            int[] setA = randomSet(random, size[0], 8000);
+            int[] setB = randomSet(random, size[1], 8000);
+            double expected = Similarity.Jackard(toHashSet(setA), toHashSet(setB)).get();
+
+            long[] longA = new long[setA.length];
+            long[] longB = new long[setB.length];
+            for (int index=0; index < setA.length; index++) {
+                longA[index] = setA[index];
+            }
+            for (int index=0; index < setB.length; index++) {
+                longB[index] = setB[index];
+            }
+
+            assertEquals(expected, Similarity.Jackard(setA, setB).get(), 1e-12);
+            assertEquals(expected, Similarity.Jackard(longA, longB).get(), 1e-12);
+            assertEquals(expected, Similarity.Jackard(toBitSet(setA), toBitSet(setB)).get(), 1e-12);
+            assertEquals(expected, Similarity.JackardBitmap(toBitSet(setA).toLongArray(), toBitSet(setB).toLongArray()).get(), 1e-12);
+        }
+    }
+
+    @Test
+    void testJackard_Bitmaps() {
+        // {0, 1, 64} and {1, 64, 200}
+        long[] setA = {0b11L, 1L};
+        long[] setB = {0b10L, 1L, 0L, 1L << 8};
+        assertEquals(2.0 / 4.0, Similarity.JackardBitmap(setA, setB).get(), 1e-12);
+        assertEquals(1.0, Similarity.JackardBitmap(new long[0], new long[2]).get(), 1e-12);
+        assertTrue(Similarity.JackardBitmap(null, setB).isEmpty());
+        assertTrue(Similarity.Jackard((BitSet)(null), new BitSet()).isEmpty());
+    }
+
+    @Test
+    void testJackard_Batch() {
+        Random random = new Random(11);
+        int[] query = randomSet(random, 100, 1000);
+        // Enough elements in the candidates for the parallel computation
+        List<int[]> candidates = new ArrayList<>();
+        List<long[]> bitmaps = new ArrayList<>();
+        List<BitSet> bitSets = new ArrayList<>();
+        for (int index=0; index < 800; index++) {
+            int[] candidate = randomSet(random, 1 + random.nextInt(200), 1000);
+            candidates.add(candidate);
+            bitmaps.add(toBitSet(candidate).toLongArray());
+            bitSets.add(toBitSet(candidate));
+        }
+
+        double[] scores = Similarity.Jackard(query, candidates).get();
+        double[] bitmapScores = Similarity.JackardBitmap(toBitSet(query).toLongArray(), bitmaps).get();
+        double[] bitSetScores = Similarity.Jackard(toBitSet(query), bitSets).get();
+        assertEquals(candidates.size(), scores.length);
+        for (int index=0; index < scores.length; index++) {
+            double expected = Similarity.Jackard(query, candidates.get(index)).get();
+            assertEquals(expected, scores[index], 1e-12);
+            assertEquals(expected, bitmapScores[index], 1e-12);
+            assertEquals(expected, bitSetScores[index], 1e-12);
+        }
+
+        List<long[]> longCandidates = new ArrayList<>();
+        longCandidates.add(new long[] {1L, 2L});
+        longCandidates.add(new long[0]);
+        assertArrayEquals(new double[] {0.5, 0.0}, Similarity.Jackard(new long[] {2L}, longCandidates).get(), 1e-12);
+
+        candidates.add(new int[] {3, 2});
+        assertTrue(Similarity.Jackard(query, candidates).isEmpty());
+        bitmaps.add(null);
+        assertTrue(Similarity.JackardBitmap(new long[1], bitmaps).isEmpty());
+    }
+
     // Tests pour la méthode minMax
     @Test
     void testMinMax_SameSize() {
@@ -158,4 +277,66 @@ class SimilarityTest {
         assertTrue(result.isPresent());
         assertTrue(Double.isNaN(result.get()));
     }
+
+    @Test
+    void testMinMax_PrimitiveArrays() {
+        assertEquals(1.0/6.0, Similarity.minMax(new double[] {3.0, 0.0, 1.0}, new double[] {1.0, 2.0, 0.0}).get(), 1e-12);
+        assertEquals(1.0, Similarity.minMax(new double[0], new double[0]).get(), 1e-12);
+        assertTrue(Double.isNaN(Similarity.minMax(new double[] {Double.NEGATIVE_INFINITY}, new double[] {1.0}).get()));
+        assertTrue(Double.isNaN(Similarity.minMax(new double[] {1.0, Double.NaN}, new double[] {2.0, 3.0}).get()));
+        assertTrue(Similarity.minMax(new double[2], new double[3]).isEmpty());
+        assertTrue(Similarity.minMax((double[])(null), new double[3]).isEmpty());
+
+        // Long enough for the vector loop and its tail
+        Random random = new Random(3);
+        ArrayList<Double> A = new ArrayList<>();
+        ArrayList<Double> B = new ArrayList<>();
+        double sumMin = 0.0;
+        double sumMax = 0.0;
+        for (int index=0; index < 37; index++) {
+            A.add(random.nextDouble());
+            B.add(random.nextDouble());
+            sumMin += Math.min(A.get(index), B.get(index));
+            sumMax += Math.max(A.get(index), B.get(index));
+        }
+        assertEquals(sumMin / sumMax, Similarity.minMax(A, B).get(), 1e-12);
+    }
+
+    @Test
+    void testMinMax_Batch() {
+        Random random = new Random(4);
+        int m = 30;
+        int n = 600;
+        int d = 40;
+        double[] queries = new double[m * d];
+        double[] candidates = new double[n * d];
+        for (int index=0; index < queries.length; index++) {
+            queries[index] = random.nextDouble();
+        }
+        for (int index=0; index < candidates.length; index++) {
+            candidates[index] = random.nextDouble();
+        }
+        DenseMatrix matrixQ = DenseMatrix.newDenseMatrix(queries, d).get();
+        DenseMatrix matrixC = DenseMatrix.newDenseMatrix(candidates, d).get();
+
+        // Large enough to be split between tasks
+        DenseMatrix scores = Similarity.minMax(matrixQ, matrixC).get();
+        assertEquals(m, scores.getRowCount());
+        assertEquals(n, scores.getColumns());
+        for (int i=0; i < m; i++) {
+            double[] query = matrixQ.getRow(i).get();
+            double[] row = Similarity.minMax(query, matrixC).get();
+            for (int j=0; j < n; j++) {
+                double expected = Similarity.minMax(query, matrixC.getRow(j).get()).get();
+                assertEquals(expected, scores.get(i, j), 1e-12);
+                assertEquals(expected, row[j], 1e-12);
+            }
+        }
+
+        DenseMatrix destination = DenseMatrix.zeros(m, n).get();
+        assertSame(destination, Similarity.minMax(matrixQ, matrixC, destination).get());
+        assertTrue(Similarity.minMax(matrixQ, matrixC, DenseMatrix.zeros(m, n + 1).get()).isEmpty());
+        assertTrue(Similarity.minMax(new double[d + 1], matrixC).isEmpty());
+        assertTrue(Similarity.minMax(new double[d], matrixC, new double[n - 1]).isEmpty());
+    }
 }
@@ -0,0 +1,114 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.SparseMatrix;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseMatrixTest {
+
+    // [[1, 0, 2],
+    //  [0, 0, 3],
+    //  [4, 5, 0]]
+    private SparseMatrix createSampleMatrix() {
+        return SparseMatrix.fromTriplets(
+            3, 3,
+            new int[] {2, 0, 1, 0, 2},
+            new int[] {0, 2, 2, 0, 1},
+            new double[] {4.0, 2.0, 3.0, 1.0, 5.0}
+        ).get();
+    }
+
+    @Test
+    void testFromTriplets() {
+        SparseMatrix matrix = createSampleMatrix();
+
+        assertEquals(5, matrix.getNonZeros());
+        assertEquals(2.0, matrix.get(0, 2));
+        assertEquals(0.0, matrix.get(1, 0));
+        assertTrue(matrix.getValue(3, 0).isEmpty());
+        assertArrayEquals(new double[] {1.0, 0.0, 2.0, 0.0, 0.0, 3.0, 4.0, 5.0, 0.0}, matrix.toDense().toArray());
+    }
+
+    @Test
+    void testFromTriplets_DuplicatesAndInvalid() {
+        SparseMatrix matrix = SparseMatrix.fromTriplets(
+            2, 2, new int[] {0, 0, 1, 1}, new int[] {1, 1, 0, 0}, new double[] {1.0, 2.0, 3.0, -3.0}
+        ).get();
+        assertEquals(1, matrix.getNonZeros());
+        assertEquals(3.0, matrix.get(0, 1));
+
+        assertTrue(SparseMatrix.fromTriplets(2, 2, new int[] {2}, new int[] {0}, new double[] {1.0}).isEmpty());
+    }
+
+    @Test
+    void testDenseConversion_RoundTrip() {
+        DenseMatrix dense = DenseMatrix.newDenseMatrix(new double[] {0.0, 7.0, 0.0, 0.0, 0.0, -1.0}, 3).get();
+        SparseMatrix sparse = SparseMatrix.fromDense(dense).get();
+
+        assertEquals(2, sparse.getNonZeros());
+        assertArrayEquals(dense.toArray(), sparse.toDense().toArray());
+        assertEquals(dense.toMatrix().getRows(), sparse.toMatrix().getRows());
+    }
+
+    @Test
+    void testMultVector() {
+        Optional<double[]> result = createSampleMatrix().multVector(new double[] {1.0, 2.0, 3.0});
+
+        assertTrue(result.isPresent());
+        assertArrayEquals(new double[] {7.0, 9.0, 14.0}, result.get());
+        assertTrue(createSampleMatrix().multVector(new double[] {1.0}).isEmpty());
+    }
+
+    @Test
+    void testMultDense() {
+        SparseMatrix sparse = createSampleMatrix();
+        DenseMatrix dense = DenseMatrix.newDenseMatrix(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, 2).get();
+
+        DenseMatrix expected = DenseMatrix.mult(sparse.toDense(), dense).get();
+        assertArrayEquals(expected.toArray(), SparseMatrix.mult(sparse, dense).get().toArray());
+        assertTrue(SparseMatrix.mult(sparse, dense.transposed()).isEmpty());
+    }
+
+    @Test
+    void testMultSparse() {
+        SparseMatrix sparse = createSampleMatrix();
+
+        DenseMatrix expected = DenseMatrix.mult(sparse.toDense(), sparse.toDense()).get();
+        assertArrayEquals(expected.toArray(), SparseMatrix.mult(sparse, sparse).get().toDense().toArray());
+    }
+
+    @Test
+    void testSumDense() {
+        DenseMatrix dense = DenseMatrix.newDenseMatrix(new double[] {1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0}, 3).get();
+
+        assertArrayEquals(
+            new double[] {2.0, 1.0, 3.0, 1.0, 1.0, 4.0, 5.0, 6.0, 1.0},
+            SparseMatrix.sum(createSampleMatrix(), dense).get().toArray()
+        );
+    }
+
+    @Test
+    void testTransposate() {
+        SparseMatrix sparse = SparseMatrix.fromDense(
+            DenseMatrix.newDenseMatrix(new double[] {1.0, 0.0, 2.0, 0.0, 3.0, 0.0}, 3).get()
+        ).get();
+        sparse.transposate();
+
+        assertEquals(3, sparse.getRowCount());
+        assertEquals(2, sparse.getColumns());
+        assertArrayEquals(new double[] {1.0, 0.0, 0.0, 3.0, 2.0, 0.0}, sparse.toDense().toArray());
+    }
+
+    @Test
+    void testTransposate_Fail_NoRows() {
+        SparseMatrix sparse = SparseMatrix.fromTriplets(0, 3, new int[0], new int[0], new double[0]).get();
+
+        assertThrows(IllegalStateException.class, sparse::transposate);
+        assertEquals(0, sparse.getRowCount());
+        assertEquals(3, sparse.getColumns());
+    }
+}
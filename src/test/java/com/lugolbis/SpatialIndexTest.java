@@ -0,0 +1,114 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.BallTree;
+import com.lugolbis.mathematics.Distance;
+import com.lugolbis.mathematics.KDTree;
+import com.lugolbis.mathematics.Point;
+import com.lugolbis.mathematics.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+    /**
+     * Points on a small grid, many distances are equal.
+     */
+    private List<Point> gridPoints(int count, int dimensions, Random random) {
+        List<Point> points = new ArrayList<>();
+        for (int index=0; index < count; index++) {
+            double[] coordinates = new double[dimensions];
+            for (int indexD=0; indexD < dimensions; indexD++) {
+                coordinates[indexD] = random.nextInt(5);
+            }
+            points.add(new Point(coordinates));
+        }
+        return points;
+    }
+
+    private int[] bruteForce(List<Point> points, Point query, int k) {
+        Integer[] order = new Integer[points.size()];
+        for (int index=0; index < order.length; index++) {
+            order[index] = index;
+        }
+        // Stable sort : the equal distances stay ordered by index
+        Arrays.sort(order, Comparator.comparingDouble(index -> Distance.SquaredEuclidian(points.get(index), query).get()));
+        int[] result = new int[Math.min(k, order.length)];
+        for (int index=0; index < result.length; index++) {
+            result[index] = order[index];
+        }
+        return result;
+    }
+
+    private void assertMatchesBruteForce(SpatialIndex index, List<Point> points, List<Point> queries, int k) {
+        for (Point query : queries) {
+            int[] expected = bruteForce(points, query, k);
+            int[] found = index.nearest(query, k).get();
+            assertEquals(expected.length, found.length);
+            for (int indexN=0; indexN < expected.length; indexN++) {
+                // Same distances, the points can differ only between equal distances
+                assertEquals(
+                    Distance.SquaredEuclidian(points.get(expected[indexN]), query).get(),
+                    Distance.SquaredEuclidian(points.get(found[indexN]), query).get(),
+                    1e-9
+                );
+            }
+        }
+    }
+
+    @Test
+    void testKDTree_MatchesBruteForce() {
+        Random random = new Random(1);
+        List<Point> points = TestData.gaussianPoints(3000, 3, random);
+        KDTree tree = KDTree.build(points).get();
+        assertEquals(3000, tree.size());
+        assertEquals(3, tree.getDimensions());
+        assertMatchesBruteForce(tree, points, TestData.gaussianPoints(30, 3, random), 7);
+
+        List<Point> grid = gridPoints(1000, 2, random);
+        List<Point> queries = gridPoints(20, 2, random);
+        KDTree gridTree = KDTree.build(grid).get();
+        assertMatchesBruteForce(gridTree, grid, queries, 5);
+        // The equal distances are ordered by index
+        for (Point query : queries) {
+            assertArrayEquals(bruteForce(grid, query, 5), gridTree.nearest(query, 5).get());
+        }
+    }
+
+    @Test
+    void testBallTree_MatchesBruteForce() {
+        Random random = new Random(2);
+        List<Point> points = TestData.gaussianPoints(3000, 20, random);
+        BallTree tree = BallTree.build(points).get();
+        assertEquals(3000, tree.size());
+        assertMatchesBruteForce(tree, points, TestData.gaussianPoints(30, 20, random), 7);
+
+        List<Point> grid = gridPoints(1000, 3, random);
+        List<Point> queries = gridPoints(20, 3, random);
+        BallTree gridTree = BallTree.build(grid).get();
+        for (Point query : queries) {
+            assertArrayEquals(bruteForce(grid, query, 5), gridTree.nearest(query, 5).get());
+        }
+    }
+
+    @Test
+    void testNearest_InvalidInputs() {
+        List<Point> points = Arrays.asList(new Point(0.0, 0.0), new Point(1.0, 1.0), new Point(3.0, 3.0));
+        for (SpatialIndex index : Arrays.<SpatialIndex>asList(KDTree.build(points).get(), BallTree.build(points).get())) {
+            assertArrayEquals(new int[] {1, 2, 0}, index.nearest(new Point(2.0, 2.0), 5).get());
+            assertTrue(index.nearest(new Point(1.0), 1).isEmpty());
+            assertTrue(index.nearest(null, 1).isEmpty());
+            assertTrue(index.nearest(new Point(1.0, 1.0), 0).isEmpty());
+        }
+
+        assertTrue(KDTree.build(new ArrayList<>()).isEmpty());
+        assertTrue(KDTree.build(Arrays.asList(new Point(1.0), new Point(1.0, 2.0))).isEmpty());
+        assertTrue(BallTree.build(null).isEmpty());
+        assertTrue(BallTree.build(Arrays.asList(new Point(1.0), null)).isEmpty());
+    }
+}
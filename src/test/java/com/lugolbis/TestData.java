@@ -0,0 +1,66 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random inputs shared by the tests, drawn from a seeded Random so each run sees the same values.
+ */
+final class TestData {
+    private TestData() {}
+
+    /**
+     * @return 'size' values drawn uniformly in [low, high[
+     */
+    static double[] uniform(int size, double low, double high, Random random) {
+        double[] values = new double[size];
+        for (int index=0; index < size; index++) {
+            values[index] = low + random.nextDouble() * (high - low);
+        }
+        return values;
+    }
+
+    /**
+     * @return a (rows × columns) matrix of values drawn uniformly in [low, high[
+     */
+    static DenseMatrix randomMatrix(int rows, int columns, double low, double high, long seed) {
+        return DenseMatrix.newDenseMatrix(uniform(rows * columns, low, high, new Random(seed)), columns).get();
+    }
+
+    /**
+     * @return a (rows × columns) matrix of values drawn uniformly in [-1, 1[
+     */
+    static DenseMatrix randomMatrix(int rows, int columns, long seed) {
+        return randomMatrix(rows, columns, -1.0, 1.0, seed);
+    }
+
+    /**
+     * @return points whose coordinates are drawn uniformly in [0, scale[
+     */
+    static List<Point> uniformPoints(int count, int dimensions, double scale, Random random) {
+        List<Point> points = new ArrayList<>(count);
+        for (int index=0; index < count; index++) {
+            points.add(new Point(uniform(dimensions, 0.0, scale, random)));
+        }
+        return points;
+    }
+
+    /**
+     * @return points whose coordinates follow a standard normal distribution
+     */
+    static List<Point> gaussianPoints(int count, int dimensions, Random random) {
+        List<Point> points = new ArrayList<>(count);
+        for (int index=0; index < count; index++) {
+            double[] coordinates = new double[dimensions];
+            for (int indexD=0; indexD < dimensions; indexD++) {
+                coordinates[indexD] = random.nextGaussian();
+            }
+            points.add(new Point(coordinates));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,222 @@
+package com.lugolbis;
+
+import com.lugolbis.mathematics.DenseMatrix;
+import com.lugolbis.mathematics.MappedMatrix;
+import com.lugolbis.mathematics.TilePool;
+import com.lugolbis.mathematics.TiledMatrix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TiledMatrixTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("tiled");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private String path(String name) {
+        return directory.resolve(name).toString();
+    }
+
+    private void assertMatrixEquals(DenseMatrix expected, DenseMatrix actual) {
+        assertEquals(expected.getRowCount(), actual.getRowCount());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        for (int indexR=0; indexR < expected.getRowCount(); indexR++) {
+            for (int indexC=0; indexC < expected.getColumns(); indexC++) {
+                assertEquals(expected.get(indexR, indexC), actual.get(indexR, indexC), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testWriteOpen_RoundTrip() throws IOException {
+        DenseMatrix matrix = TestData.randomMatrix(5, 7, -0.5, 0.5, 1);
+        TiledMatrix.write(matrix, path("a.bin"), 3).close();
+
+        try (TiledMatrix tiled = TiledMatrix.open(path("a.bin"))) {
+            assertEquals(5, tiled.getRowCount());
+            assertEquals(7, tiled.getColumns());
+            assertEquals(2, tiled.getTileRows());
+            assertEquals(3, tiled.getTileColumns());
+            assertEquals(matrix.get(4, 6), tiled.getValue(4, 6).get());
+            assertTrue(tiled.getValue(5, 0).isEmpty());
+            assertMatrixEquals(matrix, tiled.toDense());
+        }
+        assertEquals(32 + 6 * 9 * 8, Files.size(directory.resolve("a.bin")));
+    }
+
+    @Test
+    void testOpen_InvalidFile() throws IOException {
+        Files.write(directory.resolve("bad.bin"), new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> TiledMatrix.open(path("bad.bin")));
+    }
+
+    @Test
+    void testGetSetTile() throws IOException {
+        try (TiledMatrix tiled = TiledMatrix.create(path("a.bin"), 3, 3, 2)) {
+            DenseMatrix corner = DenseMatrix.newDenseMatrix(new double[] {9.0}, 1).get();
+            assertTrue(tiled.setTile(1, 1, corner));
+            assertFalse(tiled.setTile(0, 0, corner));
+            assertTrue(tiled.getTile(2, 0).isEmpty());
+
+            assertEquals(9.0, tiled.getValue(2, 2).get());
+            assertEquals(0.0, tiled.getValue(0, 0).get());
+            assertEquals(1, tiled.getTile(1, 0).get().getRowCount());
+            assertEquals(2, tiled.getTile(1, 0).get().getColumns());
+        }
+    }
+
+    @Test
+    void testConvert_FromMappedMatrix() throws IOException {
+        DenseMatrix matrix = TestData.randomMatrix(6, 5, -0.5, 0.5, 2);
+        MappedMatrix.write(matrix, path("mapped.bin"));
+
+        try (
+            MappedMatrix mapped = MappedMatrix.open(path("mapped.bin"));
+            TiledMatrix tiled = TiledMatrix.convert(mapped, path("tiled.bin"), 4)
+        ) {
+            assertMatrixEquals(matrix, tiled.toDense());
+        }
+    }
+
+    @Test
+    void testMult_MatchesDense() throws IOException {
+        DenseMatrix matrixA = TestData.randomMatrix(7, 9, -0.5, 0.5, 3);
+        DenseMatrix matrixB = TestData.randomMatrix(9, 5, -0.5, 0.5, 4);
+        DenseMatrix expected = DenseMatrix.mult(matrixA, matrixB).get();
+
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(matrixA, path("a.bin"), 4);
+            TiledMatrix tiledB = TiledMatrix.write(matrixB, path("b.bin"), 4);
+            TiledMatrix result = TiledMatrix.mult(tiledA, tiledB, path("c.bin"), new TilePool(2)).get()
+        ) {
+            assertMatrixEquals(expected, result.toDense());
+        }
+    }
+
+    @Test
+    void testMult_PoolReusesTilesOfA() throws IOException {
+        DenseMatrix matrixA = TestData.randomMatrix(8, 12, -0.5, 0.5, 5);
+        DenseMatrix matrixB = TestData.randomMatrix(12, 8, -0.5, 0.5, 6);
+        TilePool pool = new TilePool(6);
+
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(matrixA, path("a.bin"), 4);
+            TiledMatrix tiledB = TiledMatrix.write(matrixB, path("b.bin"), 4);
+            TiledMatrix result = TiledMatrix.mult(tiledA, tiledB, path("c.bin"), pool).get()
+        ) {
+            assertMatrixEquals(DenseMatrix.mult(matrixA, matrixB).get(), result.toDense());
+            // 2 x 3 tiles of A read once, 3 x 2 tiles of B read once per tile row of A
+            assertEquals(6 + 12, pool.getMisses());
+            assertEquals(24 - 18, pool.getHits());
+            assertTrue(pool.getSize() <= pool.getCapacity());
+        }
+    }
+
+    @Test
+    void testMult_Progress() throws IOException {
+        List<long[]> updates = new ArrayList<>();
+
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(TestData.randomMatrix(5, 3, -0.5, 0.5, 7), path("a.bin"), 2);
+            TiledMatrix tiledB = TiledMatrix.write(TestData.randomMatrix(3, 3, -0.5, 0.5, 8), path("b.bin"), 2);
+            TiledMatrix result = TiledMatrix.mult(
+                tiledA, tiledB, path("c.bin"), new TilePool(4), (done, total) -> updates.add(new long[] {done, total})
+            ).get()
+        ) {
+            assertEquals(6, updates.size());
+            assertArrayEquals(new long[] {1, 6}, updates.get(0));
+            assertArrayEquals(new long[] {6, 6}, updates.get(5));
+        }
+    }
+
+    @Test
+    void testMult_InvalidShapes() throws IOException {
+        try (
+            TiledMatrix tiledA = TiledMatrix.create(path("a.bin"), 3, 4, 2);
+            TiledMatrix tiledB = TiledMatrix.create(path("b.bin"), 3, 4, 2);
+            TiledMatrix tiledC = TiledMatrix.create(path("c.bin"), 4, 4, 3)
+        ) {
+            assertTrue(TiledMatrix.mult(tiledA, tiledB, path("d.bin"), new TilePool(2)).isEmpty());
+            assertTrue(TiledMatrix.mult(tiledA, tiledC, path("d.bin"), new TilePool(2)).isEmpty());
+            assertTrue(TiledMatrix.sum(tiledA, tiledC, path("d.bin"), new TilePool(2)).isEmpty());
+        }
+    }
+
+    @Test
+    void testOperations_RejectInputPath() throws IOException {
+        DenseMatrix matrixA = TestData.randomMatrix(4, 4, -0.5, 0.5, 11);
+        TilePool pool = new TilePool(4);
+
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(matrixA, path("a.bin"), 2);
+            TiledMatrix tiledB = TiledMatrix.write(TestData.randomMatrix(4, 4, -0.5, 0.5, 12), path("b.bin"), 2)
+        ) {
+            assertTrue(TiledMatrix.mult(tiledA, tiledB, path("a.bin"), pool).isEmpty());
+            assertTrue(TiledMatrix.mult(tiledA, tiledB, directory.resolve("x/../b.bin").toString(), pool).isEmpty());
+            assertTrue(TiledMatrix.sum(tiledA, tiledB, path("b.bin"), pool).isEmpty());
+            assertTrue(TiledMatrix.sub(tiledA, tiledB, path("a.bin"), pool).isEmpty());
+            assertMatrixEquals(matrixA, tiledA.toDense());
+        }
+    }
+
+    @Test
+    void testMult_FailureDeletesResult() throws IOException {
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(TestData.randomMatrix(4, 4, -0.5, 0.5, 13), path("a.bin"), 2);
+            TiledMatrix tiledB = TiledMatrix.write(TestData.randomMatrix(4, 4, -0.5, 0.5, 14), path("b.bin"), 2)
+        ) {
+            assertThrows(IllegalStateException.class, () -> TiledMatrix.mult(
+                tiledA, tiledB, path("c.bin"), new TilePool(4), (done, total) -> {
+                    throw new IllegalStateException("cancelled");
+                }
+            ));
+            assertFalse(Files.exists(directory.resolve("c.bin")));
+        }
+    }
+
+    @Test
+    void testSumSub_MatchDense() throws IOException {
+        DenseMatrix matrixA = TestData.randomMatrix(5, 6, -0.5, 0.5, 9);
+        DenseMatrix matrixB = TestData.randomMatrix(5, 6, -0.5, 0.5, 10);
+        TilePool pool = new TilePool(2);
+
+        try (
+            TiledMatrix tiledA = TiledMatrix.write(matrixA, path("a.bin"), 4);
+            TiledMatrix tiledB = TiledMatrix.write(matrixB, path("b.bin"), 4);
+            TiledMatrix sum = TiledMatrix.sum(tiledA, tiledB, path("sum.bin"), pool).get();
+            TiledMatrix sub = TiledMatrix.sub(tiledA, tiledB, path("sub.bin"), pool).get()
+        ) {
+            assertMatrixEquals(DenseMatrix.sum(matrixA, matrixB).get(), sum.toDense());
+            assertMatrixEquals(DenseMatrix.sub(matrixA, matrixB).get(), sub.toDense());
+        }
+    }
+
+    @Test
+    void testTilePool_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TilePool(1));
+        assertEquals(2, TilePool.forMemory(0, 512).getCapacity());
+        assertEquals(4, TilePool.forMemory(4L * 512 * 512 * 8, 512).getCapacity());
+    }
+}